@@ -0,0 +1,80 @@
+package com.nttd.banking.auth.benchmark;
+
+import com.nttd.banking.auth.application.mapper.AuthMapper;
+import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.domain.model.enums.UserType;
+import com.nttd.banking.auth.domain.port.in.LoginUseCase;
+import com.nttd.banking.auth.domain.port.in.RegisterUseCase;
+import com.nttd.banking.auth.model.dto.LoginResponse;
+import com.nttd.banking.auth.model.dto.RegisterRequest;
+import com.nttd.banking.auth.model.dto.RegisterResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DTO mapping cost of the login and register responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthMapperBenchmark {
+
+  private final AuthMapper mapper = new AuthMapper();
+  private LoginUseCase.LoginResult loginResult;
+  private RegisterRequest registerRequest;
+  private User user;
+
+  /**
+   * Builds representative inputs.
+   */
+  @Setup
+  public void setUp() {
+    loginResult = new LoginUseCase.LoginResult(
+        "access.token.value", "refresh.token.value", 900L,
+        "user123", "testuser", List.of("ROLE_CUSTOMER"), "CUSTOMER");
+
+    registerRequest = new RegisterRequest();
+    registerRequest.setUsername("testuser");
+    registerRequest.setEmail("test@example.com");
+    registerRequest.setPassword("SecureP@ssw0rd");
+    registerRequest.setDocumentType(RegisterRequest.DocumentTypeEnum.DNI);
+    registerRequest.setDocumentNumber("12345678");
+    registerRequest.setPhoneNumber("+51987654321");
+    registerRequest.setUserType(RegisterRequest.UserTypeEnum.CUSTOMER);
+
+    user = User.builder()
+        .id("user123")
+        .username("testuser")
+        .email("test@example.com")
+        .userType(UserType.CUSTOMER)
+        .build();
+  }
+
+  @Benchmark
+  public LoginResponse toLoginResponse() {
+    return mapper.toLoginResponse(loginResult);
+  }
+
+  @Benchmark
+  public RegisterUseCase.RegisterRequest toRegisterRequest() {
+    return mapper.toRegisterRequest(registerRequest);
+  }
+
+  @Benchmark
+  public RegisterResponse toRegisterResponse() {
+    return mapper.toRegisterResponse(user);
+  }
+}
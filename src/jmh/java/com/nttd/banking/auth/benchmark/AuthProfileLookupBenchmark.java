@@ -0,0 +1,117 @@
+package com.nttd.banking.auth.benchmark;
+
+import com.mongodb.MongoClientSettings;
+import com.nttd.banking.auth.domain.model.AuthProfile;
+import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.domain.model.enums.UserType;
+import com.nttd.banking.auth.infrastructure.adapter.out.persistence.UserEntity;
+import com.nttd.banking.auth.infrastructure.adapter.out.persistence.UserEntityMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Client-side cost of the login lookup: decoding the BSON reply and mapping
+ * it to the domain, for the full user document ({@code findByUsername})
+ * versus the auth-profile projection ({@code findAuthProfileByUsername}).
+ * The reply sizes are printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthProfileLookupBenchmark {
+
+  private static final Set<String> PROFILE_FIELDS =
+      Set.of("_id", "username", "email", "passwordHash", "userType", "roles", "active");
+
+  private static final DocumentCodec CODEC =
+      new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+  private final UserEntityMapper mapper = new UserEntityMapper();
+  private MappingMongoConverter converter;
+  private RawBsonDocument fullReply;
+  private RawBsonDocument profileReply;
+
+  /**
+   * Encodes a representative user as the server would return it, in full
+   * and projected.
+   */
+  @Setup
+  public void setUp() {
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+
+    LocalDateTime now = LocalDateTime.now();
+    UserEntity user = UserEntity.builder()
+        .id("65f1c2a9e4b0a1b2c3d4e5f6")
+        .username("testuser")
+        .email("test@example.com")
+        .passwordHash("$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW")
+        .documentType("DNI")
+        .documentNumber("12345678")
+        .phoneNumber("+51987654321")
+        .userType(UserType.CUSTOMER)
+        .customerId("CUST-000123")
+        .roles(List.of("ROLE_CUSTOMER"))
+        .active(true)
+        .createdAt(now)
+        .updatedAt(now)
+        .lastLogin(now)
+        .build();
+    Document full = new Document();
+    converter.write(user, full);
+    Document profile = new Document();
+    full.forEach((field, value) -> {
+      if (PROFILE_FIELDS.contains(field)) {
+        profile.put(field, value);
+      }
+    });
+    fullReply = new RawBsonDocument(full, CODEC);
+    profileReply = new RawBsonDocument(profile, CODEC);
+
+    System.out.printf("%nBSON bytes per login lookup: full=%d, auth profile=%d%n",
+        fullReply.getByteBuffer().remaining(), profileReply.getByteBuffer().remaining());
+  }
+
+  @Benchmark
+  public User fullEntity() {
+    return mapper.toDomain(converter.read(UserEntity.class, decode(fullReply)));
+  }
+
+  @Benchmark
+  public AuthProfile authProfile() {
+    return mapper.toAuthProfile(converter.read(UserEntity.class, decode(profileReply)));
+  }
+
+  private static Document decode(BsonDocument reply) {
+    return CODEC.decode(reply.asBsonReader(), DecoderContext.builder().build());
+  }
+}
@@ -0,0 +1,64 @@
+package com.nttd.banking.auth.benchmark;
+
+import com.nttd.banking.auth.application.usecase.GetJwksUseCaseImpl;
+import com.nttd.banking.auth.domain.model.Jwks;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtKeyRing;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtKeyRingSource;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtProviderImpl;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtSigningAlgorithm;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * JWKS document cost for a ring of one key per algorithm: served from the
+ * per-ring cache versus rebuilt from the public keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwksBenchmark {
+
+  private JwtProviderImpl jwtProvider;
+  private GetJwksUseCaseImpl cachedUseCase;
+
+  /**
+   * Builds a three-key ring (RS256 active, ES256 and EdDSA verification-only).
+   */
+  @Setup
+  public void setUp() throws Exception {
+    JwtKeyRing keyRing = JwtKeyRing.builder()
+        .signingKey("rsa", JwtSigningAlgorithm.RS256,
+            SigningAlgorithmBenchmark.generateKeyPair(JwtSigningAlgorithm.RS256, 2048))
+        .verificationKey("ec", JwtSigningAlgorithm.ES256,
+            SigningAlgorithmBenchmark.generateKeyPair(JwtSigningAlgorithm.ES256, 0).getPublic())
+        .verificationKey("ed", JwtSigningAlgorithm.EDDSA,
+            SigningAlgorithmBenchmark.generateKeyPair(JwtSigningAlgorithm.EDDSA, 0).getPublic())
+        .build();
+    jwtProvider = new JwtProviderImpl(
+        new JwtKeyRingSource(keyRing), 900000L, 604800000L, Schedulers.immediate());
+    cachedUseCase = new GetJwksUseCaseImpl(jwtProvider);
+  }
+
+  @Benchmark
+  public Jwks cached() {
+    return cachedUseCase.getJwks().block();
+  }
+
+  @Benchmark
+  public Jwks rebuilt() {
+    return new GetJwksUseCaseImpl(jwtProvider).getJwks().block();
+  }
+}
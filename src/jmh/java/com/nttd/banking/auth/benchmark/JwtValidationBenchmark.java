@@ -0,0 +1,91 @@
+package com.nttd.banking.auth.benchmark;
+
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.domain.model.enums.UserType;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtKeyRing;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtKeyRingSource;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtProviderImpl;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtSigningAlgorithm;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compares the previous validation path (parser rebuilt per call, token parsed
+ * again to read the JTI) with the shared parser and single-parse pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+  private PublicKey publicKey;
+  private JwtProviderImpl jwtProvider;
+  private String token;
+
+  /**
+   * Generates a key pair and a signed access token.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    KeyPair keyPair = keyGen.generateKeyPair();
+    publicKey = keyPair.getPublic();
+    jwtProvider = new JwtProviderImpl(
+        new JwtKeyRingSource(JwtKeyRing.single("bench", JwtSigningAlgorithm.RS256, keyPair)),
+        900000L, 604800000L, Schedulers.immediate());
+
+    User user = User.builder()
+        .id("user123")
+        .username("testuser")
+        .email("test@example.com")
+        .userType(UserType.CUSTOMER)
+        .roles(List.of("ROLE_CUSTOMER"))
+        .active(true)
+        .build();
+    token = jwtProvider.mintAccessToken(user, 0L).block().getToken();
+  }
+
+  /**
+   * Previous path: validate, then parse again with a fresh parser for the JTI.
+   */
+  @Benchmark
+  public void rebuiltParserTwoParses(Blackhole blackhole) {
+    Claims claims = Jwts.parser().verifyWith(publicKey).build()
+        .parseSignedClaims(token).getPayload();
+    blackhole.consume(claims.getSubject());
+    blackhole.consume(Jwts.parser().verifyWith(publicKey).build()
+        .parseSignedClaims(token).getPayload().getId());
+  }
+
+  /**
+   * Current path: one verification through the shared parser.
+   */
+  @Benchmark
+  public void sharedParserSingleParse(Blackhole blackhole) {
+    JwtToken jwtToken = jwtProvider.validateToken(token);
+    blackhole.consume(jwtToken.getUserId());
+    blackhole.consume(jwtToken.getJti());
+  }
+}
@@ -0,0 +1,105 @@
+package com.nttd.banking.auth.benchmark;
+
+import com.mongodb.MongoClientSettings;
+import com.nttd.banking.auth.domain.model.enums.UserType;
+import com.nttd.banking.auth.infrastructure.adapter.out.persistence.UserEntity;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Write volume of recording a login: the full-document replace that
+ * {@code save} sends versus the {@code $set} of the two timestamps sent by
+ * {@code touchLastLogin}. Each benchmark returns the BSON size of the write
+ * payload (filter plus replacement or update), which is printed once at
+ * setup; the measured time is the cost of mapping and encoding it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LastLoginWriteBenchmark {
+
+  private static final DocumentCodec CODEC =
+      new DocumentCodec(MongoClientSettings.getDefaultCodecRegistry());
+
+  private MappingMongoConverter converter;
+  private UserEntity user;
+
+  /**
+   * Builds the entity converter and a representative user.
+   */
+  @Setup
+  public void setUp() {
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+
+    LocalDateTime now = LocalDateTime.now();
+    user = UserEntity.builder()
+        .id("65f1c2a9e4b0a1b2c3d4e5f6")
+        .username("testuser")
+        .email("test@example.com")
+        .passwordHash("$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW")
+        .documentType("DNI")
+        .documentNumber("12345678")
+        .phoneNumber("+51987654321")
+        .userType(UserType.CUSTOMER)
+        .customerId("CUST-000123")
+        .roles(List.of("ROLE_CUSTOMER"))
+        .active(true)
+        .createdAt(now)
+        .updatedAt(now)
+        .lastLogin(now)
+        .build();
+
+    System.out.printf("%nBSON bytes per login write: full replace=%d, $set=%d%n",
+        fullReplace(), lastLoginSet());
+  }
+
+  @Benchmark
+  public int fullReplace() {
+    Document replacement = new Document();
+    converter.write(user, replacement);
+    return bsonSize(byId()) + bsonSize(replacement);
+  }
+
+  @Benchmark
+  public int lastLoginSet() {
+    Object at = converter.convertToMongoType(LocalDateTime.now());
+    Document update = new Document("$set",
+        new Document("lastLogin", at).append("updatedAt", at));
+    return bsonSize(byId()) + bsonSize(update);
+  }
+
+  private Document byId() {
+    return new Document("_id", converter.convertId(user.getId(), Object.class));
+  }
+
+  private static int bsonSize(Document document) {
+    return new RawBsonDocument(document, CODEC).getByteBuffer().remaining();
+  }
+}
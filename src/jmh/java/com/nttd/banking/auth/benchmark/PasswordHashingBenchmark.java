@@ -0,0 +1,52 @@
+package com.nttd.banking.auth.benchmark;
+
+import com.nttd.banking.auth.infrastructure.adapter.out.security.BCryptPasswordEncoderAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * BCrypt verification latency per work factor, through the password adapter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+  private static final String PASSWORD = "SecureP@ssw0rd";
+
+  @Param({"10", "11", "12", "13"})
+  private int cost;
+
+  private BCryptPasswordEncoderAdapter encoder;
+  private String hash;
+
+  /**
+   * Pins calibration to the benchmarked cost and hashes the password once.
+   */
+  @Setup
+  public void setUp() {
+    encoder = new BCryptPasswordEncoderAdapter(
+        Schedulers.immediate(), new SimpleMeterRegistry(), Long.MAX_VALUE, cost, cost);
+    hash = encoder.encode(PASSWORD).block();
+  }
+
+  @Benchmark
+  public Boolean verify() {
+    return encoder.matches(PASSWORD, hash).block();
+  }
+}
@@ -0,0 +1,97 @@
+package com.nttd.banking.auth.benchmark;
+
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.domain.model.enums.UserType;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtKeyRing;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtKeyRingSource;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtProviderImpl;
+import com.nttd.banking.auth.infrastructure.adapter.out.security.JwtSigningAlgorithm;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Sign, verify and JTI-extraction throughput of access tokens per signing
+ * algorithm and key size ({@code <alg>/<bits>}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningAlgorithmBenchmark {
+
+  @Param({"RS256/2048", "RS256/3072", "RS256/4096", "ES256/256", "EdDSA/255"})
+  private String keySpec;
+
+  private JwtProviderImpl jwtProvider;
+  private User user;
+  private String token;
+
+  /**
+   * Generates a key pair matching the algorithm and a token to verify.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    String[] spec = keySpec.split("/");
+    JwtSigningAlgorithm signingAlgorithm = JwtSigningAlgorithm.fromId(spec[0]);
+    KeyPair keyPair = generateKeyPair(signingAlgorithm, Integer.parseInt(spec[1]));
+    jwtProvider = new JwtProviderImpl(
+        new JwtKeyRingSource(JwtKeyRing.single("bench", signingAlgorithm, keyPair)),
+        900000L, 604800000L, Schedulers.immediate());
+
+    user = User.builder()
+        .id("user123")
+        .username("testuser")
+        .email("test@example.com")
+        .userType(UserType.CUSTOMER)
+        .roles(List.of("ROLE_CUSTOMER"))
+        .active(true)
+        .build();
+    token = jwtProvider.mintAccessToken(user, 0L).block().getToken();
+  }
+
+  @Benchmark
+  public String sign() {
+    return jwtProvider.mintAccessToken(user, 0L).block().getToken();
+  }
+
+  @Benchmark
+  public JwtToken verify() {
+    return jwtProvider.validateToken(token);
+  }
+
+  @Benchmark
+  public String extractJti() {
+    return jwtProvider.extractJti(token);
+  }
+
+  static KeyPair generateKeyPair(JwtSigningAlgorithm algorithm, int rsaKeySize)
+      throws Exception {
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+    switch (algorithm) {
+      case RS256 -> keyGen.initialize(rsaKeySize);
+      case ES256 -> keyGen.initialize(new ECGenParameterSpec("secp256r1"));
+      default -> {
+        // Ed25519 has a fixed key size
+      }
+    }
+    return keyGen.generateKeyPair();
+  }
+}
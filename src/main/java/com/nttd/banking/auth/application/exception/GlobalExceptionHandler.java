@@ -1,12 +1,16 @@
 package com.nttd.banking.auth.application.exception;
 
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
 import com.nttd.banking.auth.domain.exception.InvalidCredentialsException;
 import com.nttd.banking.auth.domain.exception.TokenExpiredException;
 import com.nttd.banking.auth.domain.exception.TooManyLoginAttemptsException;
 import com.nttd.banking.auth.domain.exception.UserAlreadyExistsException;
 import com.nttd.banking.auth.model.dto.ErrorResponse;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -57,6 +61,7 @@ public class GlobalExceptionHandler {
 
   /**
    * Handles too many login attempts exception.
+   * Sets {@code Retry-After} to the remaining lockout when it is known.
    */
   @ExceptionHandler(TooManyLoginAttemptsException.class)
   public Mono<ResponseEntity<ErrorResponse>> handleTooManyLoginAttempts(
@@ -69,7 +74,14 @@ public class GlobalExceptionHandler {
     error.setError("Too Many Requests");
     error.setMessage(ex.getMessage());
 
-    return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error));
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+    Duration retryAfter = ex.getRetryAfter();
+    if (retryAfter != null && !retryAfter.isNegative()) {
+      // Round up so clients never retry while still locked out
+      long seconds = retryAfter.plusMillis(999).getSeconds();
+      response.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+    }
+    return Mono.just(response.body(error));
   }
 
   /**
@@ -89,6 +101,42 @@ public class GlobalExceptionHandler {
     return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error));
   }
 
+  /**
+   * Handles work rejected by a saturated worker pool (e.g. the crypto scheduler).
+   * Signals overload quickly so clients can retry elsewhere.
+   */
+  @ExceptionHandler(RejectedExecutionException.class)
+  public Mono<ResponseEntity<ErrorResponse>> handleRejectedExecution(
+      RejectedExecutionException ex) {
+    log.warn("Request rejected, worker pool saturated: {}", ex.getMessage());
+
+    ErrorResponse error = new ErrorResponse();
+    error.setTimestamp(OffsetDateTime.now());
+    error.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    error.setError("Service Unavailable");
+    error.setMessage("Server is busy, please retry");
+
+    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error));
+  }
+
+  /**
+   * Handles a backing service that is down, saturated or timing out.
+   * Requests fail fast instead of waiting on it.
+   */
+  @ExceptionHandler(DependencyUnavailableException.class)
+  public Mono<ResponseEntity<ErrorResponse>> handleDependencyUnavailable(
+      DependencyUnavailableException ex) {
+    log.warn("Request failed, dependency unavailable: {}", ex.getMessage());
+
+    ErrorResponse error = new ErrorResponse();
+    error.setTimestamp(OffsetDateTime.now());
+    error.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    error.setError("Service Unavailable");
+    error.setMessage("Service temporarily unavailable, please retry");
+
+    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error));
+  }
+
   /**
    * Handles validation errors exception.
    */
@@ -2,11 +2,18 @@ package com.nttd.banking.auth.application.usecase;
 
 import com.nttd.banking.auth.domain.model.JwkKey;
 import com.nttd.banking.auth.domain.model.Jwks;
+import com.nttd.banking.auth.domain.model.VerificationKey;
 import com.nttd.banking.auth.domain.port.in.GetJwksUseCase;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
 import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,52 +21,118 @@ import reactor.core.publisher.Mono;
 
 /**
  * Implementation of GetJwksUseCase.
- * Converts RSA public key to JWKS format for external JWT validation.
+ * Converts every verification public key to JWKS format for external JWT validation.
+ * RSA keys are published as {@code kty=RSA} (n, e), P-256 keys as {@code kty=EC}
+ * (crv, x, y) and Ed25519 keys as {@code kty=OKP} (crv, x).
+ *
+ * <p>The provider returns the same key list until the key ring changes, so the
+ * converted document is kept and rebuilt only when that list is replaced.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GetJwksUseCaseImpl implements GetJwksUseCase {
 
-  private static final String KEY_TYPE = "RSA";
-  private static final String ALGORITHM = "RS256";
   private static final String KEY_USE = "sig";
-  private static final String KEY_ID = "auth-service-key-1";
+  private static final int P256_COORDINATE_LENGTH = 32;
+  private static final int ED25519_KEY_LENGTH = 32;
 
   private final JwtProvider jwtProvider;
+  private final AtomicReference<CachedJwks> cached = new AtomicReference<>();
 
   @Override
   public Mono<Jwks> getJwks() {
     return Mono.fromCallable(() -> {
-      RSAPublicKey rsaPublicKey = (RSAPublicKey) jwtProvider.getPublicKey();
+      List<VerificationKey> verificationKeys = jwtProvider.getVerificationKeys();
+      CachedJwks current = cached.get();
+      if (current != null && current.source() == verificationKeys) {
+        return current.jwks();
+      }
 
-      JwkKey jwkKey = JwkKey.builder()
-          .kty(KEY_TYPE)
-          .alg(ALGORITHM)
-          .use(KEY_USE)
-          .kid(KEY_ID)
-          .n(base64UrlEncode(rsaPublicKey.getModulus().toByteArray()))
-          .e(base64UrlEncode(rsaPublicKey.getPublicExponent().toByteArray()))
+      List<JwkKey> keys = verificationKeys.stream()
+          .map(this::toJwk)
+          .toList();
+      Jwks jwks = Jwks.builder()
+          .keys(keys)
           .build();
+      cached.set(new CachedJwks(verificationKeys, jwks));
 
-      log.debug("JWKS retrieved successfully");
+      log.debug("JWKS rebuilt for {} keys", keys.size());
 
-      return Jwks.builder()
-          .keys(List.of(jwkKey))
-          .build();
+      return jwks;
     });
   }
 
   /**
-   * Encodes bytes to Base64URL format without padding.
+   * Builds the JWK members matching the key type.
    */
-  private String base64UrlEncode(byte[] bytes) {
+  private JwkKey toJwk(VerificationKey verificationKey) {
+    PublicKey publicKey = verificationKey.getPublicKey();
+    JwkKey.JwkKeyBuilder builder = JwkKey.builder()
+        .alg(verificationKey.getAlgorithm())
+        .use(KEY_USE)
+        .kid(verificationKey.getKid());
+
+    if (publicKey instanceof RSAPublicKey rsaPublicKey) {
+      return builder
+          .kty("RSA")
+          .n(base64UrlEncode(unsigned(rsaPublicKey.getModulus())))
+          .e(base64UrlEncode(unsigned(rsaPublicKey.getPublicExponent())))
+          .build();
+    }
+    if (publicKey instanceof ECPublicKey ecPublicKey) {
+      return builder
+          .kty("EC")
+          .crv("P-256")
+          .x(base64UrlEncode(fixedLength(ecPublicKey.getW().getAffineX())))
+          .y(base64UrlEncode(fixedLength(ecPublicKey.getW().getAffineY())))
+          .build();
+    }
+    if (publicKey instanceof EdECPublicKey) {
+      // X.509 SubjectPublicKeyInfo ends with the raw 32-byte Ed25519 key (RFC 8037)
+      byte[] encoded = publicKey.getEncoded();
+      return builder
+          .kty("OKP")
+          .crv("Ed25519")
+          .x(base64UrlEncode(
+              Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length)))
+          .build();
+    }
+    throw new IllegalStateException("Unsupported public key type: " + publicKey.getAlgorithm());
+  }
+
+  /**
+   * Big-endian bytes without the BigInteger sign byte.
+   */
+  private byte[] unsigned(BigInteger value) {
+    byte[] bytes = value.toByteArray();
     // Remove leading zero byte if present (BigInteger sign bit)
-    if (bytes.length > 0 && bytes[0] == 0) {
-      byte[] trimmed = new byte[bytes.length - 1];
-      System.arraycopy(bytes, 1, trimmed, 0, trimmed.length);
-      bytes = trimmed;
+    if (bytes.length > 1 && bytes[0] == 0) {
+      return Arrays.copyOfRange(bytes, 1, bytes.length);
     }
+    return bytes;
+  }
+
+  /**
+   * Left-pads an EC coordinate to the curve's field length, as JWK requires.
+   */
+  private byte[] fixedLength(BigInteger coordinate) {
+    byte[] bytes = unsigned(coordinate);
+    byte[] padded = new byte[P256_COORDINATE_LENGTH];
+    System.arraycopy(bytes, 0, padded, P256_COORDINATE_LENGTH - bytes.length, bytes.length);
+    return padded;
+  }
+
+  /**
+   * Encodes bytes to Base64URL format without padding.
+   */
+  private String base64UrlEncode(byte[] bytes) {
     return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
   }
+
+  /**
+   * JWKS document built from a specific key list instance.
+   */
+  private record CachedJwks(List<VerificationKey> source, Jwks jwks) {
+  }
 }
@@ -2,11 +2,15 @@ package com.nttd.banking.auth.application.usecase;
 
 import com.nttd.banking.auth.domain.event.UserLoginEvent;
 import com.nttd.banking.auth.domain.exception.InvalidCredentialsException;
+import com.nttd.banking.auth.domain.model.AuthProfile;
+import com.nttd.banking.auth.domain.model.MintedToken;
 import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.port.in.LoginUseCase;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.PasswordEncoder;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
+import com.nttd.banking.auth.domain.port.out.UnknownUsernameCache;
 import com.nttd.banking.auth.domain.port.out.UserEventPublisher;
 import com.nttd.banking.auth.domain.port.out.UserRepository;
 import com.nttd.banking.auth.domain.service.AuthDomainService;
@@ -17,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Implementation of the login use case.
@@ -33,25 +38,86 @@ public class LoginUseCaseImpl implements LoginUseCase {
   private final JwtProvider jwtProvider;
   private final UserEventPublisher eventPublisher;
   private final AuthDomainService authDomainService;
+  private final TokenGenerationRepository tokenGenerations;
+  private final UnknownUsernameCache unknownUsernames;
 
   @Override
   public Mono<LoginResult> login(String username, String password) {
-    return authDomainService.checkLoginAttempts(username)
-        .then(userRepository.findByUsername(username))
-        .switchIfEmpty(Mono.error(new InvalidCredentialsException("Invalid credentials")))
-        .filter(user -> passwordEncoder.matches(password, user.getPasswordHash()))
-        .switchIfEmpty(Mono.defer(() -> {
-          tokenCache.incrementLoginAttempts(username).subscribe();
-          return Mono.error(new InvalidCredentialsException("Invalid credentials"));
-        }))
-        .filter(User::getActive)
+    return findAuthProfile(username)
+        .filterWhen(profile -> passwordEncoder.matches(password, profile.getPasswordHash()))
+        .switchIfEmpty(Mono.defer(() -> authDomainService.recordFailedLogin(username)
+            .then(Mono.error(new InvalidCredentialsException("Invalid credentials")))))
+        .filter(AuthProfile::getActive)
         .switchIfEmpty(Mono.error(new InvalidCredentialsException("User is inactive")))
+        .flatMap(profile -> rehashIfNeeded(profile, password))
+        .map(AuthProfile::toUser)
         .flatMap(user -> {
-          // Reset login attempts on successful login
-          User updatedUser = authDomainService.updateLastLogin(user);
-          return tokenCache.resetLoginAttempts(username)
-              .then(userRepository.save(updatedUser))
-              .flatMap(this::generateTokens);
+          // Resetting the attempt counter and recording the last login do not
+          // feed token issuance, so they run alongside it; both are best-effort,
+          // so a failed write never fails a login whose session was registered
+          Mono<Void> bookkeeping = Mono.when(
+              bestEffort(tokenCache.resetLoginAttempts(username),
+                  "Login attempt reset", username),
+              bestEffort(userRepository.touchLastLogin(user.getId(), LocalDateTime.now()),
+                  "Last login update", username));
+          return Mono.zip(bookkeeping.thenReturn(Boolean.TRUE), generateTokens(user))
+              .map(Tuple2::getT2)
+              .flatMap(result -> publishLogin(user).thenReturn(result));
+        });
+  }
+
+  /**
+   * Loads the profile, rejecting usernames that recently matched no user
+   * without reaching Redis or MongoDB. Failed attempts are never recorded
+   * for unknown usernames, so skipping the lockout check changes nothing.
+   * A miss is not recorded if the username may have been registered while
+   * it was looked up.
+   */
+  private Mono<AuthProfile> findAuthProfile(String username) {
+    return Mono.defer(() -> {
+      if (unknownUsernames.isUnknown(username)) {
+        return Mono.error(new InvalidCredentialsException("Invalid credentials"));
+      }
+      long lookup = unknownUsernames.startLookup();
+      return authDomainService.checkLoginAttempts(username)
+          .then(userRepository.findAuthProfileByUsername(username))
+          .switchIfEmpty(Mono.defer(() -> {
+            unknownUsernames.recordUnknown(username, lookup);
+            return Mono.error(new InvalidCredentialsException("Invalid credentials"));
+          }));
+    });
+  }
+
+  /**
+   * Logs and swallows a failure of a login side effect that tokens do not depend on.
+   */
+  private Mono<Void> bestEffort(Mono<Void> write, String description, String username) {
+    return write.onErrorResume(e -> {
+      log.warn("{} skipped for user {}: {}", description, username, e.getMessage());
+      return Mono.empty();
+    });
+  }
+
+  /**
+   * Re-encodes a hash stored with an outdated work factor and stores it; a
+   * failed re-encode or update keeps the old hash.
+   */
+  private Mono<AuthProfile> rehashIfNeeded(AuthProfile profile, String password) {
+    if (!passwordEncoder.needsRehash(profile.getPasswordHash())) {
+      return Mono.just(profile);
+    }
+    return passwordEncoder.encode(password)
+        .flatMap(passwordHash -> userRepository.updatePasswordHash(profile.getId(), passwordHash)
+            .thenReturn(passwordHash))
+        .map(passwordHash -> {
+          profile.setPasswordHash(passwordHash);
+          log.info("Password hash re-encoded for user: {}", profile.getUsername());
+          return profile;
+        })
+        .onErrorResume(e -> {
+          log.warn("Password re-encode skipped for user {}: {}",
+              profile.getUsername(), e.getMessage());
+          return Mono.just(profile);
         });
   }
 
@@ -59,38 +125,56 @@ public class LoginUseCaseImpl implements LoginUseCase {
    * Generates access and refresh tokens.
    */
   private Mono<LoginResult> generateTokens(User user) {
-    String accessToken = jwtProvider.generateAccessTokenString(user);
-    String refreshToken = jwtProvider.generateRefreshToken(user);
+    // Both tokens are signed concurrently on the crypto scheduler
+    return tokenGenerations.currentGeneration(user.getId())
+        .flatMap(generation -> Mono.zip(jwtProvider.mintAccessToken(user, generation),
+            jwtProvider.mintRefreshToken(user, generation)))
+        .flatMap(tokens -> storeTokens(user, tokens.getT1(), tokens.getT2()));
+  }
 
-    // Extract JTIs from generated tokens
-    String accessJti = jwtProvider.extractJti(accessToken);
-    String refreshJti = jwtProvider.extractJti(refreshToken);
+  /**
+   * Registers the minted tokens.
+   */
+  private Mono<LoginResult> storeTokens(User user, MintedToken accessToken,
+      MintedToken refreshToken) {
+    String accessJti = accessToken.getJti();
+    String refreshJti = refreshToken.getJti();
 
-    Duration accessTtl = Duration.ofSeconds(jwtProvider.getAccessTokenExpiration());
-    Duration refreshTtl = Duration.ofDays(7); // Refresh token TTL
+    Duration accessTtl = lifetime(accessToken);
+    Duration refreshTtl = lifetime(refreshToken);
 
-    // Register active token and save token pair relationship
-    return tokenCache.registerActiveToken(user.getId(), accessJti, accessTtl)
-        .then(tokenCache.saveTokenPair(accessJti, refreshJti, refreshTtl))
-        .then(Mono.defer(() -> {
-          LoginResult loginResult = new LoginResult(
-              accessToken,
-              refreshToken,
-              accessTtl.getSeconds(),
-              user.getId(),
-              user.getUsername(),
-              user.getRoles(),
-              user.getUserType().name()
-          );
+    // Index the session (evicting the oldest beyond the limit) and save the
+    // token pair; eviction only touches older pairs, so both writes can overlap
+    return Mono.when(
+            tokenCache.registerSession(user.getId(), accessJti, refreshJti, accessTtl,
+                refreshTtl),
+            tokenCache.saveTokenPair(accessJti, refreshJti, refreshTtl))
+        .then(Mono.fromSupplier(() -> new LoginResult(
+            accessToken.getToken(),
+            refreshToken.getToken(),
+            accessTtl.getSeconds(),
+            user.getId(),
+            user.getUsername(),
+            user.getRoles(),
+            user.getUserType().name()
+        )));
+  }
 
-          UserLoginEvent event = UserLoginEvent.builder()
-              .userId(user.getId())
-              .username(user.getUsername())
-              .loginAt(LocalDateTime.now())
-              .build();
+  /**
+   * Publishes the login event, once every write of the login has succeeded.
+   */
+  private Mono<Void> publishLogin(User user) {
+    return Mono.defer(() -> eventPublisher.publishUserLogin(UserLoginEvent.builder()
+        .userId(user.getId())
+        .username(user.getUsername())
+        .loginAt(LocalDateTime.now())
+        .build()));
+  }
 
-          return eventPublisher.publishUserLogin(event)
-              .thenReturn(loginResult);
-        }));
+  /**
+   * Lifetime of a minted token, from issue to expiry.
+   */
+  private Duration lifetime(MintedToken token) {
+    return Duration.between(token.getIssuedAt(), token.getExpiresAt());
   }
 }
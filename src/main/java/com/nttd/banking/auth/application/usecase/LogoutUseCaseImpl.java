@@ -1,9 +1,11 @@
 package com.nttd.banking.auth.application.usecase;
 
+import com.nttd.banking.auth.domain.model.JwtToken;
 import com.nttd.banking.auth.domain.port.in.LogoutUseCase;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
@@ -26,25 +28,34 @@ public class LogoutUseCaseImpl implements LogoutUseCase {
 
   @Override
   public Mono<Void> logout(String token) {
-    String accessJti = jwtProvider.extractJti(token);
-    Duration accessTtl = Duration.ofSeconds(jwtProvider.getAccessTokenExpiration());
+    return Mono.fromCallable(() -> jwtProvider.validateToken(token))
+        .flatMap(this::revoke);
+  }
+
+  /**
+   * Blacklists the access token and its paired refresh token in a single
+   * atomic Redis call, so a failure cannot leave only half the pair revoked.
+   */
+  private Mono<Void> revoke(JwtToken accessToken) {
+    String accessJti = accessToken.getJti();
+    Duration accessTtl = remainingLifetime(accessToken);
 
     log.debug("Processing logout for accessJti: {}", accessJti);
 
-    // Blacklist the access token
-    return tokenCache.addToBlacklist(accessJti, accessTtl)
-        // Find and blacklist the associated refresh token
-        .then(tokenCache.getRefreshJtiByAccessJti(accessJti))
-        .flatMap(refreshJti -> {
-          log.debug("Found associated refreshJti: {}, adding to blacklist", refreshJti);
-          return tokenCache.addToBlacklist(refreshJti, REFRESH_TOKEN_TTL)
-              .then(tokenCache.removeTokenPair(accessJti));
-        })
-        // If no refresh token found, just complete (token pair may have expired)
-        .onErrorResume(e -> {
-          log.warn("Could not blacklist refresh token: {}", e.getMessage());
-          return Mono.empty();
-        })
+    return tokenCache.revokeTokenPair(accessToken.getUserId(), accessJti, accessTtl,
+            REFRESH_TOKEN_TTL)
+        .doOnNext(refreshJti -> log.debug("Revoked associated refreshJti: {}", refreshJti))
         .then();
   }
+
+  /**
+   * Time until the token expires; the blacklist entry is useless after that.
+   */
+  private Duration remainingLifetime(JwtToken token) {
+    if (token.getExpiresAt() == null) {
+      return Duration.ofSeconds(jwtProvider.getAccessTokenExpiration());
+    }
+    Duration remaining = Duration.between(LocalDateTime.now(), token.getExpiresAt());
+    return remaining.isNegative() || remaining.isZero() ? Duration.ofSeconds(1) : remaining;
+  }
 }
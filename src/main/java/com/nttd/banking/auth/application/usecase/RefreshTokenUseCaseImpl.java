@@ -1,12 +1,16 @@
 package com.nttd.banking.auth.application.usecase;
 
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
 import com.nttd.banking.auth.domain.exception.InvalidCredentialsException;
 import com.nttd.banking.auth.domain.exception.TokenExpiredException;
 import com.nttd.banking.auth.domain.model.JwtToken;
 import com.nttd.banking.auth.domain.port.in.RefreshTokenUseCase;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
 import com.nttd.banking.auth.domain.port.out.UserRepository;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
@@ -25,6 +29,7 @@ public class RefreshTokenUseCaseImpl implements RefreshTokenUseCase {
   private final UserRepository userRepository;
   private final TokenCacheRepository tokenCache;
   private final JwtProvider jwtProvider;
+  private final TokenGenerationRepository tokenGenerations;
 
   @Override
   public Mono<RefreshResult> refresh(String refreshToken) {
@@ -33,10 +38,12 @@ public class RefreshTokenUseCaseImpl implements RefreshTokenUseCase {
           String userId = jwtToken.getUserId();
           String jti = jwtToken.getJti();
 
-          // Verify not blacklisted
-          return tokenCache.isBlacklisted(jti)
-              .flatMap(isBlacklisted -> {
-                if (Boolean.TRUE.equals(isBlacklisted)) {
+          // Verify not blacklisted and not issued before the user's current generation
+          return Mono.zip(tokenCache.isBlacklisted(jwtToken),
+                  tokenGenerations.currentGeneration(userId))
+              .flatMap(checks -> {
+                long generation = checks.getT2();
+                if (Boolean.TRUE.equals(checks.getT1()) || jwtToken.getGeneration() < generation) {
                   return Mono.error(new TokenExpiredException("Refresh token revoked"));
                 }
 
@@ -44,19 +51,25 @@ public class RefreshTokenUseCaseImpl implements RefreshTokenUseCase {
                 return userRepository.findById(userId)
                     .switchIfEmpty(Mono.error(
                         new InvalidCredentialsException("User not found")))
-                    .flatMap(user -> {
-                      String newAccessToken = jwtProvider.generateAccessTokenString(user);
-                      long expiresIn = jwtProvider.getAccessTokenExpiration();
+                    .flatMap(user -> jwtProvider.mintAccessToken(user, generation))
+                    // Track the new access token so revoking the session covers it
+                    .flatMap(newAccessToken -> {
+                      Duration lifetime = Duration.between(
+                          newAccessToken.getIssuedAt(), newAccessToken.getExpiresAt());
 
-                      return Mono.just(new RefreshResult(
-                          newAccessToken,
-                          expiresIn
-                      ));
+                      return tokenCache.updateSessionAccessToken(userId, jti,
+                              newAccessToken.getJti(), lifetime)
+                          .thenReturn(new RefreshResult(
+                              newAccessToken.getToken(),
+                              lifetime.getSeconds()
+                          ));
                     });
               });
         })
         .onErrorMap(e -> {
-          if (e instanceof TokenExpiredException || e instanceof InvalidCredentialsException) {
+          if (e instanceof TokenExpiredException || e instanceof InvalidCredentialsException
+              || e instanceof RejectedExecutionException
+              || e instanceof DependencyUnavailableException) {
             return e;
           }
           return new TokenExpiredException("Invalid or expired refresh token");
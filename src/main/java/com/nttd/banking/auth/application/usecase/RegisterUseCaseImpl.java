@@ -1,10 +1,10 @@
 package com.nttd.banking.auth.application.usecase;
 
 import com.nttd.banking.auth.domain.event.UserRegisteredEvent;
-import com.nttd.banking.auth.domain.exception.UserAlreadyExistsException;
 import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.port.in.RegisterUseCase;
 import com.nttd.banking.auth.domain.port.out.PasswordEncoder;
+import com.nttd.banking.auth.domain.port.out.UnknownUsernameCache;
 import com.nttd.banking.auth.domain.port.out.UserEventPublisher;
 import com.nttd.banking.auth.domain.port.out.UserRepository;
 import com.nttd.banking.auth.domain.service.AuthDomainService;
@@ -27,12 +27,14 @@ public class RegisterUseCaseImpl implements RegisterUseCase {
   private final PasswordEncoder passwordEncoder;
   private final UserEventPublisher eventPublisher;
   private final AuthDomainService authDomainService;
+  private final UnknownUsernameCache unknownUsernames;
 
   @Override
   public Mono<User> register(RegisterRequest request) {
-    return validateUniqueUser(request)
-        .then(Mono.defer(() -> {
-          String passwordHash = passwordEncoder.encode(request.password());
+    // Duplicates are rejected by the unique indexes on insert, in the same
+    // round trip, instead of by lookups that could race with other signups
+    return passwordEncoder.encode(request.password())
+        .flatMap(passwordHash -> {
           User user = authDomainService.createUser(
               request.username(),
               request.email(),
@@ -43,8 +45,10 @@ public class RegisterUseCaseImpl implements RegisterUseCase {
               request.userType()
           );
 
-          return userRepository.save(user);
-        }))
+          return userRepository.insert(user);
+        })
+        // Logins for the new username must stop being rejected as unknown
+        .delayUntil(savedUser -> unknownUsernames.forget(savedUser.getUsername()))
         .flatMap(savedUser -> {
           UserRegisteredEvent event = UserRegisteredEvent.builder()
               .userId(savedUser.getId())
@@ -61,23 +65,4 @@ public class RegisterUseCaseImpl implements RegisterUseCase {
               .thenReturn(savedUser);
         });
   }
-
-  /**
-   * Validates that username, email and document number are unique.
-   */
-  private Mono<Void> validateUniqueUser(RegisterRequest request) {
-    return userRepository.existsByUsername(request.username())
-        .flatMap(exists -> exists
-            ? Mono.error(new UserAlreadyExistsException("Username already exists"))
-            : Mono.empty())
-        .then(userRepository.existsByEmail(request.email()))
-        .flatMap(exists -> exists
-            ? Mono.error(new UserAlreadyExistsException("Email already exists"))
-            : Mono.empty())
-        .then(userRepository.existsByDocumentNumber(request.documentNumber()))
-        .flatMap(exists -> exists
-            ? Mono.error(new UserAlreadyExistsException("Document number already exists"))
-            : Mono.empty())
-        .then();
-  }
 }
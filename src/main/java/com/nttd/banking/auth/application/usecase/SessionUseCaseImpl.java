@@ -0,0 +1,47 @@
+package com.nttd.banking.auth.application.usecase;
+
+import com.nttd.banking.auth.domain.model.Session;
+import com.nttd.banking.auth.domain.port.in.SessionUseCase;
+import com.nttd.banking.auth.domain.port.in.ValidateTokenUseCase;
+import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the session use case.
+ * The caller is identified by a valid, unrevoked access token.
+ */
+@Service
+@Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class SessionUseCaseImpl implements SessionUseCase {
+
+  private final ValidateTokenUseCase validateTokenUseCase;
+  private final TokenCacheRepository tokenCache;
+  private final TokenGenerationRepository tokenGenerations;
+
+  @Override
+  public Mono<List<Session>> listSessions(String token) {
+    return validateTokenUseCase.validate(token)
+        .flatMap(jwtToken -> tokenCache.findSessions(jwtToken.getUserId())
+            .doOnNext(sessions -> sessions.forEach(session ->
+                session.setCurrent(jwtToken.getJti().equals(session.getAccessJti())))));
+  }
+
+  @Override
+  public Mono<Integer> revokeAllSessions(String token) {
+    // The generation bump invalidates every outstanding token, including any
+    // the session index does not know about; the index is then cleared
+    return validateTokenUseCase.validate(token)
+        .flatMap(jwtToken -> tokenGenerations.bumpGeneration(jwtToken.getUserId())
+            .then(tokenCache.revokeAllSessions(jwtToken.getUserId()))
+            .doOnNext(revoked -> log.info("Revoked {} session(s) of user {}",
+                revoked, jwtToken.getUserId())));
+  }
+}
@@ -1,15 +1,26 @@
 package com.nttd.banking.auth.application.usecase;
 
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
 import com.nttd.banking.auth.domain.exception.TokenExpiredException;
 import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.TokenValidation;
 import com.nttd.banking.auth.domain.port.in.ValidateTokenUseCase;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
+import com.nttd.banking.auth.domain.port.out.VerifiedTokenCache;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Implementation of the validate token use case.
@@ -22,17 +33,19 @@ public class ValidateTokenUseCaseImpl implements ValidateTokenUseCase {
 
   private final TokenCacheRepository tokenCache;
   private final JwtProvider jwtProvider;
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final TokenGenerationRepository tokenGenerations;
 
   @Override
   public Mono<JwtToken> validate(String token) {
-    return Mono.fromCallable(() -> jwtProvider.validateToken(token))
+    return Mono.fromCallable(() -> verify(token))
         .flatMap(jwtToken -> {
-          String jti = jwtToken.getJti();
-
-          // Verify not blacklisted
-          return tokenCache.isBlacklisted(jti)
-              .flatMap(isBlacklisted -> {
-                if (Boolean.TRUE.equals(isBlacklisted)) {
+          // Verify not blacklisted and not issued before the owner's current generation
+          return Mono.zip(tokenCache.isBlacklisted(jwtToken),
+                  tokenGenerations.currentGeneration(jwtToken.getUserId()))
+              .flatMap(checks -> {
+                if (Boolean.TRUE.equals(checks.getT1())
+                    || jwtToken.getGeneration() < checks.getT2()) {
                   return Mono.error(new TokenExpiredException("Token revoked"));
                 }
 
@@ -40,10 +53,80 @@ public class ValidateTokenUseCaseImpl implements ValidateTokenUseCase {
               });
         })
         .onErrorMap(e -> {
-          if (e instanceof TokenExpiredException) {
+          // Revocation or generation cannot be checked: fail closed as unavailable, not 401
+          if (e instanceof TokenExpiredException || e instanceof DependencyUnavailableException) {
             return e;
           }
           return new TokenExpiredException("Invalid or expired token");
         });
   }
+
+  @Override
+  public Mono<List<TokenValidation>> validateBatch(List<String> tokens) {
+    // Signatures are verified in parallel; flatMapSequential keeps request order
+    return Flux.fromIterable(tokens)
+        .flatMapSequential(token -> Mono.fromCallable(() -> verifyQuietly(token))
+            .subscribeOn(Schedulers.parallel()))
+        .collectList()
+        .flatMap(verified -> {
+          List<JwtToken> verifiedTokens = verified.stream()
+              .flatMap(Optional::stream)
+              .toList();
+          Set<String> userIds = verifiedTokens.stream()
+              .map(JwtToken::getUserId)
+              .collect(Collectors.toSet());
+
+          return Mono.zip(tokenCache.findBlacklisted(verifiedTokens),
+                  tokenGenerations.currentGenerations(userIds))
+              .map(checks -> verified.stream()
+                  .map(jwtToken -> toValidation(jwtToken, checks.getT1(), checks.getT2()))
+                  .toList());
+        });
+  }
+
+  /**
+   * Verifies a token of a batch, turning verification failures into empty.
+   */
+  private Optional<JwtToken> verifyQuietly(String token) {
+    try {
+      return Optional.of(verify(token));
+    } catch (Exception e) {
+      log.debug("Batch token rejected: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private TokenValidation toValidation(Optional<JwtToken> jwtToken, Set<String> blacklisted,
+      Map<String, Long> generations) {
+    if (jwtToken.isEmpty()) {
+      return TokenValidation.builder()
+          .valid(false)
+          .error("Invalid or expired token")
+          .build();
+    }
+    if (blacklisted.contains(jwtToken.get().getJti())
+        || jwtToken.get().getGeneration()
+            < generations.getOrDefault(jwtToken.get().getUserId(), 0L)) {
+      return TokenValidation.builder()
+          .valid(false)
+          .error("Token revoked")
+          .build();
+    }
+    return TokenValidation.builder()
+        .valid(true)
+        .jwtToken(jwtToken.get())
+        .build();
+  }
+
+  /**
+   * Returns cached claims for an already verified token, verifying the
+   * signature only on a cache miss. Revocation is still checked by the caller.
+   */
+  private JwtToken verify(String token) {
+    return verifiedTokenCache.get(token).orElseGet(() -> {
+      JwtToken jwtToken = jwtProvider.validateToken(token);
+      verifiedTokenCache.put(token, jwtToken);
+      return jwtToken;
+    });
+  }
 }
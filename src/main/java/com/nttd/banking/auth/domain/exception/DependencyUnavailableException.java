@@ -0,0 +1,11 @@
+package com.nttd.banking.auth.domain.exception;
+
+/**
+ * Exception thrown when a backing service (cache, database, broker) is
+ * unavailable, overloaded or too slow to answer.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+  public DependencyUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
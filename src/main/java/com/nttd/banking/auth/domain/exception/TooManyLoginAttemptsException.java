@@ -1,10 +1,27 @@
 package com.nttd.banking.auth.domain.exception;
 
+import java.time.Duration;
+
 /**
  * Exception thrown when user exceeds maximum login attempts.
  */
 public class TooManyLoginAttemptsException extends RuntimeException {
+
+  private final Duration retryAfter;
+
   public TooManyLoginAttemptsException(String message) {
+    this(message, null);
+  }
+
+  public TooManyLoginAttemptsException(String message, Duration retryAfter) {
     super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Remaining lockout time, or null if unknown.
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
   }
 }
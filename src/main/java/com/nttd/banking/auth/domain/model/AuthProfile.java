@@ -0,0 +1,41 @@
+package com.nttd.banking.auth.domain.model;
+
+import com.nttd.banking.auth.domain.model.enums.UserType;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The part of a {@link User} needed to authenticate and issue tokens:
+ * credentials, status and the fields carried in token claims.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthProfile {
+  private String id;
+  private String username;
+  private String email; // Access token claim
+  private String passwordHash;
+  private UserType userType;
+  private List<String> roles;
+  private Boolean active;
+
+  /**
+   * A user holding only this profile's fields, enough to mint tokens.
+   */
+  public User toUser() {
+    return User.builder()
+        .id(id)
+        .username(username)
+        .email(email)
+        .passwordHash(passwordHash)
+        .userType(userType)
+        .roles(roles)
+        .active(active)
+        .build();
+  }
+}
@@ -7,17 +7,20 @@ import lombok.NoArgsConstructor;
 
 /**
  * JSON Web Key (JWK) domain model.
- * Represents a single RSA public key in JWK format.
+ * Represents a single public key in JWK format (RSA, EC or OKP).
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class JwkKey {
-  private String kty;  // Key Type (RSA)
-  private String alg;  // Algorithm (RS256)
+  private String kty;  // Key Type (RSA, EC, OKP)
+  private String alg;  // Algorithm (RS256, ES256, EdDSA)
   private String use;  // Usage (sig = signature)
   private String kid;  // Key ID
   private String n;    // RSA Modulus (Base64URL)
   private String e;    // RSA Exponent (Base64URL)
+  private String crv;  // Curve (P-256, Ed25519)
+  private String x;    // EC x coordinate or OKP public key (Base64URL)
+  private String y;    // EC y coordinate (Base64URL)
 }
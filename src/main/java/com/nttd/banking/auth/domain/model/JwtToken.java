@@ -23,4 +23,5 @@ public class JwtToken {
   private LocalDateTime issuedAt;
   private LocalDateTime expiresAt;
   private String tokenType; // ACCESS or REFRESH
+  private long generation; // Owner's token generation when issued
 }
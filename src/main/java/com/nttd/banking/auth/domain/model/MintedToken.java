@@ -0,0 +1,23 @@
+package com.nttd.banking.auth.domain.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Signed token together with the metadata produced while signing it.
+ * Avoids parsing a freshly issued token just to read its claims back.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MintedToken {
+  private String token; // Compact signed JWT
+  private String jti;
+  private LocalDateTime issuedAt;
+  private LocalDateTime expiresAt;
+  private String tokenType; // ACCESS or REFRESH
+}
@@ -0,0 +1,22 @@
+package com.nttd.banking.auth.domain.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Active login session: one refresh token and the latest access token minted from it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Session {
+  private String sessionId; // Refresh token JTI
+  private String accessJti; // Latest access token JTI
+  private LocalDateTime createdAt;
+  private LocalDateTime expiresAt;
+  private boolean current; // Whether the caller's access token belongs to this session
+}
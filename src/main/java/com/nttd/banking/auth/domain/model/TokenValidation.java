@@ -0,0 +1,20 @@
+package com.nttd.banking.auth.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of validating one token of a batch.
+ * Holds the claims when valid, or the rejection reason otherwise.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenValidation {
+  private boolean valid;
+  private JwtToken jwtToken; // Null when invalid
+  private String error; // Null when valid
+}
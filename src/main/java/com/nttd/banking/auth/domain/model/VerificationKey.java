@@ -0,0 +1,19 @@
+package com.nttd.banking.auth.domain.model;
+
+import java.security.PublicKey;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Public key accepted for token verification, identified by its key ID.
+ * Immutable, since a published key ring is read concurrently while the next
+ * one is built.
+ */
+@Value
+@Builder(toBuilder = true)
+public class VerificationKey {
+  private String kid;          // Key ID written to the token header
+  private String algorithm;    // JWA identifier (RS256, ES256, EdDSA)
+  private PublicKey publicKey;
+  private boolean active;      // True for the key currently used for signing
+}
@@ -0,0 +1,26 @@
+package com.nttd.banking.auth.domain.port.in;
+
+import com.nttd.banking.auth.domain.model.Session;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Use case for listing and revoking the caller's login sessions.
+ */
+public interface SessionUseCase {
+  /**
+   * Lists the active sessions of the token's owner.
+   *
+   * @param token JWT access token of the caller
+   * @return Mono with the sessions, oldest first
+   */
+  Mono<List<Session>> listSessions(String token);
+
+  /**
+   * Revokes every session of the token's owner, including the caller's.
+   *
+   * @param token JWT access token of the caller
+   * @return Mono with the number of sessions revoked
+   */
+  Mono<Integer> revokeAllSessions(String token);
+}
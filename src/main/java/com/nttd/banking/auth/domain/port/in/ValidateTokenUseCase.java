@@ -1,6 +1,8 @@
 package com.nttd.banking.auth.domain.port.in;
 
 import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.TokenValidation;
+import java.util.List;
 import reactor.core.publisher.Mono;
 
 /**
@@ -14,4 +16,13 @@ public interface ValidateTokenUseCase {
    * @return Mono with token claims
    */
   Mono<JwtToken> validate(String token);
+
+  /**
+   * Validates several JWT tokens, checking revocation for all of them at once.
+   * Invalid tokens do not fail the batch.
+   *
+   * @param tokens JWT token strings
+   * @return Mono with one result per token, in request order
+   */
+  Mono<List<TokenValidation>> validateBatch(List<String> tokens);
 }
@@ -1,7 +1,11 @@
 package com.nttd.banking.auth.domain.port.out;
 
 import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.MintedToken;
 import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.domain.model.VerificationKey;
+import java.util.List;
+import reactor.core.publisher.Mono;
 
 /**
  * Port for JWT token operations.
@@ -10,31 +14,30 @@ import com.nttd.banking.auth.domain.model.User;
 public interface JwtProvider {
 
   /**
-   * Generates an access token metadata for a user.
+   * Signs an access token and returns it with its jti, issue and expiry times.
+   * Signing runs off the calling thread.
    *
    * @param user the user to generate the token for
-   * @return JwtToken with metadata (jti, userId, username, roles, etc.)
+   * @param generation the user's current token generation, embedded as a claim
+   * @return Mono with the signed token and the metadata used to sign it
    */
-  JwtToken generateAccessToken(User user);
+  Mono<MintedToken> mintAccessToken(User user, long generation);
 
   /**
-   * Generates an access token string (JWT) for a user.
+   * Signs a refresh token and returns it with its jti, issue and expiry times.
+   * Signing runs off the calling thread.
    *
    * @param user the user to generate the token for
-   * @return the signed JWT string
+   * @param generation the user's current token generation, embedded as a claim
+   * @return Mono with the signed token and the metadata used to sign it
    */
-  String generateAccessTokenString(User user);
-
-  /**
-   * Generates a refresh token for a user.
-   *
-   * @param user the user to generate the token for
-   * @return the signed refresh token string
-   */
-  String generateRefreshToken(User user);
+  Mono<MintedToken> mintRefreshToken(User user, long generation);
 
   /**
    * Validates a token and extracts its information.
+   * The signature is verified once and every claim callers need (jti, subject,
+   * expiration, token type, roles) is returned, so use cases should not parse
+   * the same token again.
    *
    * @param token the JWT string to validate
    * @return JwtToken with the extracted claims
@@ -44,6 +47,7 @@ public interface JwtProvider {
 
   /**
    * Extracts the JTI (JWT ID) from a token.
+   * Prefer {@link #validateToken(String)} when other claims are needed too.
    *
    * @param token the JWT string
    * @return the JTI claim value
@@ -58,9 +62,10 @@ public interface JwtProvider {
   long getAccessTokenExpiration();
 
   /**
-   * Gets the public key used for token verification.
+   * Gets every key tokens may currently be verified with, active signing key
+   * first. Keys retired from signing stay listed until they are removed.
    *
-   * @return the RSA public key
+   * @return the verification keys with their kid and algorithm
    */
-  java.security.PublicKey getPublicKey();
+  List<VerificationKey> getVerificationKeys();
 }
@@ -1,10 +1,23 @@
 package com.nttd.banking.auth.domain.port.out;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Password encoder port.
+ * Hashing is CPU-bound, so implementations run it off the calling thread.
  */
 public interface PasswordEncoder {
-  String encode(String rawPassword);
+  Mono<String> encode(String rawPassword);
+
+  Mono<Boolean> matches(String rawPassword, String encodedPassword);
 
-  boolean matches(String rawPassword, String encodedPassword);
+  /**
+   * Tells whether a stored hash is weaker than what the encoder currently
+   * produces and should be re-encoded after a successful match. Stronger
+   * hashes are kept.
+   *
+   * @param encodedPassword the stored hash
+   * @return true if the hash should be replaced
+   */
+  boolean needsRehash(String encodedPassword);
 }
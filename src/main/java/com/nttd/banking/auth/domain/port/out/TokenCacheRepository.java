@@ -1,6 +1,10 @@
 package com.nttd.banking.auth.domain.port.out;
 
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.Session;
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import reactor.core.publisher.Mono;
 
 /**
@@ -9,17 +13,96 @@ import reactor.core.publisher.Mono;
 public interface TokenCacheRepository {
   Mono<Void> addToBlacklist(String jti, Duration ttl);
 
-  Mono<Boolean> isBlacklisted(String jti);
+  /**
+   * Checks a verified token against the blacklist.
+   *
+   * @param token the token claims; the JTI and expiry are used
+   * @return Mono with whether the token is blacklisted
+   */
+  Mono<Boolean> isBlacklisted(JwtToken token);
 
-  Mono<Void> registerActiveToken(String userId, String jti, Duration ttl);
+  /**
+   * Blacklists an access token and its paired refresh token, and removes the
+   * pair and its session, as one atomic operation.
+   *
+   * @param userId the owner of the tokens
+   * @param accessJti the access token JTI
+   * @param accessTtl remaining lifetime of the access token
+   * @param refreshTtl blacklist TTL for the refresh token if the pair has no expiry
+   * @return Mono with the revoked refresh token JTI, or empty if no pair was stored
+   */
+  Mono<String> revokeTokenPair(String userId, String accessJti, Duration accessTtl,
+      Duration refreshTtl);
 
-  Mono<Void> removeActiveToken(String userId, String jti);
+  /**
+   * Checks several verified tokens against the blacklist in a single round trip.
+   *
+   * @param tokens the token claims; the JTIs and expiries are used
+   * @return Mono with the JTIs of the blacklisted tokens
+   */
+  Mono<Set<String>> findBlacklisted(List<JwtToken> tokens);
 
-  Mono<Long> incrementLoginAttempts(String username);
+  /**
+   * Adds a session to the user's session index. Sessions beyond the
+   * concurrent-session limit are revoked, oldest first.
+   *
+   * @param userId the user ID
+   * @param accessJti the access token JTI
+   * @param refreshJti the refresh token JTI, which identifies the session
+   * @param accessTtl access token lifetime
+   * @param refreshTtl refresh token lifetime, which is the session lifetime
+   * @return Mono with the number of sessions evicted
+   */
+  Mono<Integer> registerSession(String userId, String accessJti, String refreshJti,
+      Duration accessTtl, Duration refreshTtl);
 
-  Mono<Void> resetLoginAttempts(String username);
+  /**
+   * Records the access token most recently minted for a session and pairs it
+   * with the session's refresh token until that expires.
+   *
+   * @param userId the user ID
+   * @param refreshJti the refresh token JTI of the session
+   * @param accessJti the new access token JTI
+   * @param accessTtl the new access token's lifetime
+   * @return Mono completion signal
+   */
+  Mono<Void> updateSessionAccessToken(String userId, String refreshJti, String accessJti,
+      Duration accessTtl);
+
+  /**
+   * Lists the user's unexpired sessions, oldest first.
+   *
+   * @param userId the user ID
+   * @return Mono with the sessions
+   */
+  Mono<List<Session>> findSessions(String userId);
+
+  /**
+   * Revokes every session of a user in one operation. Each token stays
+   * blacklisted until it expires.
+   *
+   * @param userId the user ID
+   * @return Mono with the number of sessions revoked
+   */
+  Mono<Integer> revokeAllSessions(String userId);
 
-  Mono<Long> getLoginAttempts(String username);
+  /**
+   * Records a failed login and applies the lockout policy atomically.
+   *
+   * @param username the username
+   * @return Mono with the remaining lockout, or zero if the account is not locked
+   */
+  Mono<Duration> recordFailedLogin(String username);
+
+  /**
+   * Remaining lockout for a username.
+   *
+   * @param username the username
+   * @return Mono with the remaining lockout, or zero if the account is not locked
+   */
+  Mono<Duration> getLockout(String username);
+
+  Mono<Void> resetLoginAttempts(String username);
 
   /**
    * Stores the relationship between access token JTI and refresh token JTI.
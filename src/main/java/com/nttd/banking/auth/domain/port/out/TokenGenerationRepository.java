@@ -0,0 +1,37 @@
+package com.nttd.banking.auth.domain.port.out;
+
+import java.util.Collection;
+import java.util.Map;
+import reactor.core.publisher.Mono;
+
+/**
+ * Port for per-user token generations.
+ * Every token carries the generation current when it was issued; bumping a
+ * user's generation invalidates all of that user's outstanding tokens at once.
+ */
+public interface TokenGenerationRepository {
+
+  /**
+   * Current token generation of a user.
+   *
+   * @param userId the user ID
+   * @return Mono with the generation, 0 if it was never bumped
+   */
+  Mono<Long> currentGeneration(String userId);
+
+  /**
+   * Current token generations of several users in one lookup.
+   *
+   * @param userIds the user IDs
+   * @return Mono with the generation of every requested user
+   */
+  Mono<Map<String, Long>> currentGenerations(Collection<String> userIds);
+
+  /**
+   * Increments a user's generation, invalidating every token issued before.
+   *
+   * @param userId the user ID
+   * @return Mono with the new generation
+   */
+  Mono<Long> bumpGeneration(String userId);
+}
@@ -0,0 +1,43 @@
+package com.nttd.banking.auth.domain.port.out;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Short-lived record of usernames that recently matched no user, so repeated
+ * logins for them are rejected without reaching the user store.
+ */
+public interface UnknownUsernameCache {
+
+  /**
+   * Whether a recent lookup found no user with this username.
+   *
+   * @param username the username
+   * @return true if known to be missing
+   */
+  boolean isUnknown(String username);
+
+  /**
+   * Marks the start of a user lookup whose miss may be recorded.
+   *
+   * @return the stamp to record the miss with
+   */
+  long startLookup();
+
+  /**
+   * Records that a lookup found no user with this username, unless a username
+   * was forgotten since the lookup started, e.g. because a user registered
+   * it meanwhile.
+   *
+   * @param username the username
+   * @param lookupStamp the stamp from {@link #startLookup()} taken before the lookup
+   */
+  void recordUnknown(String username, long lookupStamp);
+
+  /**
+   * Drops the username on every node, e.g. once a user takes it.
+   *
+   * @param username the username
+   * @return completes once dropped locally and announced to other nodes
+   */
+  Mono<Void> forget(String username);
+}
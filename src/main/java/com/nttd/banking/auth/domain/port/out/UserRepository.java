@@ -1,25 +1,60 @@
 package com.nttd.banking.auth.domain.port.out;
 
+import com.nttd.banking.auth.domain.model.AuthProfile;
 import com.nttd.banking.auth.domain.model.User;
+import java.time.LocalDateTime;
 import reactor.core.publisher.Mono;
 
 /**
  * User repository port.
  */
 public interface UserRepository {
+  /**
+   * Stores a new user in a single write, relying on the unique indexes
+   * rather than on prior lookups to reject duplicates.
+   *
+   * @param user the user to create
+   * @return Mono with the stored user, or a
+   *     {@link com.nttd.banking.auth.domain.exception.UserAlreadyExistsException}
+   *     naming the username, email or document number already taken
+   */
+  Mono<User> insert(User user);
+
   Mono<User> save(User user);
 
+  /**
+   * Sets the user's last login (and update) time without rewriting the rest
+   * of the user. Best effort: may be acknowledged before it is durable.
+   *
+   * @param id the user ID
+   * @param at the login time
+   * @return completes once the update is acknowledged
+   */
+  Mono<Void> touchLastLogin(String id, LocalDateTime at);
+
+  /**
+   * Replaces the stored password hash, e.g. after re-encoding it with a
+   * different work factor.
+   *
+   * @param id the user ID
+   * @param passwordHash the new hash
+   * @return completes once the update is acknowledged
+   */
+  Mono<Void> updatePasswordHash(String id, String passwordHash);
+
   Mono<User> findById(String id);
 
   Mono<User> findByUsername(String username);
 
+  /**
+   * Loads only what login needs for a username.
+   *
+   * @param username the username
+   * @return Mono with the profile, empty if no such user
+   */
+  Mono<AuthProfile> findAuthProfileByUsername(String username);
+
   Mono<User> findByEmail(String email);
 
   Mono<User> findByDocumentNumber(String documentNumber);
-
-  Mono<Boolean> existsByUsername(String username);
-
-  Mono<Boolean> existsByEmail(String email);
-
-  Mono<Boolean> existsByDocumentNumber(String documentNumber);
 }
@@ -0,0 +1,27 @@
+package com.nttd.banking.auth.domain.port.out;
+
+import com.nttd.banking.auth.domain.model.JwtToken;
+import java.util.Optional;
+
+/**
+ * In-process cache of tokens whose signature has already been verified.
+ * Entries must never outlive the token's own expiration.
+ */
+public interface VerifiedTokenCache {
+
+  /**
+   * Returns the verified claims of a token, if cached.
+   *
+   * @param token the JWT string
+   * @return the cached claims, or empty on a miss
+   */
+  Optional<JwtToken> get(String token);
+
+  /**
+   * Caches the claims of a token that passed signature verification.
+   *
+   * @param token the JWT string
+   * @param claims the verified claims
+   */
+  void put(String token, JwtToken claims);
+}
@@ -4,6 +4,7 @@ import com.nttd.banking.auth.domain.exception.TooManyLoginAttemptsException;
 import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.model.enums.UserType;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -22,25 +23,37 @@ public class AuthDomainService {
 
   private final TokenCacheRepository tokenCache;
 
-  private static final int MAX_LOGIN_ATTEMPTS = 5;
-
   /**
-   * Checks if user has exceeded max login attempts.
+   * Fails fast if the user is currently locked out.
    *
    * @param username the username to check
-   * @return Mono that completes if attempts are within limit
-   * @throws TooManyLoginAttemptsException if max attempts exceeded
+   * @return Mono that completes if the user is not locked out
+   * @throws TooManyLoginAttemptsException if a lockout is in effect
    */
   public Mono<Void> checkLoginAttempts(String username) {
-    return tokenCache.getLoginAttempts(username)
-        .flatMap(attempts -> {
-          if (attempts >= MAX_LOGIN_ATTEMPTS) {
-            log.warn("User {} exceeded max login attempts: {}", username, attempts);
-            return Mono.error(new TooManyLoginAttemptsException(
-                "Too many login attempts. Try again later."));
-          }
-          return Mono.empty();
-        });
+    return tokenCache.getLockout(username)
+        .flatMap(remaining -> lockedOut(username, remaining));
+  }
+
+  /**
+   * Records a failed login; the lockout policy is applied atomically by the cache.
+   *
+   * @param username the username that failed to authenticate
+   * @return Mono that errors with TooManyLoginAttemptsException if the user is
+   *     now locked out, otherwise completes
+   */
+  public Mono<Void> recordFailedLogin(String username) {
+    return tokenCache.recordFailedLogin(username)
+        .flatMap(remaining -> lockedOut(username, remaining));
+  }
+
+  private Mono<Void> lockedOut(String username, Duration remaining) {
+    if (remaining.isZero() || remaining.isNegative()) {
+      return Mono.empty();
+    }
+    log.warn("User {} locked out for {}", username, remaining);
+    return Mono.error(new TooManyLoginAttemptsException(
+        "Too many login attempts. Try again later.", remaining));
   }
 
   /**
@@ -88,29 +101,4 @@ public class AuthDomainService {
         .updatedAt(LocalDateTime.now())
         .build();
   }
-
-  /**
-   * Updates user's last login timestamp.
-   *
-   * @param user the user to update
-   * @return the updated user
-   */
-  public User updateLastLogin(User user) {
-    return User.builder()
-        .id(user.getId())
-        .username(user.getUsername())
-        .email(user.getEmail())
-        .passwordHash(user.getPasswordHash())
-        .documentType(user.getDocumentType())
-        .documentNumber(user.getDocumentNumber())
-        .phoneNumber(user.getPhoneNumber())
-        .userType(user.getUserType())
-        .customerId(user.getCustomerId())
-        .roles(user.getRoles())
-        .active(user.getActive())
-        .createdAt(user.getCreatedAt())
-        .updatedAt(LocalDateTime.now())
-        .lastLogin(LocalDateTime.now())
-        .build();
-  }
 }
@@ -1,15 +1,21 @@
 package com.nttd.banking.auth.infrastructure.adapter.in.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nttd.banking.auth.api.ApiApiDelegate;
 import com.nttd.banking.auth.application.mapper.AuthMapper;
+import com.nttd.banking.auth.domain.model.Jwks;
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.Session;
+import com.nttd.banking.auth.domain.model.TokenValidation;
 import com.nttd.banking.auth.domain.port.in.GetJwksUseCase;
 import com.nttd.banking.auth.domain.port.in.LoginUseCase;
 import com.nttd.banking.auth.domain.port.in.LogoutUseCase;
 import com.nttd.banking.auth.domain.port.in.RefreshTokenUseCase;
 import com.nttd.banking.auth.domain.port.in.RegisterUseCase;
+import com.nttd.banking.auth.domain.port.in.SessionUseCase;
 import com.nttd.banking.auth.domain.port.in.ValidateTokenUseCase;
 import com.nttd.banking.auth.model.dto.JwkKey;
-import com.nttd.banking.auth.model.dto.JwksResponse;
 import com.nttd.banking.auth.model.dto.LoginRequest;
 import com.nttd.banking.auth.model.dto.LoginResponse;
 import com.nttd.banking.auth.model.dto.LogoutResponse;
@@ -17,14 +23,32 @@ import com.nttd.banking.auth.model.dto.RefreshTokenRequest;
 import com.nttd.banking.auth.model.dto.RefreshTokenResponse;
 import com.nttd.banking.auth.model.dto.RegisterRequest;
 import com.nttd.banking.auth.model.dto.RegisterResponse;
+import com.nttd.banking.auth.model.dto.RevokeSessionsResponse;
+import com.nttd.banking.auth.model.dto.SessionInfo;
+import com.nttd.banking.auth.model.dto.SessionListResponse;
+import com.nttd.banking.auth.model.dto.TokenValidationResult;
+import com.nttd.banking.auth.model.dto.ValidateTokenBatchRequest;
+import com.nttd.banking.auth.model.dto.ValidateTokenBatchResponse;
 import com.nttd.banking.auth.model.dto.ValidateTokenRequest;
 import com.nttd.banking.auth.model.dto.ValidateTokenResponse;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
@@ -46,7 +70,13 @@ public class AuthApiDelegateImpl implements ApiApiDelegate {
   private final ValidateTokenUseCase validateTokenUseCase;
   private final RefreshTokenUseCase refreshTokenUseCase;
   private final GetJwksUseCase getJwksUseCase;
+  private final SessionUseCase sessionUseCase;
   private final AuthMapper mapper;
+  private final ObjectMapper objectMapper;
+  private final AtomicReference<JwksDocument> jwksDocument = new AtomicReference<>();
+
+  @Value("${jwks.cache-max-age-seconds:300}")
+  private long jwksMaxAgeSeconds;
 
   @Override
   public Mono<ResponseEntity<LoginResponse>> login(
@@ -75,14 +105,11 @@ public class AuthApiDelegateImpl implements ApiApiDelegate {
 
   @Override
   public Mono<ResponseEntity<LogoutResponse>> logout(ServerWebExchange exchange) {
-    // Extract token from Authorization header
-    String authHeader = exchange.getRequest().getHeaders().getFirst("Authorization");
-    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+    String token = bearerToken(exchange);
+    if (token == null) {
       return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
     }
 
-    String token = authHeader.substring(7);
-
     return logoutUseCase.logout(token)
         .then(Mono.fromCallable(() -> {
           LogoutResponse response = new LogoutResponse();
@@ -92,6 +119,63 @@ public class AuthApiDelegateImpl implements ApiApiDelegate {
         .doOnSuccess(res -> log.info("User logged out successfully"));
   }
 
+  @Override
+  public Mono<ResponseEntity<SessionListResponse>> listSessions(ServerWebExchange exchange) {
+    String token = bearerToken(exchange);
+    if (token == null) {
+      return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    return sessionUseCase.listSessions(token)
+        .map(sessions -> {
+          SessionListResponse response = new SessionListResponse();
+          response.setSessions(sessions.stream()
+              .map(this::toSessionInfo)
+              .collect(Collectors.toList()));
+          return ResponseEntity.ok(response);
+        });
+  }
+
+  @Override
+  public Mono<ResponseEntity<RevokeSessionsResponse>> revokeAllSessions(
+      ServerWebExchange exchange) {
+    String token = bearerToken(exchange);
+    if (token == null) {
+      return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    return sessionUseCase.revokeAllSessions(token)
+        .map(revoked -> {
+          RevokeSessionsResponse response = new RevokeSessionsResponse();
+          response.setRevoked(revoked);
+          response.setMessage("Sessions revoked");
+          return ResponseEntity.ok(response);
+        })
+        .doOnSuccess(res -> log.info("All sessions revoked"));
+  }
+
+  private SessionInfo toSessionInfo(Session session) {
+    SessionInfo info = new SessionInfo();
+    info.setSessionId(session.getSessionId());
+    if (session.getCreatedAt() != null) {
+      info.setCreatedAt(session.getCreatedAt().atOffset(ZoneOffset.UTC));
+    }
+    info.setExpiresAt(session.getExpiresAt().atOffset(ZoneOffset.UTC));
+    info.setCurrent(session.isCurrent());
+    return info;
+  }
+
+  /**
+   * Token from the Authorization header, or null if there is no bearer token.
+   */
+  private String bearerToken(ServerWebExchange exchange) {
+    String authHeader = exchange.getRequest().getHeaders().getFirst("Authorization");
+    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+      return null;
+    }
+    return authHeader.substring(7);
+  }
+
   @Override
   public Mono<ResponseEntity<ValidateTokenResponse>> validateToken(
       Mono<ValidateTokenRequest> validateTokenRequest,
@@ -112,6 +196,40 @@ public class AuthApiDelegateImpl implements ApiApiDelegate {
         .doOnSuccess(res -> log.info("Token validated successfully"));
   }
 
+  @Override
+  public Mono<ResponseEntity<ValidateTokenBatchResponse>> validateTokenBatch(
+      Mono<ValidateTokenBatchRequest> validateTokenBatchRequest,
+      ServerWebExchange exchange) {
+
+    return validateTokenBatchRequest
+        .flatMap(req -> validateTokenUseCase.validateBatch(req.getTokens()))
+        .map(validations -> {
+          ValidateTokenBatchResponse response = new ValidateTokenBatchResponse();
+          response.setResults(validations.stream()
+              .map(this::toTokenValidationResult)
+              .collect(Collectors.toList()));
+          return ResponseEntity.ok(response);
+        })
+        .doOnSuccess(res -> log.info("Token batch validated"));
+  }
+
+  private TokenValidationResult toTokenValidationResult(TokenValidation validation) {
+    TokenValidationResult result = new TokenValidationResult();
+    result.setValid(validation.isValid());
+    if (!validation.isValid()) {
+      result.setError(validation.getError());
+      result.setRoles(null);
+      return result;
+    }
+    JwtToken jwtToken = validation.getJwtToken();
+    result.setUserId(jwtToken.getUserId());
+    result.setUsername(jwtToken.getUsername());
+    result.setRoles(jwtToken.getRoles());
+    result.setUserType(jwtToken.getUserType());
+    result.setExpiresAt(jwtToken.getExpiresAt().atOffset(ZoneOffset.UTC));
+    return result;
+  }
+
   @Override
   public Mono<ResponseEntity<RefreshTokenResponse>> refreshToken(
       Mono<RefreshTokenRequest> refreshTokenRequest,
@@ -129,27 +247,87 @@ public class AuthApiDelegateImpl implements ApiApiDelegate {
         .doOnSuccess(res -> log.info("Token refreshed successfully"));
   }
 
+  /**
+   * Serves the JWKS document with a strong ETag and max-age. The document is
+   * serialized with the application's {@link ObjectMapper} once per key-ring
+   * change, and the ETag is the hash of exactly the bytes sent; matching
+   * conditional requests get a 304 without a body.
+   */
   @Override
-  public Mono<ResponseEntity<JwksResponse>> getJwks(ServerWebExchange exchange) {
+  public Mono<ResponseEntity<Resource>> getJwks(ServerWebExchange exchange) {
     return getJwksUseCase.getJwks()
-        .map(jwks -> {
-          JwksResponse response = new JwksResponse();
-          response.setKeys(
-              jwks.getKeys().stream()
-                  .map(key -> {
-                    JwkKey jwkKey = new JwkKey();
-                    jwkKey.setKty(key.getKty());
-                    jwkKey.setAlg(key.getAlg());
-                    jwkKey.setUse(key.getUse());
-                    jwkKey.setKid(key.getKid());
-                    jwkKey.setN(key.getN());
-                    jwkKey.setE(key.getE());
-                    return jwkKey;
-                  })
-                  .collect(Collectors.toList())
-          );
-          return ResponseEntity.ok(response);
+        .map(this::jwksDocument)
+        .map(document -> {
+          CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(jwksMaxAgeSeconds))
+              .cachePublic();
+          if (exchange.checkNotModified(document.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(document.etag())
+                .cacheControl(cacheControl)
+                .<Resource>build();
+          }
+          return ResponseEntity.ok()
+              .eTag(document.etag())
+              .cacheControl(cacheControl)
+              .contentType(MediaType.APPLICATION_JSON)
+              .<Resource>body(new ByteArrayResource(document.body()));
         })
-        .doOnSuccess(res -> log.debug("JWKS retrieved successfully"));
+        .doOnSuccess(res -> log.debug("JWKS served with status {}", res.getStatusCode()));
+  }
+
+  /**
+   * Returns the cached document for these JWKS, serializing it on first use.
+   */
+  private JwksDocument jwksDocument(Jwks jwks) {
+    JwksDocument current = jwksDocument.get();
+    if (current != null && current.source() == jwks) {
+      return current;
+    }
+
+    List<JwkKey> keys = jwks.getKeys().stream()
+        .map(key -> {
+          JwkKey jwkKey = new JwkKey();
+          jwkKey.setKty(key.getKty());
+          jwkKey.setAlg(key.getAlg());
+          jwkKey.setUse(key.getUse());
+          jwkKey.setKid(key.getKid());
+          jwkKey.setN(key.getN());
+          jwkKey.setE(key.getE());
+          jwkKey.setCrv(key.getCrv());
+          jwkKey.setX(key.getX());
+          jwkKey.setY(key.getY());
+          return jwkKey;
+        })
+        .collect(Collectors.toList());
+    byte[] body = serialize(Map.of("keys", keys));
+    JwksDocument document = new JwksDocument(jwks, body, etag(body));
+    jwksDocument.set(document);
+    return document;
+  }
+
+  private byte[] serialize(Object document) {
+    try {
+      return objectMapper.writeValueAsBytes(document);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize JWKS", e);
+    }
+  }
+
+  /**
+   * Strong ETag: SHA-256 of the serialized document.
+   */
+  private static String etag(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Cannot compute JWKS ETag", e);
+    }
+  }
+
+  /**
+   * Serialized JWKS document together with the domain JWKS it was built from.
+   */
+  private record JwksDocument(Jwks source, byte[] body, String etag) {
   }
 }
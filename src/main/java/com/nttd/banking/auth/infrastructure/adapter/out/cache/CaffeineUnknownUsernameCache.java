@@ -0,0 +1,137 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nttd.banking.auth.domain.port.out.UnknownUsernameCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caffeine implementation of UnknownUsernameCache.
+ *
+ * <p>Entries expire after {@code auth.unknown-usernames.ttl-ms}, and the cache
+ * is bounded by the approximate memory of its entries,
+ * {@code auth.unknown-usernames.max-bytes}. A forgotten username is published
+ * on {@link #REGISTRATION_CHANNEL} and dropped from every node's cache by
+ * {@link UnknownUsernameInvalidationListener}; if that message is lost, the
+ * TTL bounds how long the new user is refused on other nodes. Every forget,
+ * local or announced, advances a counter, and a miss is only recorded if the
+ * counter has not moved since its lookup started, so a lookup that raced a
+ * registration cannot record the new user as unknown.
+ * Metrics: {@code cache.*} with {@code cache=user.unknown-usernames}, plus
+ * {@code user.unknown-usernames.hit.ratio} and
+ * {@code user.unknown-usernames.memory}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class CaffeineUnknownUsernameCache implements UnknownUsernameCache {
+
+  static final String CACHE_NAME = "user.unknown-usernames";
+  static final String REGISTRATION_CHANNEL = "user:registrations";
+
+  /**
+   * Estimated bytes per entry besides the username's characters: the cache
+   * node, the String and its byte array headers.
+   */
+  static final int ENTRY_OVERHEAD_BYTES = 112;
+
+  private final ReactiveRedisTemplate<String, String> redisTemplate;
+  private final Cache<String, Boolean> cache;
+  private final AtomicLong forgets = new AtomicLong();
+
+  /**
+   * Creates the cache and binds its statistics to the meter registry.
+   */
+  public CaffeineUnknownUsernameCache(
+      ReactiveRedisTemplate<String, String> redisTemplate,
+      @Value("${auth.unknown-usernames.max-bytes:8388608}") long maxBytes,
+      @Value("${auth.unknown-usernames.ttl-ms:60000}") long ttlMs,
+      MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxBytes)
+        .weigher((String username, Boolean unknown) -> weigh(username))
+        .expireAfterWrite(Duration.ofMillis(ttlMs))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    Gauge.builder("user.unknown-usernames.hit.ratio", cache, c -> c.stats().hitRate())
+        .description("Share of login lookups rejected as unknown without a query")
+        .register(meterRegistry);
+    Gauge.builder("user.unknown-usernames.memory", this, CaffeineUnknownUsernameCache::memoryBytes)
+        .description("Estimated memory held by cached unknown usernames")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    log.info("Unknown username cache enabled: maxBytes={}, ttl={}",
+        maxBytes, Duration.ofMillis(ttlMs));
+  }
+
+  @Override
+  public boolean isUnknown(String username) {
+    return cache.getIfPresent(username) != null;
+  }
+
+  @Override
+  public long startLookup() {
+    return forgets.get();
+  }
+
+  /**
+   * Checks the counter again after the put, so a forget that ran between the
+   * check and the put still drops the entry.
+   */
+  @Override
+  public void recordUnknown(String username, long lookupStamp) {
+    if (forgets.get() != lookupStamp) {
+      return;
+    }
+    cache.put(username, Boolean.TRUE);
+    if (forgets.get() != lookupStamp) {
+      cache.invalidate(username);
+    }
+  }
+
+  /**
+   * Drops the username here and notifies every node. A failed publish is
+   * only logged: other nodes drop it when their entry expires.
+   */
+  @Override
+  public Mono<Void> forget(String username) {
+    invalidate(username);
+    return redisTemplate.convertAndSend(REGISTRATION_CHANNEL, username)
+        .doOnError(e -> log.warn("Failed to publish registration of {}: {}",
+            username, e.getMessage()))
+        .onErrorResume(e -> Mono.empty())
+        .then();
+  }
+
+  void invalidate(String username) {
+    forgets.incrementAndGet();
+    cache.invalidate(username);
+  }
+
+  void clear() {
+    forgets.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  long memoryBytes() {
+    return cache.policy().eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0L))
+        .orElse(0L);
+  }
+
+  private static int weigh(String username) {
+    return ENTRY_OVERHEAD_BYTES + username.length();
+  }
+}
@@ -0,0 +1,103 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.port.out.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caffeine implementation of VerifiedTokenCache.
+ * Keys are SHA-256 digests of the token string, so raw tokens are not retained.
+ * Each entry expires after the configured TTL or at the token's expiration,
+ * whichever comes first. Hit, miss and eviction counts are published as
+ * {@code cache.*} metrics with {@code cache=jwt.verified-tokens}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class CaffeineVerifiedTokenCache implements VerifiedTokenCache {
+
+  static final String CACHE_NAME = "jwt.verified-tokens";
+
+  private final Cache<ByteBuffer, JwtToken> cache;
+
+  /**
+   * Creates the cache and binds its statistics to the meter registry.
+   */
+  public CaffeineVerifiedTokenCache(
+      @Value("${jwt.verified-cache.max-size:10000}") long maxSize,
+      @Value("${jwt.verified-cache.ttl-seconds:300}") long ttlSeconds,
+      MeterRegistry meterRegistry) {
+    Duration maxTtl = Duration.ofSeconds(ttlSeconds);
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new TokenExpiry(maxTtl))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    log.info("Verified token cache enabled: maxSize={}, ttl={}", maxSize, maxTtl);
+  }
+
+  @Override
+  public Optional<JwtToken> get(String token) {
+    return Optional.ofNullable(cache.getIfPresent(digest(token)));
+  }
+
+  @Override
+  public void put(String token, JwtToken claims) {
+    if (claims.getExpiresAt() != null && claims.getExpiresAt().isAfter(LocalDateTime.now())) {
+      cache.put(digest(token), claims);
+    }
+  }
+
+  /**
+   * SHA-256 digest of the token string, used as cache key.
+   */
+  private ByteBuffer digest(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Expires an entry after the configured TTL, capped at the token expiration.
+   */
+  private record TokenExpiry(Duration maxTtl) implements Expiry<ByteBuffer, JwtToken> {
+
+    @Override
+    public long expireAfterCreate(ByteBuffer key, JwtToken value, long currentTime) {
+      Duration untilExpiry = Duration.between(LocalDateTime.now(), value.getExpiresAt());
+      Duration ttl = untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+      return Math.max(0L, ttl.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(ByteBuffer key, JwtToken value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(ByteBuffer key, JwtToken value, long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
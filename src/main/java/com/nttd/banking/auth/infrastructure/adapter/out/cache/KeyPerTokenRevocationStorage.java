@@ -0,0 +1,73 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores each revocation as its own {@code token:blacklist:{jti}} key with the
+ * token's remaining lifetime as TTL. Simple to inspect, but every entry pays
+ * Redis' per-key overhead; see {@link BucketedRevocationStorage}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@ConditionalOnProperty(name = "token.revocation.storage", havingValue = "keys",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+public class KeyPerTokenRevocationStorage implements RevocationStorage {
+
+  static final String BLACKLIST_PREFIX = "token:blacklist:";
+
+  private static final String SCRIPT_LIBRARY = LuaScripts.source("scripts/revocation/keys.lua");
+
+  private final ReactiveRedisTemplate<String, String> redisTemplate;
+
+  @Override
+  public String scriptLibrary() {
+    return SCRIPT_LIBRARY;
+  }
+
+  @Override
+  public Mono<Boolean> isRevoked(String jti, long expiresAtMillis) {
+    return redisTemplate.hasKey(BLACKLIST_PREFIX + jti);
+  }
+
+  @Override
+  public Mono<Set<String>> findRevoked(Map<String, Long> expiresAtByJti) {
+    List<String> jtis = List.copyOf(expiresAtByJti.keySet());
+    List<String> keys = jtis.stream()
+        .map(jti -> BLACKLIST_PREFIX + jti)
+        .toList();
+    // Absent keys come back as null
+    return redisTemplate.opsForValue()
+        .multiGet(keys)
+        .map(values -> {
+          Set<String> revoked = new HashSet<>();
+          for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) != null) {
+              revoked.add(jtis.get(i));
+            }
+          }
+          return revoked;
+        });
+  }
+
+  @Override
+  public Flux<String> revokedJtis() {
+    ScanOptions options = ScanOptions.scanOptions()
+        .match(BLACKLIST_PREFIX + "*")
+        .count(1000)
+        .build();
+    return redisTemplate.scan(options)
+        .map(key -> key.substring(BLACKLIST_PREFIX.length()));
+  }
+}
@@ -0,0 +1,31 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Loads Lua scripts from the classpath. Redis has no script includes, so
+ * helpers shared by several scripts are prepended as a library.
+ */
+final class LuaScripts {
+
+  private LuaScripts() {
+  }
+
+  static String source(String path) {
+    try (InputStream in = new ClassPathResource(path).getInputStream()) {
+      return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot load Redis script " + path, e);
+    }
+  }
+
+  static <T> RedisScript<T> withLibrary(String library, String path, Class<T> resultType) {
+    return RedisScript.of(library + source(path), resultType);
+  }
+}
@@ -0,0 +1,140 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Node-local Bloom filter of revoked JTIs, used to skip Redis for tokens that
+ * were certainly never revoked.
+ *
+ * <p>Entries live in a {@link TimeBucketedBloomFilter} whose window defaults
+ * to the refresh token lifetime, the longest any token stays valid, so
+ * revocations age out with the tokens they cover. The filter is only trusted
+ * once {@link RevocationInvalidationListener} has loaded the existing
+ * blacklist from Redis, and only while it has read the
+ * {@link RevocationStream} to its end within the last
+ * {@code token.revocation.bloom.max-staleness-ms} (by default the near-cache
+ * TTL); otherwise every JTI is reported as a possible hit. A disconnect
+ * therefore hands lookups back to Redis or the journal within that bound,
+ * even if no error is ever raised.
+ * Metrics: {@code token.revocation.bloom.memory},
+ * {@code token.revocation.bloom.expected.fpp}, {@code token.revocation.bloom.ready}
+ * and {@code token.revocation.bloom.false.positives}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class RevocationBloomFilter {
+
+  private final TimeBucketedBloomFilter filter;
+  private final Counter falsePositives;
+  private final Clock clock;
+  private final long maxStalenessMillis;
+  private volatile boolean ready;
+  private volatile long confirmedAtMillis;
+
+  /**
+   * Creates the filter and registers its metrics.
+   */
+  @Autowired
+  public RevocationBloomFilter(
+      @Value("${token.revocation.bloom.window-ms:${jwt.refresh-token-expiration:604800000}}")
+      long windowMs,
+      @Value("${token.revocation.bloom.bucket-count:7}") int bucketCount,
+      @Value("${token.revocation.bloom.expected-insertions-per-bucket:50000}")
+      int expectedInsertionsPerBucket,
+      @Value("${token.revocation.bloom.fpp:0.001}") double falsePositiveProbability,
+      @Value("${token.revocation.bloom.max-staleness-ms:"
+          + "${token.revocation.near-cache.ttl-ms:5000}}")
+      long maxStalenessMs,
+      MeterRegistry meterRegistry) {
+    this(new TimeBucketedBloomFilter(Duration.ofMillis(windowMs), bucketCount,
+        expectedInsertionsPerBucket, falsePositiveProbability, Clock.systemUTC()),
+        Duration.ofMillis(maxStalenessMs), Clock.systemUTC(), meterRegistry);
+    log.info("Revocation Bloom filter enabled: window={}, buckets={}, memory={} bytes, "
+            + "maxStaleness={}", Duration.ofMillis(windowMs), bucketCount, filter.memoryBytes(),
+        Duration.ofMillis(maxStalenessMs));
+  }
+
+  RevocationBloomFilter(TimeBucketedBloomFilter filter, Duration maxStaleness, Clock clock,
+      MeterRegistry meterRegistry) {
+    this.filter = filter;
+    this.clock = clock;
+    this.maxStalenessMillis = maxStaleness.toMillis();
+    Gauge.builder("token.revocation.bloom.memory", filter, TimeBucketedBloomFilter::memoryBytes)
+        .description("Memory held by the revocation Bloom filter")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("token.revocation.bloom.expected.fpp", filter,
+            TimeBucketedBloomFilter::expectedFalsePositiveProbability)
+        .description("Estimated false-positive probability at the current fill")
+        .register(meterRegistry);
+    Gauge.builder("token.revocation.bloom.ready", this, f -> f.isReady() ? 1 : 0)
+        .description("Whether the filter is bootstrapped and trusted")
+        .register(meterRegistry);
+    this.falsePositives = Counter.builder("token.revocation.bloom.false.positives")
+        .description("Possible hits that Redis reported as not revoked")
+        .register(meterRegistry);
+  }
+
+  public void add(String jti) {
+    filter.put(jti);
+  }
+
+  /**
+   * False only if the filter is trusted and the JTI was definitely not revoked.
+   */
+  public boolean mightBeRevoked(String jti) {
+    return !isReady() || filter.mightContain(jti);
+  }
+
+  /**
+   * Whether the filter is bootstrapped and was recently confirmed complete.
+   */
+  public boolean isReady() {
+    return ready && clock.millis() - confirmedAtMillis <= maxStalenessMillis;
+  }
+
+  /**
+   * Trusts the filter from now on; see {@link #markReady(long)}.
+   */
+  public void markReady() {
+    markReady(clock.millis());
+  }
+
+  /**
+   * Trusts the filter; call once the blacklist is loaded, with the time the
+   * load began.
+   */
+  public void markReady(long asOfMillis) {
+    confirmedAtMillis = asOfMillis;
+    ready = true;
+  }
+
+  /**
+   * Records that every revocation made up to {@code asOfMillis} has been
+   * added, which keeps the filter trusted for the staleness bound from then.
+   */
+  public void confirm(long asOfMillis) {
+    confirmedAtMillis = Math.max(confirmedAtMillis, asOfMillis);
+  }
+
+  /**
+   * Stops trusting the filter until the next bootstrap completes.
+   */
+  public void markStale() {
+    ready = false;
+  }
+
+  public void recordFalsePositive() {
+    falsePositives.increment();
+  }
+}
@@ -0,0 +1,160 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Reads the {@link RevocationStream} and applies every revocation to the
+ * local {@link RevocationNearCache} and {@link RevocationBloomFilter}, and
+ * journals it in the node's {@link RevocationJournal} for use while Redis is
+ * down. Entries this node published are not journaled again: it journaled
+ * them with the token's real expiry, which the replicated expiry would
+ * extend. Reads resume from the last entry applied, so a reconnect loses
+ * nothing. Every completed read confirms the Bloom filter; if reads fail or
+ * stall it goes stale on its own after its staleness bound. Whenever the
+ * reader (re)starts, the near-cache is cleared and the Bloom filter is topped
+ * up from the {@link RevocationStorage}, covering entries trimmed from the
+ * stream meanwhile, before it is trusted again.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class RevocationInvalidationListener {
+
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(10);
+
+  private final RevocationStream revocationStream;
+  private final RevocationNearCache nearCache;
+  private final RevocationBloomFilter bloomFilter;
+  private final RevocationStorage revocationStorage;
+  private final RevocationJournal journal;
+  private volatile String lastId;
+  private Disposable subscription;
+
+  /**
+   * Starts reading after bean initialization.
+   */
+  @PostConstruct
+  public void start() {
+    Duration pollInterval = revocationStream.getPollInterval();
+    subscription = resync()
+        .thenMany(Flux.interval(pollInterval, pollInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> poll()))
+        .doOnError(e -> {
+          log.warn("Revocation stream lost, clearing local state: {}", e.getMessage());
+          bloomFilter.markStale();
+          nearCache.clear();
+        })
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofSeconds(30)))
+        .subscribe();
+    log.info("Reading token revocations from {}", RevocationStream.KEY);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  /**
+   * Clears the near-cache, loads the blacklist into the Bloom filter and
+   * marks it ready as of when the load began; anything revoked since is
+   * read from the stream. The first time, reading starts at the entry that
+   * was newest before the load; later, it resumes where it stopped.
+   */
+  Mono<Void> resync() {
+    return Mono.defer(() -> {
+      long startedAt = System.currentTimeMillis();
+      nearCache.clear();
+      return revocationStream.lastId()
+          .flatMap(newest -> bootstrapBloomFilter()
+              .doOnSuccess(v -> {
+                if (lastId == null) {
+                  lastId = newest;
+                }
+                bloomFilter.markReady(startedAt);
+              }));
+    });
+  }
+
+  /**
+   * Adds every JTI currently blacklisted in Redis to the Bloom filter.
+   * Expired keys are gone from Redis and are not reloaded.
+   */
+  Mono<Void> bootstrapBloomFilter() {
+    return revocationStorage.revokedJtis()
+        .doOnNext(bloomFilter::add)
+        .count()
+        .doOnNext(count -> log.info("Revocation Bloom filter loaded with {} blacklisted JTIs",
+            count))
+        .then();
+  }
+
+  /**
+   * Applies every entry after the last one applied, then confirms the Bloom
+   * filter as of when the read started. A read that hangs fails after
+   * {@link #POLL_TIMEOUT} and restarts the reader; the filter has gone stale
+   * long before.
+   */
+  Mono<Void> poll() {
+    return Mono.defer(() -> {
+      long startedAt = System.currentTimeMillis();
+      return readBatch()
+          .expand(count -> count == revocationStream.getBatchSize() ? readBatch() : Mono.empty())
+          .then(Mono.fromRunnable(() -> bloomFilter.confirm(startedAt)));
+    }).timeout(POLL_TIMEOUT).then();
+  }
+
+  private Mono<Integer> readBatch() {
+    return revocationStream.read(lastId)
+        .map(records -> {
+          for (MapRecord<String, String, String> record : records) {
+            apply(record);
+            lastId = record.getId().getValue();
+          }
+          return records.size();
+        });
+  }
+
+  /**
+   * Applies an entry holding {@code jti} and {@code at}. An entry of this
+   * node's own still reaches the Bloom filter and near-cache, in case the
+   * revoking call was cancelled before it marked them.
+   */
+  void apply(MapRecord<String, String, String> record) {
+    String jti = record.getValue().get("jti");
+    String at = record.getValue().get("at");
+    if (jti == null || at == null) {
+      log.warn("Ignoring malformed revocation entry {}", record.getId());
+      return;
+    }
+    try {
+      long publishedAtMillis = Long.parseLong(at);
+      bloomFilter.add(jti);
+      nearCache.markRevoked(jti, publishedAtMillis);
+      if (!revocationStream.isOwn(record)) {
+        journal.appendReplicated(jti, publishedAtMillis);
+      }
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed revocation entry {}", record.getId());
+    }
+  }
+
+  String getLastId() {
+    return lastId;
+  }
+}
@@ -0,0 +1,369 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Node-local, append-only journal of revocations in a memory-mapped file,
+ * consulted read-only by {@link TokenRedisAdapter} while Redis is unavailable.
+ *
+ * <p>Each revocation is a fixed 24-byte record: the JTI as a 128-bit UUID
+ * (JTIs that are not UUIDs are stored as their name-based UUID) followed by
+ * the epoch millisecond after which the revocation no longer matters. A
+ * record whose expiry is zero marks the end of the journal, so the file needs
+ * no header and a restart simply rescans it. Records are idempotent, so a
+ * crash mid-write or mid-compaction at worst leaves duplicates behind.
+ * Revocations replicated from other nodes carry no expiry and are kept for
+ * the longest token lifetime.
+ *
+ * <p>Appends are called on event-loop threads and never touch the file or
+ * take a lock: they update the in-memory index, which lookups read, and
+ * queue the record for a single writer on {@link Schedulers#boundedElastic()}.
+ * The writer owns the file: it writes queued records, compacts expired ones
+ * away and doubles the file when it fills up, and every
+ * {@code token.revocation.journal.compact-interval-ms} compacts and flushes
+ * it to disk. The file is allocated up front. At most
+ * {@code token.revocation.journal.initial-capacity} records wait for the
+ * writer; beyond that records are dropped from the file, though not from the
+ * index, and counted.
+ * Metrics: {@code token.revocation.journal.entries} and
+ * {@code token.revocation.journal.dropped}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class RevocationJournal {
+
+  static final int RECORD_BYTES = 24;
+
+  private final Path path;
+  private final Duration maxTokenTtl;
+  private final Duration compactInterval;
+  private final Clock clock;
+  private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+  private final Queue<QueuedRecord> queued = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queuedCount = new AtomicInteger();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final AtomicLong dropped = new AtomicLong();
+  private final int maxQueued;
+  private final Scheduler.Worker writer;
+
+  private FileChannel channel;
+  private MappedByteBuffer buffer;
+  private volatile int capacity;
+  private volatile int size;
+  private Disposable compaction;
+
+  /**
+   * Opens (or creates) the journal file and loads its live records.
+   */
+  @Autowired
+  public RevocationJournal(
+      @Value("${token.revocation.journal.path:data/revocations.journal}") String path,
+      @Value("${token.revocation.journal.initial-capacity:100000}") int initialCapacity,
+      @Value("${token.revocation.journal.max-token-ttl-ms:"
+          + "${jwt.refresh-token-expiration:604800000}}") long maxTokenTtlMs,
+      @Value("${token.revocation.journal.compact-interval-ms:3600000}") long compactIntervalMs,
+      MeterRegistry meterRegistry) {
+    this(Path.of(path), initialCapacity, Duration.ofMillis(maxTokenTtlMs),
+        Duration.ofMillis(compactIntervalMs), Clock.systemUTC(), Schedulers.boundedElastic());
+    Gauge.builder("token.revocation.journal.entries", revoked, Map::size)
+        .description("Live revocations held by the local journal")
+        .register(meterRegistry);
+    FunctionCounter.builder("token.revocation.journal.dropped", dropped, AtomicLong::get)
+        .description("Revocations not written to the journal file because the writer was behind")
+        .register(meterRegistry);
+  }
+
+  RevocationJournal(Path path, int initialCapacity, Duration maxTokenTtl,
+      Duration compactInterval, Clock clock, Scheduler writerScheduler) {
+    this.path = path;
+    this.maxTokenTtl = maxTokenTtl;
+    this.compactInterval = compactInterval;
+    this.clock = clock;
+    this.maxQueued = initialCapacity;
+    this.writer = writerScheduler.createWorker();
+    try {
+      Path parent = path.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      long records = channel.size() / RECORD_BYTES;
+      map((int) Math.max(initialCapacity, records));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open revocation journal " + path, e);
+    }
+    load();
+    compact();
+    buffer.force();
+    log.info("Revocation journal {} opened with {} live entries", path, revoked.size());
+  }
+
+  /**
+   * Schedules periodic compaction and flushing on the writer.
+   */
+  @PostConstruct
+  public void start() {
+    compaction = writer.schedulePeriodically(this::compactAndFlush,
+        compactInterval.toMillis(), compactInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the writer, writes what is still queued, flushes every record to
+   * disk and closes the file.
+   */
+  @PreDestroy
+  public void close() {
+    if (compaction != null) {
+      compaction.dispose();
+    }
+    writer.dispose();
+    synchronized (this) {
+      drain();
+      try {
+        buffer.force();
+        channel.close();
+      } catch (IOException e) {
+        log.warn("Failed to close revocation journal {}: {}", path, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Records a revocation that stops mattering at {@code expiresAtMillis}.
+   * Never blocks: the record is written by the writer.
+   */
+  public void append(String jti, long expiresAtMillis) {
+    if (expiresAtMillis <= clock.millis()) {
+      return;
+    }
+    UUID key = key(jti);
+    if (!raise(key, expiresAtMillis)) {
+      return;
+    }
+    if (queuedCount.incrementAndGet() > maxQueued) {
+      queuedCount.decrementAndGet();
+      dropped.incrementAndGet();
+      return;
+    }
+    queued.offer(new QueuedRecord(key, expiresAtMillis));
+    if (drainScheduled.compareAndSet(false, true)) {
+      writer.schedule(this::drainScheduled);
+    }
+  }
+
+  /**
+   * Records a revocation replicated from another node, whose token expiry is
+   * unknown, for the longest token lifetime after it was published.
+   */
+  public void appendReplicated(String jti, long publishedAtMillis) {
+    append(jti, publishedAtMillis + maxTokenTtl.toMillis());
+  }
+
+  /**
+   * Whether the journal holds an unexpired revocation of the JTI.
+   */
+  public boolean isRevoked(String jti) {
+    Long expiresAt = revoked.get(key(jti));
+    return expiresAt != null && expiresAt > clock.millis();
+  }
+
+  /**
+   * Rewrites the live records to the front of the file, in place, and clears
+   * the tail. Runs on the writer; appends do not wait for it.
+   */
+  synchronized void compact() {
+    long now = clock.millis();
+    for (Map.Entry<UUID, Long> entry : revoked.entrySet()) {
+      if (entry.getValue() <= now) {
+        revoked.remove(entry.getKey(), entry.getValue());
+      }
+    }
+    Set<UUID> kept = new HashSet<>();
+    int live = 0;
+    for (int i = 0; i < size; i++) {
+      int offset = i * RECORD_BYTES;
+      long msb = buffer.getLong(offset);
+      long lsb = buffer.getLong(offset + 8);
+      long expiresAt = buffer.getLong(offset + 16);
+      UUID key = new UUID(msb, lsb);
+      // Keeps one record per JTI: the one carrying its latest expiry
+      if (expiresAt > now && revoked.getOrDefault(key, 0L) == expiresAt && kept.add(key)) {
+        if (live != i) {
+          write(live, key, expiresAt);
+        }
+        live++;
+      }
+    }
+    for (int i = live; i < size; i++) {
+      buffer.putLong(i * RECORD_BYTES + 16, 0L);
+    }
+    int removed = size - live;
+    size = live;
+    if (removed > 0) {
+      log.debug("Revocation journal compacted: {} records removed, {} kept", removed, live);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+  long dropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Raises the JTI's expiry in the index, or returns false if it is already
+   * revoked at least that long.
+   */
+  private boolean raise(UUID key, long expiresAtMillis) {
+    boolean[] raised = new boolean[1];
+    revoked.compute(key, (k, known) -> {
+      if (known != null && known >= expiresAtMillis) {
+        return known;
+      }
+      raised[0] = true;
+      return expiresAtMillis;
+    });
+    return raised[0];
+  }
+
+  private void drainScheduled() {
+    drainScheduled.set(false);
+    drain();
+  }
+
+  /**
+   * Writes the queued records, making room first whenever the file is full.
+   */
+  private synchronized void drain() {
+    if (!channel.isOpen()) {
+      return;
+    }
+    QueuedRecord record;
+    while ((record = queued.poll()) != null) {
+      queuedCount.decrementAndGet();
+      if (size == capacity) {
+        compact();
+        if (size > capacity / 2) {
+          grow();
+        }
+      }
+      write(size++, record.key(), record.expiresAt());
+    }
+  }
+
+  private synchronized void compactAndFlush() {
+    if (!channel.isOpen()) {
+      return;
+    }
+    drain();
+    compact();
+    buffer.force();
+  }
+
+  private void load() {
+    long now = clock.millis();
+    size = 0;
+    while (size < capacity) {
+      int offset = size * RECORD_BYTES;
+      long expiresAt = buffer.getLong(offset + 16);
+      if (expiresAt == 0L) {
+        break;
+      }
+      if (expiresAt > now) {
+        revoked.merge(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)),
+            expiresAt, Math::max);
+      }
+      size++;
+    }
+  }
+
+  private void grow() {
+    try {
+      map(capacity * 2);
+      log.info("Revocation journal {} grown to {} records", path, capacity);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot grow revocation journal " + path, e);
+    }
+  }
+
+  /**
+   * Maps the first {@code records} records, first allocating whatever part
+   * of them the file does not hold yet, so writes never extend it.
+   */
+  private void map(int records) throws IOException {
+    long bytes = (long) records * RECORD_BYTES;
+    ByteBuffer zeros = ByteBuffer.allocate(64 * 1024);
+    for (long position = channel.size(); position < bytes; position += zeros.limit()) {
+      zeros.clear().limit((int) Math.min(zeros.capacity(), bytes - position));
+      while (zeros.hasRemaining()) {
+        channel.write(zeros, position + zeros.position());
+      }
+    }
+    capacity = records;
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+  }
+
+  /**
+   * Writes the expiry last, so a torn record is never mistaken for a live one
+   * by a later scan of this process.
+   */
+  private void write(int index, UUID key, long expiresAt) {
+    int offset = index * RECORD_BYTES;
+    buffer.putLong(offset, key.getMostSignificantBits());
+    buffer.putLong(offset + 8, key.getLeastSignificantBits());
+    buffer.putLong(offset + 16, expiresAt);
+  }
+
+  private static UUID key(String jti) {
+    try {
+      return UUID.fromString(jti);
+    } catch (IllegalArgumentException e) {
+      return UUID.nameUUIDFromBytes(jti.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private record QueuedRecord(UUID key, long expiresAt) {
+  }
+}
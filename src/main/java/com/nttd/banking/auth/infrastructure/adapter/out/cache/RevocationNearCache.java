@@ -0,0 +1,94 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process near-cache of blacklist lookups, keyed by JTI.
+ *
+ * <p>Both answers are cached for at most {@code token.revocation.near-cache.ttl-ms},
+ * which bounds how long another node's revocation can go unseen if it is
+ * not read in time. Revocations read from the {@link RevocationStream}
+ * (see {@link RevocationInvalidationListener}) overwrite entries as they arrive.
+ * Metrics: {@code cache.*} with {@code cache=token.revocation}, plus
+ * {@code token.revocation.near-cache.hit.ratio},
+ * {@code token.revocation.near-cache.staleness.window} and the stream
+ * propagation delay {@code token.revocation.invalidation.lag}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class RevocationNearCache {
+
+  static final String CACHE_NAME = "token.revocation";
+
+  private final Cache<String, Boolean> cache;
+  private final Timer invalidationLag;
+
+  /**
+   * Creates the cache and binds its statistics to the meter registry.
+   */
+  public RevocationNearCache(
+      @Value("${token.revocation.near-cache.max-size:100000}") long maxSize,
+      @Value("${token.revocation.near-cache.ttl-ms:5000}") long ttlMs,
+      MeterRegistry meterRegistry) {
+    Duration ttl = Duration.ofMillis(ttlMs);
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    Gauge.builder("token.revocation.near-cache.hit.ratio", cache, c -> c.stats().hitRate())
+        .description("Share of blacklist lookups answered locally")
+        .register(meterRegistry);
+    Gauge.builder("token.revocation.near-cache.staleness.window", ttl::toMillis)
+        .description("Longest time a cached answer is trusted without invalidation")
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    this.invalidationLag = Timer.builder("token.revocation.invalidation.lag")
+        .description("Delay between publishing a revocation and applying it")
+        .register(meterRegistry);
+    log.info("Revocation near-cache enabled: maxSize={}, ttl={}", maxSize, ttl);
+  }
+
+  /**
+   * Cached blacklist answer for a JTI, if still fresh.
+   */
+  public Optional<Boolean> get(String jti) {
+    return Optional.ofNullable(cache.getIfPresent(jti));
+  }
+
+  public void put(String jti, boolean blacklisted) {
+    cache.put(jti, blacklisted);
+  }
+
+  /**
+   * Applies a revocation received from another node (or this one).
+   *
+   * @param jti the revoked JTI
+   * @param publishedAtMillis when the revocation was published
+   */
+  public void markRevoked(String jti, long publishedAtMillis) {
+    cache.put(jti, Boolean.TRUE);
+    invalidationLag.record(
+        Duration.ofMillis(Math.max(0L, System.currentTimeMillis() - publishedAtMillis)));
+  }
+
+  /**
+   * Drops every entry; used when invalidation messages may have been missed.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+}
@@ -0,0 +1,43 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import java.util.Map;
+import java.util.Set;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Layout of revoked JTIs in Redis, selected with
+ * {@code token.revocation.storage}: {@code keys} (default) or {@code buckets}.
+ * Switching layouts does not migrate existing entries.
+ */
+public interface RevocationStorage {
+
+  /**
+   * Lua source defining {@code revoke(jti, expiresAtMillis, nowMillis)}, which
+   * stores a revocation until the token expires. It is prepended to every
+   * script that revokes tokens.
+   */
+  String scriptLibrary();
+
+  /**
+   * Looks up a single JTI.
+   *
+   * @param jti the token JTI
+   * @param expiresAtMillis the token expiry in epoch milliseconds
+   * @return Mono with whether the token is revoked
+   */
+  Mono<Boolean> isRevoked(String jti, long expiresAtMillis);
+
+  /**
+   * Looks up several JTIs in a single round trip.
+   *
+   * @param expiresAtByJti token expiry in epoch milliseconds, by JTI
+   * @return Mono with the subset of JTIs that are revoked
+   */
+  Mono<Set<String>> findRevoked(Map<String, Long> expiresAtByJti);
+
+  /**
+   * Every JTI currently stored as revoked.
+   */
+  Flux<String> revokedJtis();
+}
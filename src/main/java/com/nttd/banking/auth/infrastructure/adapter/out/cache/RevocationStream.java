@@ -0,0 +1,115 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Capped Redis stream of revocations under {@link #KEY}, appended to by the
+ * revoking scripts in the same call that stores the revocation (see
+ * {@link #scriptLibrary}). Unlike pub/sub, a reader resumes from the last
+ * entry ID it applied, so revocations made while it was disconnected are
+ * still delivered as long as the stream has not been trimmed past them.
+ * Entries hold {@code jti}, the publish time {@code at} in epoch
+ * milliseconds and the {@code origin} node that published them. The stream
+ * keeps about {@code token.revocation.stream.max-length} entries and is read
+ * in batches of {@code token.revocation.stream.batch-size} every
+ * {@code token.revocation.stream.poll-interval-ms}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class RevocationStream {
+
+  static final String KEY = "token:revocations";
+
+  /**
+   * Position before the first entry of any stream.
+   */
+  static final String START = "0-0";
+
+  private final ReactiveRedisTemplate<String, String> redisTemplate;
+  private final long maxLength;
+  private final int batchSize;
+  private final Duration pollInterval;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  /**
+   * Creates the stream accessor.
+   */
+  @Autowired
+  public RevocationStream(ReactiveRedisTemplate<String, String> redisTemplate,
+      @Value("${token.revocation.stream.max-length:100000}") long maxLength,
+      @Value("${token.revocation.stream.batch-size:500}") int batchSize,
+      @Value("${token.revocation.stream.poll-interval-ms:250}") long pollIntervalMs) {
+    this.redisTemplate = redisTemplate;
+    this.maxLength = maxLength;
+    this.batchSize = batchSize;
+    this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    log.info("Revocation stream {}: maxLength={}, batchSize={}, pollInterval={}",
+        KEY, maxLength, batchSize, pollInterval);
+  }
+
+  /**
+   * Lua source defining {@code announce(jti, nowMillis)}, which appends a
+   * revocation to the stream as published by this node. It is prepended to
+   * every script that revokes tokens, so a revocation is never stored without
+   * being announced.
+   */
+  String scriptLibrary() {
+    return "local REVOCATION_STREAM = '" + KEY + "'\n"
+        + "local REVOCATION_STREAM_MAX_LENGTH = " + maxLength + "\n"
+        + "local REVOCATION_ORIGIN = '" + nodeId + "'\n"
+        + LuaScripts.source("scripts/revocation/stream.lua");
+  }
+
+  /**
+   * ID of the newest entry, or {@link #START} if the stream is empty.
+   */
+  Mono<String> lastId() {
+    return redisTemplate.<String, String>opsForStream()
+        .reverseRange(KEY, Range.unbounded(), Limit.limit().count(1))
+        .next()
+        .map(record -> record.getId().getValue())
+        .defaultIfEmpty(START);
+  }
+
+  /**
+   * Up to one batch of the entries after {@code afterId}, oldest first.
+   * Does not block when there are none.
+   */
+  Mono<List<MapRecord<String, String, String>>> read(String afterId) {
+    return redisTemplate.<String, String>opsForStream()
+        .read(StreamReadOptions.empty().count(batchSize),
+            StreamOffset.create(KEY, ReadOffset.from(afterId)))
+        .collectList();
+  }
+
+  /**
+   * Whether this node published the entry, and so already applied it.
+   */
+  boolean isOwn(MapRecord<String, String, String> record) {
+    return nodeId.equals(record.getValue().get("origin"));
+  }
+
+  int getBatchSize() {
+    return batchSize;
+  }
+
+  Duration getPollInterval() {
+    return pollInterval;
+  }
+}
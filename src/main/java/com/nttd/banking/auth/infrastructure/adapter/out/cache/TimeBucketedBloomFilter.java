@@ -0,0 +1,187 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter split into time buckets so old entries age out.
+ *
+ * <p>Entries go into the bucket of the current time slice. A lookup checks
+ * every bucket of the last {@code bucketCount + 1} slices, so an entry stays
+ * visible for at least {@code window} after it was added. Expired buckets are
+ * cleared and reused, which keeps memory flat: {@code bucketCount + 1}
+ * bit arrays sized for {@code expectedInsertionsPerBucket} at the target
+ * false-positive probability.
+ */
+final class TimeBucketedBloomFilter {
+
+  private final int numBits;
+  private final int numHashes;
+  private final long bucketMillis;
+  private final Bucket[] slots;
+  private final Clock clock;
+
+  TimeBucketedBloomFilter(Duration window, int bucketCount, int expectedInsertionsPerBucket,
+      double falsePositiveProbability, Clock clock) {
+    if (bucketCount < 1 || expectedInsertionsPerBucket < 1
+        || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("Invalid Bloom filter parameters");
+    }
+    double ln2 = Math.log(2);
+    long bits = (long) Math.ceil(
+        -expectedInsertionsPerBucket * Math.log(falsePositiveProbability) / (ln2 * ln2));
+    this.numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+    this.numHashes = Math.max(1,
+        (int) Math.round((double) numBits / expectedInsertionsPerBucket * ln2));
+    this.bucketMillis = Math.max(1L, window.toMillis() / bucketCount);
+    this.clock = clock;
+    this.slots = new Bucket[bucketCount + 1];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = new Bucket((numBits + 63) / 64);
+    }
+  }
+
+  /**
+   * Adds an entry to the current time bucket.
+   */
+  void put(String value) {
+    long h1 = hash(value);
+    long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+    Bucket bucket = bucket(currentEpoch());
+    for (int i = 0; i < numHashes; i++) {
+      int bit = (int) Long.remainderUnsigned(h1 + i * h2, numBits);
+      bucket.set(bit);
+    }
+  }
+
+  /**
+   * False means the entry was definitely not added within the window.
+   */
+  boolean mightContain(String value) {
+    long h1 = hash(value);
+    long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+    long current = currentEpoch();
+    for (Bucket bucket : slots) {
+      if (isLive(bucket, current) && bucket.containsAll(h1, h2, numHashes, numBits)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Estimated false-positive probability from the live buckets' fill ratio.
+   */
+  double expectedFalsePositiveProbability() {
+    long current = currentEpoch();
+    double missAll = 1.0;
+    for (Bucket bucket : slots) {
+      if (isLive(bucket, current)) {
+        double fill = (double) bucket.bitCount() / numBits;
+        missAll *= 1.0 - Math.pow(fill, numHashes);
+      }
+    }
+    return 1.0 - missAll;
+  }
+
+  long memoryBytes() {
+    return (long) slots.length * slots[0].bits.length() * Long.BYTES;
+  }
+
+  int numHashes() {
+    return numHashes;
+  }
+
+  private boolean isLive(Bucket bucket, long current) {
+    long epoch = bucket.epoch;
+    return epoch >= 0 && epoch > current - slots.length && epoch <= current;
+  }
+
+  /**
+   * Slot for an epoch, cleared first if it still holds an expired epoch.
+   */
+  private Bucket bucket(long epoch) {
+    Bucket bucket = slots[(int) (epoch % slots.length)];
+    if (bucket.epoch != epoch) {
+      synchronized (bucket) {
+        if (bucket.epoch != epoch) {
+          bucket.clear();
+          bucket.epoch = epoch;
+        }
+      }
+    }
+    return bucket;
+  }
+
+  private long currentEpoch() {
+    return clock.millis() / bucketMillis;
+  }
+
+  /**
+   * 64-bit FNV-1a over the UTF-8 bytes, finished with a MurmurHash3 mix.
+   */
+  private static long hash(String value) {
+    long hash = 0xCBF29CE484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001B3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xFF51AFD7ED558CCDL;
+    value ^= value >>> 33;
+    value *= 0xC4CEB9FE1A85EC53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  /**
+   * Bit array of one time slice.
+   */
+  private static final class Bucket {
+    private final AtomicLongArray bits;
+    private volatile long epoch = -1;
+
+    Bucket(int words) {
+      this.bits = new AtomicLongArray(words);
+    }
+
+    void set(int bit) {
+      int word = bit >>> 6;
+      long mask = 1L << bit;
+      long current = bits.get(word);
+      while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+        current = bits.get(word);
+      }
+    }
+
+    boolean containsAll(long h1, long h2, int numHashes, int numBits) {
+      for (int i = 0; i < numHashes; i++) {
+        int bit = (int) Long.remainderUnsigned(h1 + i * h2, numBits);
+        if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    long bitCount() {
+      long count = 0;
+      for (int i = 0; i < bits.length(); i++) {
+        count += Long.bitCount(bits.get(i));
+      }
+      return count;
+    }
+
+    void clear() {
+      for (int i = 0; i < bits.length(); i++) {
+        bits.set(i, 0L);
+      }
+    }
+  }
+}
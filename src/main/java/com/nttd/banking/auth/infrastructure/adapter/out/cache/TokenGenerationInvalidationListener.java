@@ -0,0 +1,71 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+/**
+ * Subscribes to the token generation channel and applies every published
+ * bump to the local generation cache. Bumps may be missed while the
+ * subscription is down, so the cache is cleared on every (re)subscribe.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenGenerationInvalidationListener {
+
+  private final ReactiveRedisTemplate<String, String> redisTemplate;
+  private final TokenGenerationRedisAdapter generations;
+  private Disposable subscription;
+
+  /**
+   * Starts listening after bean initialization.
+   */
+  @PostConstruct
+  public void start() {
+    subscription = redisTemplate.listenToChannel(TokenGenerationRedisAdapter.GENERATION_CHANNEL)
+        .doOnSubscribe(s -> generations.clear())
+        .doOnNext(message -> apply(message.getMessage()))
+        .doOnError(e -> {
+          log.warn("Generation channel lost, clearing cache: {}", e.getMessage());
+          generations.clear();
+        })
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofSeconds(30)))
+        .subscribe();
+    log.info("Listening for token generation bumps on {}",
+        TokenGenerationRedisAdapter.GENERATION_CHANNEL);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  /**
+   * Parses a {@code <userId>:<generation>} message.
+   */
+  void apply(String message) {
+    int separator = message.lastIndexOf(':');
+    if (separator <= 0) {
+      log.warn("Ignoring malformed generation message: {}", message);
+      return;
+    }
+    try {
+      generations.apply(message.substring(0, separator),
+          Long.parseLong(message.substring(separator + 1)));
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed generation message: {}", message);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Redis adapter for per-user token generations, with an in-process cache so
+ * token validation normally needs no Redis round trip.
+ *
+ * <p>Generations are counters under {@code user:token-generation:{userId}}.
+ * A bump is published on {@link #GENERATION_CHANNEL} and applied to every
+ * node's cache by {@link TokenGenerationInvalidationListener}; as a backstop,
+ * cached values expire after {@code token.generation.cache.ttl-ms}. Cache
+ * metrics are published as {@code cache.*} with {@code cache=token.generation}.
+ *
+ * <p>Redis calls go through the {@code tokenCache} guard. While Redis is
+ * unavailable, lookups fall back to the last generation this node saw for the
+ * user, even if its cache entry has expired; a bump made on another node
+ * during the outage cannot be seen until Redis is back. Users this node never
+ * saw, and bumps, fail with {@link DependencyUnavailableException} rather
+ * than guess a generation.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class TokenGenerationRedisAdapter implements TokenGenerationRepository {
+
+  static final String GENERATION_CHANNEL = "token:generations";
+
+  private static final String GENERATION_PREFIX = "user:token-generation:";
+
+  private final ReactiveRedisTemplate<String, String> redisTemplate;
+  private final Cache<String, Long> cache;
+  private final Cache<String, Long> lastKnown;
+  private final PortResilience resilience;
+
+  /**
+   * Creates the adapter and binds its cache statistics to the meter registry.
+   */
+  public TokenGenerationRedisAdapter(
+      ReactiveRedisTemplate<String, String> redisTemplate,
+      @Value("${token.generation.cache.max-size:100000}") long maxSize,
+      @Value("${token.generation.cache.ttl-ms:60000}") long ttlMs,
+      MeterRegistry meterRegistry, PortResilience tokenCacheResilience) {
+    this.redisTemplate = redisTemplate;
+    this.resilience = tokenCacheResilience;
+    this.lastKnown = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .build();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofMillis(ttlMs))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "token.generation");
+  }
+
+  @Override
+  public Mono<Long> currentGeneration(String userId) {
+    Long cached = cache.getIfPresent(userId);
+    if (cached != null) {
+      return Mono.just(cached);
+    }
+    return redisTemplate.opsForValue()
+        .get(GENERATION_PREFIX + userId)
+        .map(Long::parseLong)
+        .defaultIfEmpty(0L)
+        .transform(resilience::guard)
+        .doOnNext(generation -> apply(userId, generation))
+        .onErrorResume(DependencyUnavailableException.class, e -> {
+          Long known = lastKnown.getIfPresent(userId);
+          if (known == null) {
+            return Mono.error(e);
+          }
+          log.warn("Redis unavailable, using last known token generation of {}", userId);
+          return Mono.just(known);
+        });
+  }
+
+  @Override
+  public Mono<Map<String, Long>> currentGenerations(Collection<String> userIds) {
+    Map<String, Long> generations = new HashMap<>();
+    Set<String> misses = new LinkedHashSet<>();
+    for (String userId : userIds) {
+      Long cached = cache.getIfPresent(userId);
+      if (cached != null) {
+        generations.put(userId, cached);
+      } else {
+        misses.add(userId);
+      }
+    }
+    List<String> unknown = List.copyOf(misses);
+    if (unknown.isEmpty()) {
+      return Mono.just(generations);
+    }
+
+    List<String> keys = unknown.stream()
+        .map(userId -> GENERATION_PREFIX + userId)
+        .toList();
+    return redisTemplate.opsForValue()
+        .multiGet(keys)
+        .transform(resilience::guard)
+        .map(values -> {
+          for (int i = 0; i < values.size(); i++) {
+            long generation = values.get(i) == null ? 0L : Long.parseLong(values.get(i));
+            apply(unknown.get(i), generation);
+            generations.put(unknown.get(i), generation);
+          }
+          return generations;
+        })
+        .onErrorResume(DependencyUnavailableException.class, e -> {
+          for (String userId : unknown) {
+            Long known = lastKnown.getIfPresent(userId);
+            if (known == null) {
+              return Mono.error(e);
+            }
+            generations.put(userId, known);
+          }
+          log.warn("Redis unavailable, using last known token generations of {} users",
+              unknown.size());
+          return Mono.just(generations);
+        });
+  }
+
+  /**
+   * Increments the counter and notifies every node. A failed publish is only
+   * logged: other nodes pick up the new generation when their entry expires.
+   * Fails while Redis is unavailable, since the bump could not be shared.
+   */
+  @Override
+  public Mono<Long> bumpGeneration(String userId) {
+    return redisTemplate.opsForValue()
+        .increment(GENERATION_PREFIX + userId)
+        .transform(resilience::guard)
+        .flatMap(generation -> {
+          apply(userId, generation);
+          log.info("Token generation of user {} bumped to {}", userId, generation);
+          return redisTemplate.convertAndSend(GENERATION_CHANNEL, userId + ":" + generation)
+              .doOnError(e -> log.warn("Failed to publish generation of {}: {}",
+                  userId, e.getMessage()))
+              .onErrorResume(e -> Mono.empty())
+              .thenReturn(generation);
+        });
+  }
+
+  /**
+   * Records a generation; generations only grow, so an older value never
+   * replaces a newer one.
+   */
+  void apply(String userId, long generation) {
+    cache.asMap().merge(userId, generation, Math::max);
+    lastKnown.asMap().merge(userId, generation, Math::max);
+  }
+
+  /**
+   * Drops the cached generations. The last known ones are kept for use while
+   * Redis is unavailable.
+   */
+  void clear() {
+    cache.invalidateAll();
+  }
+}
@@ -1,87 +1,412 @@
 package com.nttd.banking.auth.infrastructure.adapter.out.cache;
 
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.Session;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
 import java.time.Duration;
-import lombok.RequiredArgsConstructor;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 /**
  * Redis adapter for token caching operations.
+ * Blacklist lookups first ask the {@link RevocationBloomFilter} and only reach
+ * the {@link RevocationNearCache} and Redis on a possible hit. Every script
+ * that revokes tokens also appends them to the {@link RevocationStream}, in
+ * the same call, so every node updates its copy.
+ * How revocations are laid out in Redis is up to the {@link RevocationStorage}.
+ * Every Redis call runs behind the {@code tokenCache} {@link PortResilience}.
+ * When Redis is unavailable, blacklist lookups are answered read-only from
+ * the node's {@link RevocationJournal}, which every revocation seen here is
+ * appended to; writes fail rather than be silently dropped.
  * Only loads when not in test profile.
  */
 @Component
 @org.springframework.context.annotation.Profile("!test")
-@RequiredArgsConstructor
 @Slf4j
 public class TokenRedisAdapter implements TokenCacheRepository {
 
   private final ReactiveRedisTemplate<String, String> redisTemplate;
+  private final RevocationNearCache nearCache;
+  private final RevocationBloomFilter bloomFilter;
+  private final RevocationStorage revocationStorage;
+  private final RevocationJournal journal;
+  private final PortResilience resilience;
 
-  private static final String BLACKLIST_PREFIX = "token:blacklist:";
-  private static final String ACTIVE_PREFIX = "token:active:";
-  private static final String LOGIN_ATTEMPTS_PREFIX = "user:login-attempts:";
+  private static final String SESSIONS_PREFIX = "user:sessions:";
+  private static final String SESSION_DETAILS_PREFIX = "user:session-details:";
+  private static final String LOGIN_FAILURES_PREFIX = "user:login-failures:";
+  private static final String LOCKOUT_PREFIX = "user:lockout:";
+  private static final String LOCKOUT_STRIKES_PREFIX = "user:lockout-strikes:";
   private static final String TOKEN_PAIR_PREFIX = "token:pair:";
 
+  private final RedisScript<Long> revokeScript;
+
+  /**
+   * Blacklists both tokens of a pair, deletes the pair and publishes both
+   * revocations in one round trip. Revocation keys are derived inside the
+   * script, so this assumes a single Redis (not Cluster) deployment.
+   */
+  private final RedisScript<String> revokeTokenPairScript;
+
+  /**
+   * Sliding-window failure count with exponential back-off lockout, checked,
+   * incremented and expired in one round trip.
+   */
+  private static final RedisScript<Long> RECORD_FAILED_LOGIN_SCRIPT =
+      RedisScript.of(new ClassPathResource("scripts/record-failed-login.lua"), Long.class);
+
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> LIST_SESSIONS_SCRIPT =
+      RedisScript.of(new ClassPathResource("scripts/list-sessions.lua"), List.class);
+
+  /**
+   * Session index maintenance; see {@link #registerSession}.
+   */
+  @SuppressWarnings("rawtypes")
+  private final RedisScript<List> registerSessionScript;
+
+  @SuppressWarnings("rawtypes")
+  private final RedisScript<List> revokeAllSessionsScript;
+
+  private static final RedisScript<Long> UPDATE_SESSION_ACCESS_SCRIPT =
+      RedisScript.of(new ClassPathResource("scripts/update-session-access.lua"), Long.class);
+
+  @Value("${auth.sessions.max-concurrent:10}")
+  private int maxConcurrentSessions;
+
+  @Value("${auth.lockout.max-attempts:5}")
+  private int lockoutMaxAttempts;
+
+  @Value("${auth.lockout.window-ms:900000}")
+  private long lockoutWindowMs;
+
+  @Value("${auth.lockout.base-duration-ms:60000}")
+  private long lockoutBaseDurationMs;
+
+  @Value("${auth.lockout.max-duration-ms:3600000}")
+  private long lockoutMaxDurationMs;
+
+  @Value("${auth.lockout.strike-memory-ms:86400000}")
+  private long lockoutStrikeMemoryMs;
+
+  /**
+   * Creates the adapter, binding the revoking scripts to the storage layout
+   * and the revocation stream.
+   */
+  @SuppressWarnings("unchecked")
+  public TokenRedisAdapter(ReactiveRedisTemplate<String, String> redisTemplate,
+      RevocationNearCache nearCache, RevocationBloomFilter bloomFilter,
+      RevocationStorage revocationStorage, RevocationStream revocationStream,
+      RevocationJournal journal, PortResilience tokenCacheResilience) {
+    this.redisTemplate = redisTemplate;
+    this.nearCache = nearCache;
+    this.bloomFilter = bloomFilter;
+    this.revocationStorage = revocationStorage;
+    this.journal = journal;
+    this.resilience = tokenCacheResilience;
+    String library = revocationStorage.scriptLibrary() + revocationStream.scriptLibrary();
+    this.revokeScript = LuaScripts.withLibrary(library, "scripts/revoke.lua", Long.class);
+    this.revokeTokenPairScript =
+        LuaScripts.withLibrary(library, "scripts/revoke-token-pair.lua", String.class);
+    this.registerSessionScript =
+        LuaScripts.withLibrary(library, "scripts/register-session.lua", List.class);
+    this.revokeAllSessionsScript =
+        LuaScripts.withLibrary(library, "scripts/revoke-all-sessions.lua", List.class);
+  }
+
   @Override
   public Mono<Void> addToBlacklist(String jti, Duration ttl) {
-    String key = BLACKLIST_PREFIX + jti;
-    return redisTemplate.opsForValue()
-        .set(key, "revoked", ttl)
-        .doOnSuccess(v -> log.debug("Token {} added to blacklist with TTL {}", jti, ttl))
-        .then();
+    long now = System.currentTimeMillis();
+    long expiresAt = now + ttl.toMillis();
+    List<String> args = List.of(jti, String.valueOf(expiresAt), String.valueOf(now));
+    return redisTemplate.execute(revokeScript, List.of(), args)
+        .transform(resilience::guard)
+        .then()
+        .doOnSuccess(v -> {
+          markRevokedLocally(jti, expiresAt);
+          log.debug("Token {} added to blacklist with TTL {}", jti, ttl);
+        });
   }
 
   @Override
-  public Mono<Boolean> isBlacklisted(String jti) {
-    String key = BLACKLIST_PREFIX + jti;
-    return redisTemplate.hasKey(key);
+  public Mono<Boolean> isBlacklisted(JwtToken token) {
+    String jti = token.getJti();
+    if (!bloomFilter.mightBeRevoked(jti)) {
+      return Mono.just(false);
+    }
+    Optional<Boolean> cached = nearCache.get(jti);
+    if (cached.isPresent()) {
+      return Mono.just(cached.get());
+    }
+    boolean filtered = bloomFilter.isReady();
+    return revocationStorage.isRevoked(jti, expiresAtMillis(token))
+        .transform(resilience::guard)
+        .doOnNext(blacklisted -> {
+          nearCache.put(jti, blacklisted);
+          if (filtered && !blacklisted) {
+            bloomFilter.recordFalsePositive();
+          }
+        })
+        .onErrorResume(DependencyUnavailableException.class, e -> {
+          log.warn("Redis unavailable, checking {} against the local journal", jti);
+          return Mono.just(journal.isRevoked(jti));
+        });
   }
 
   @Override
-  public Mono<Void> registerActiveToken(String userId, String jti, Duration ttl) {
-    String key = ACTIVE_PREFIX + userId + ":" + jti;
-    return redisTemplate.opsForValue()
-        .set(key, "active", ttl)
-        .then();
+  public Mono<String> revokeTokenPair(String userId, String accessJti, Duration accessTtl,
+      Duration refreshTtl) {
+    long now = System.currentTimeMillis();
+    List<String> keys = List.of(TOKEN_PAIR_PREFIX + accessJti, SESSIONS_PREFIX + userId,
+        SESSION_DETAILS_PREFIX + userId);
+    List<String> args = List.of(
+        accessJti,
+        String.valueOf(now + accessTtl.toMillis()),
+        String.valueOf(refreshTtl.toMillis()),
+        String.valueOf(now));
+    return redisTemplate.execute(revokeTokenPairScript, keys, args)
+        .transform(resilience::guard)
+        .next()
+        .doOnSuccess(v -> markRevokedLocally(accessJti, now + accessTtl.toMillis()))
+        .filter(refreshJti -> !refreshJti.isEmpty())
+        .doOnNext(refreshJti -> {
+          markRevokedLocally(refreshJti, now + refreshTtl.toMillis());
+          log.debug("Token pair revoked: {} -> {}", accessJti, refreshJti);
+        });
+  }
+
+  private void markRevokedLocally(String jti, long expiresAtMillis) {
+    bloomFilter.add(jti);
+    nearCache.put(jti, true);
+    journal.append(jti, expiresAtMillis);
+  }
+
+  /**
+   * Same as above when the script does not report the token's expiry; the
+   * journal then keeps it for the longest token lifetime.
+   */
+  private void markRevokedLocally(String jti) {
+    bloomFilter.add(jti);
+    nearCache.put(jti, true);
+    journal.appendReplicated(jti, System.currentTimeMillis());
+  }
+
+  @Override
+  public Mono<Set<String>> findBlacklisted(List<JwtToken> tokens) {
+    Set<String> blacklisted = new HashSet<>();
+    Map<String, Long> unknown = new LinkedHashMap<>();
+    for (JwtToken token : tokens) {
+      String jti = token.getJti();
+      if (!bloomFilter.mightBeRevoked(jti)) {
+        continue;
+      }
+      Optional<Boolean> cached = nearCache.get(jti);
+      if (cached.isEmpty()) {
+        unknown.put(jti, expiresAtMillis(token));
+      } else if (cached.get()) {
+        blacklisted.add(jti);
+      }
+    }
+    if (unknown.isEmpty()) {
+      return Mono.just(blacklisted);
+    }
+
+    boolean filtered = bloomFilter.isReady();
+    // One round trip for the near-cache misses
+    return revocationStorage.findRevoked(unknown)
+        .transform(resilience::guard)
+        .map(revoked -> {
+          for (String jti : unknown.keySet()) {
+            boolean isRevoked = revoked.contains(jti);
+            nearCache.put(jti, isRevoked);
+            if (isRevoked) {
+              blacklisted.add(jti);
+            } else if (filtered) {
+              bloomFilter.recordFalsePositive();
+            }
+          }
+          return blacklisted;
+        })
+        .onErrorResume(DependencyUnavailableException.class, e -> {
+          log.warn("Redis unavailable, checking {} tokens against the local journal",
+              unknown.size());
+          unknown.keySet().stream().filter(journal::isRevoked).forEach(blacklisted::add);
+          return Mono.just(blacklisted);
+        });
+  }
+
+  /**
+   * Token expiry in epoch milliseconds, which locates bucketed revocations.
+   * Verified tokens always carry one.
+   */
+  private static long expiresAtMillis(JwtToken token) {
+    return token.getExpiresAt() == null ? 0L
+        : token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
   }
 
+  /**
+   * Sessions live in a sorted set of refresh JTIs scored by expiry, with a
+   * hash holding each session's creation time and its latest access token's
+   * expiry and JTI. Expired
+   * members are trimmed whenever the index is written or listed, and both
+   * keys expire with the longest-lived session.
+   */
   @Override
-  public Mono<Void> removeActiveToken(String userId, String jti) {
-    String key = ACTIVE_PREFIX + userId + ":" + jti;
-    return redisTemplate.delete(key).then();
+  public Mono<Integer> registerSession(String userId, String accessJti, String refreshJti,
+      Duration accessTtl, Duration refreshTtl) {
+    long now = System.currentTimeMillis();
+    List<String> keys = List.of(SESSIONS_PREFIX + userId, SESSION_DETAILS_PREFIX + userId);
+    List<String> args = List.of(
+        String.valueOf(now),
+        refreshJti,
+        String.valueOf(now + refreshTtl.toMillis()),
+        accessJti,
+        String.valueOf(now + accessTtl.toMillis()),
+        String.valueOf(maxConcurrentSessions),
+        TOKEN_PAIR_PREFIX);
+    return revokedSessions(execute(registerSessionScript, keys, args))
+        .doOnNext(evicted -> {
+          if (evicted > 0) {
+            log.info("Evicted {} oldest session(s) of user {}", evicted, userId);
+          }
+        });
   }
 
   @Override
-  public Mono<Long> incrementLoginAttempts(String username) {
-    String key = LOGIN_ATTEMPTS_PREFIX + username;
-    return redisTemplate.opsForValue()
-        .increment(key)
-        .flatMap(count -> {
-          if (count == 1) {
-            return redisTemplate.expire(key, Duration.ofMinutes(15))
-                .thenReturn(count);
+  public Mono<Void> updateSessionAccessToken(String userId, String refreshJti,
+      String accessJti, Duration accessTtl) {
+    long now = System.currentTimeMillis();
+    List<String> keys = List.of(SESSIONS_PREFIX + userId, SESSION_DETAILS_PREFIX + userId,
+        TOKEN_PAIR_PREFIX + accessJti);
+    List<String> args = List.of(
+        refreshJti,
+        accessJti,
+        String.valueOf(now + accessTtl.toMillis()),
+        String.valueOf(now));
+    return redisTemplate.execute(UPDATE_SESSION_ACCESS_SCRIPT, keys, args)
+        .transform(resilience::guard)
+        .then();
+  }
+
+  @Override
+  public Mono<List<Session>> findSessions(String userId) {
+    List<String> keys = List.of(SESSIONS_PREFIX + userId, SESSION_DETAILS_PREFIX + userId);
+    return execute(LIST_SESSIONS_SCRIPT, keys, List.of(String.valueOf(System.currentTimeMillis())))
+        .map(values -> {
+          List<Session> sessions = new ArrayList<>();
+          for (int i = 0; i + 2 < values.size(); i += 3) {
+            sessions.add(toSession(values.get(i), values.get(i + 1), values.get(i + 2)));
           }
-          return Mono.just(count);
+          return sessions;
         });
   }
 
   @Override
-  public Mono<Void> resetLoginAttempts(String username) {
-    String key = LOGIN_ATTEMPTS_PREFIX + username;
-    return redisTemplate.delete(key).then();
+  public Mono<Integer> revokeAllSessions(String userId) {
+    List<String> keys = List.of(SESSIONS_PREFIX + userId, SESSION_DETAILS_PREFIX + userId);
+    List<String> args = List.of(
+        String.valueOf(System.currentTimeMillis()),
+        TOKEN_PAIR_PREFIX);
+    return revokedSessions(execute(revokeAllSessionsScript, keys, args));
+  }
+
+  /**
+   * Marks the refresh/access JTI pairs returned by a session script as
+   * revoked locally and counts the sessions.
+   */
+  private Mono<Integer> revokedSessions(Mono<List<String>> pairs) {
+    return pairs.map(values -> {
+      for (String jti : values) {
+        if (!jti.isEmpty()) {
+          markRevokedLocally(jti);
+        }
+      }
+      return values.size() / 2;
+    });
+  }
+
+  /**
+   * Runs a script returning an array and collects its elements as strings.
+   */
+  @SuppressWarnings("rawtypes")
+  private Mono<List<String>> execute(RedisScript<List> script, List<String> keys,
+      List<String> args) {
+    return redisTemplate.execute(script, keys, args)
+        .transform(resilience::guard)
+        .flatMapIterable(result -> result instanceof List<?> list ? list : List.of(result))
+        .map(String::valueOf)
+        .collectList();
+  }
+
+  /**
+   * Maps an index entry; details are {@code <createdAt>:<accessExpiresAt>:<accessJti>}.
+   */
+  private static Session toSession(String refreshJti, String expiresAtMillis, String details) {
+    String[] fields = details.split(":", 3);
+    return Session.builder()
+        .sessionId(refreshJti)
+        .accessJti(fields.length < 3 ? null : fields[2])
+        .createdAt(fields.length < 3 ? null : toLocalDateTime(Long.parseLong(fields[0])))
+        .expiresAt(toLocalDateTime((long) Double.parseDouble(expiresAtMillis)))
+        .build();
+  }
+
+  private static LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
   }
 
   @Override
-  public Mono<Long> getLoginAttempts(String username) {
-    String key = LOGIN_ATTEMPTS_PREFIX + username;
-    return redisTemplate.opsForValue()
-        .get(key)
-        .map(Long::parseLong)
-        .defaultIfEmpty(0L);
+  public Mono<Duration> recordFailedLogin(String username) {
+    List<String> keys = List.of(LOGIN_FAILURES_PREFIX + username, LOCKOUT_PREFIX + username,
+        LOCKOUT_STRIKES_PREFIX + username);
+    long now = System.currentTimeMillis();
+    List<String> args = List.of(
+        String.valueOf(now),
+        String.valueOf(lockoutWindowMs),
+        String.valueOf(lockoutMaxAttempts),
+        String.valueOf(lockoutBaseDurationMs),
+        String.valueOf(lockoutMaxDurationMs),
+        String.valueOf(lockoutStrikeMemoryMs),
+        now + ":" + UUID.randomUUID());
+    return redisTemplate.execute(RECORD_FAILED_LOGIN_SCRIPT, keys, args)
+        .transform(resilience::guard)
+        .next()
+        .map(Duration::ofMillis)
+        .defaultIfEmpty(Duration.ZERO);
+  }
+
+  @Override
+  public Mono<Duration> getLockout(String username) {
+    // Empty when the lockout key does not exist
+    return redisTemplate.getExpire(LOCKOUT_PREFIX + username)
+        .transform(resilience::guard)
+        .defaultIfEmpty(Duration.ZERO);
+  }
+
+  @Override
+  public Mono<Void> resetLoginAttempts(String username) {
+    // Strikes are kept so repeated lockouts keep backing off
+    return redisTemplate.delete(LOGIN_FAILURES_PREFIX + username, LOCKOUT_PREFIX + username)
+        .transform(resilience::guard)
+        .then();
   }
 
   @Override
@@ -89,6 +414,7 @@ public class TokenRedisAdapter implements TokenCacheRepository {
     String key = TOKEN_PAIR_PREFIX + accessJti;
     return redisTemplate.opsForValue()
         .set(key, refreshJti, ttl)
+        .transform(resilience::guard)
         .doOnSuccess(v -> log.debug("Token pair saved: {} -> {}", accessJti, refreshJti))
         .then();
   }
@@ -96,13 +422,15 @@ public class TokenRedisAdapter implements TokenCacheRepository {
   @Override
   public Mono<String> getRefreshJtiByAccessJti(String accessJti) {
     String key = TOKEN_PAIR_PREFIX + accessJti;
-    return redisTemplate.opsForValue().get(key);
+    return redisTemplate.opsForValue().get(key)
+        .transform(resilience::guard);
   }
 
   @Override
   public Mono<Void> removeTokenPair(String accessJti) {
     String key = TOKEN_PAIR_PREFIX + accessJti;
     return redisTemplate.delete(key)
+        .transform(resilience::guard)
         .doOnSuccess(v -> log.debug("Token pair removed for accessJti: {}", accessJti))
         .then();
   }
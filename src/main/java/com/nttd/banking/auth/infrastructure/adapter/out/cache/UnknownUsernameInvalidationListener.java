@@ -0,0 +1,57 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+/**
+ * Subscribes to the registration channel and drops every newly taken
+ * username from the local unknown-username cache. Registrations may be
+ * missed while the subscription is down, so the cache is cleared on every
+ * (re)subscribe.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@RequiredArgsConstructor
+@Slf4j
+public class UnknownUsernameInvalidationListener {
+
+  private final ReactiveRedisTemplate<String, String> redisTemplate;
+  private final CaffeineUnknownUsernameCache unknownUsernames;
+  private Disposable subscription;
+
+  /**
+   * Starts listening after bean initialization.
+   */
+  @PostConstruct
+  public void start() {
+    subscription = redisTemplate.listenToChannel(
+            CaffeineUnknownUsernameCache.REGISTRATION_CHANNEL)
+        .doOnSubscribe(s -> unknownUsernames.clear())
+        .doOnNext(message -> unknownUsernames.invalidate(message.getMessage()))
+        .doOnError(e -> {
+          log.warn("Registration channel lost, clearing unknown usernames: {}",
+              e.getMessage());
+          unknownUsernames.clear();
+        })
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofSeconds(30)))
+        .subscribe();
+    log.info("Listening for registrations on {}",
+        CaffeineUnknownUsernameCache.REGISTRATION_CHANNEL);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nttd.banking.auth.domain.event.UserLoginEvent;
 import com.nttd.banking.auth.domain.event.UserRegisteredEvent;
 import com.nttd.banking.auth.domain.port.out.UserEventPublisher;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -17,7 +18,9 @@ import reactor.kafka.sender.SenderRecord;
 
 /**
  * Kafka implementation of UserEventPublisher.
- * Publishes user events to Kafka topics.
+ * Publishes user events to Kafka topics behind the {@code userEvents}
+ * {@link PortResilience}. Login events are informational and are skipped
+ * when Kafka is slow or down; registration events still fail the call.
  */
 @Component
 @org.springframework.context.annotation.Profile("!test")
@@ -26,6 +29,7 @@ import reactor.kafka.sender.SenderRecord;
 public class UserEventPublisherImpl implements UserEventPublisher {
 
   private final SenderOptions<String, String> senderOptions;
+  private final PortResilience userEventsResilience;
   private final ObjectMapper objectMapper = new ObjectMapper()
       .registerModule(new JavaTimeModule());
 
@@ -52,7 +56,8 @@ public class UserEventPublisherImpl implements UserEventPublisher {
               .doOnError(error -> log.error(
                   "Error publishing UserRegisteredEvent", error))
               .doFinally(signalType -> sender.close())
-              .then();
+              .then()
+              .transform(userEventsResilience::guard);
         })
         .onErrorResume(JsonProcessingException.class, e -> {
           log.error("Error serializing UserRegisteredEvent", e);
@@ -83,11 +88,16 @@ public class UserEventPublisherImpl implements UserEventPublisher {
               .doOnError(error -> log.error(
                   "Error publishing UserLoginEvent", error))
               .doFinally(signalType -> sender.close())
-              .then();
+              .then()
+              .transform(userEventsResilience::guard);
         })
         .onErrorResume(JsonProcessingException.class, e -> {
           log.error("Error serializing UserLoginEvent", e);
           return Mono.empty();
+        })
+        .onErrorResume(e -> {
+          log.warn("Skipping UserLoginEvent for user {}: {}", event.getUserId(), e.getMessage());
+          return Mono.empty();
         });
   }
 }
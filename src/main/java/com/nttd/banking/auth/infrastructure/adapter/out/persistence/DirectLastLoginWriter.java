@@ -0,0 +1,73 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
+
+import com.mongodb.WriteConcern;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import java.time.LocalDateTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes each last login as its own targeted update of {@code lastLogin} and
+ * {@code updatedAt}, behind the {@code userRepository} {@link PortResilience}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@ConditionalOnProperty(name = "auth.last-login.write-behind.enabled", havingValue = "false",
+    matchIfMissing = true)
+public class DirectLastLoginWriter implements LastLoginWriter {
+
+  /**
+   * Last-login updates only need the primary's acknowledgement: losing one
+   * on failover costs a stale timestamp, not a security decision.
+   */
+  static final WriteConcern LAST_LOGIN_WRITE_CONCERN = WriteConcern.W1.withJournal(false);
+
+  private final ReactiveMongoTemplate relaxedMongoTemplate;
+  private final PortResilience userRepositoryResilience;
+
+  /**
+   * Creates the writer on a {@link #relaxedTemplate relaxed template}.
+   */
+  public DirectLastLoginWriter(ReactiveMongoTemplate mongoTemplate,
+      PortResilience userRepositoryResilience) {
+    this.relaxedMongoTemplate = relaxedTemplate(mongoTemplate);
+    this.userRepositoryResilience = userRepositoryResilience;
+  }
+
+  /**
+   * A template on the same connection and mapping that writes with
+   * {@link #LAST_LOGIN_WRITE_CONCERN}.
+   */
+  static ReactiveMongoTemplate relaxedTemplate(ReactiveMongoTemplate mongoTemplate) {
+    ReactiveMongoTemplate relaxed = new ReactiveMongoTemplate(
+        mongoTemplate.getMongoDatabaseFactory(), mongoTemplate.getConverter());
+    relaxed.setWriteConcern(LAST_LOGIN_WRITE_CONCERN);
+    return relaxed;
+  }
+
+  @Override
+  public Mono<Void> touch(String id, LocalDateTime at) {
+    return relaxedMongoTemplate.updateFirst(byId(id), lastLoginUpdate(at), UserEntity.class)
+        .transform(userRepositoryResilience::guard)
+        .then();
+  }
+
+  static Query byId(String id) {
+    return Query.query(Criteria.where("id").is(id));
+  }
+
+  /**
+   * Never moves the timestamps back, so updates may be applied out of order.
+   */
+  static Update lastLoginUpdate(LocalDateTime at) {
+    return new Update()
+        .max("lastLogin", at)
+        .max("updatedAt", at);
+  }
+}
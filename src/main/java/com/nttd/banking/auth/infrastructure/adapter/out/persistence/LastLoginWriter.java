@@ -0,0 +1,21 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
+
+import java.time.LocalDateTime;
+import reactor.core.publisher.Mono;
+
+/**
+ * How last-login times reach MongoDB, selected with
+ * {@code auth.last-login.write-behind.enabled}: one update per login
+ * (default) or coalesced in a write-behind buffer.
+ */
+public interface LastLoginWriter {
+
+  /**
+   * Records that the user logged in at the given time.
+   *
+   * @param id the user ID
+   * @param at the login time
+   * @return completes once the time is written or buffered
+   */
+  Mono<Void> touch(String id, LocalDateTime at);
+}
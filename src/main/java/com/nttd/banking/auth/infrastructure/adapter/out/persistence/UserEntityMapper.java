@@ -1,5 +1,6 @@
 package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
 
+import com.nttd.banking.auth.domain.model.AuthProfile;
 import com.nttd.banking.auth.domain.model.User;
 import org.springframework.stereotype.Component;
 
@@ -31,6 +32,21 @@ public class UserEntityMapper {
         .build();
   }
 
+  /**
+   * Converts a UserEntity, possibly loaded with only these fields, to an AuthProfile.
+   */
+  public AuthProfile toAuthProfile(UserEntity entity) {
+    return AuthProfile.builder()
+        .id(entity.getId())
+        .username(entity.getUsername())
+        .email(entity.getEmail())
+        .passwordHash(entity.getPasswordHash())
+        .userType(entity.getUserType())
+        .roles(entity.getRoles())
+        .active(entity.getActive())
+        .build();
+  }
+
   /**
    * Converts User domain model to UserEntity.
    */
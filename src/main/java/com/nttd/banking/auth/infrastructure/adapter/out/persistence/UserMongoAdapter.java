@@ -1,68 +1,153 @@
 package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
 
+import com.nttd.banking.auth.domain.exception.UserAlreadyExistsException;
+import com.nttd.banking.auth.domain.model.AuthProfile;
 import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.port.out.UserRepository;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
-import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * MongoDB adapter implementing UserRepository port.
+ * Every query runs behind the {@code userRepository} {@link PortResilience}.
+ * Single-field changes are sent as targeted updates rather than a
+ * full-document replace; last logins go through the {@link LastLoginWriter}.
+ * Uniqueness of username, email and document number is enforced by the
+ * unique indexes of {@link UserEntity}, which are ensured at startup.
  * Only loads when not in test profile.
  */
 @Component
 @org.springframework.context.annotation.Profile("!test")
 @RequiredArgsConstructor
+@Slf4j
 public class UserMongoAdapter implements UserRepository {
 
+  private static final Pattern DUPLICATE_INDEX = Pattern.compile("index: (\\S+)");
+
+  private static final Map<String, String> CONFLICT_MESSAGES = Map.of(
+      "username", "Username already exists",
+      "email", "Email already exists",
+      "documentNumber", "Document number already exists");
+
   private final UserMongoRepository mongoRepository;
   private final UserEntityMapper mapper;
+  private final PortResilience userRepositoryResilience;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final LastLoginWriter lastLoginWriter;
+
+  /**
+   * Creates the indexes declared on {@link UserEntity} if they are missing,
+   * whether or not automatic index creation is enabled. Runs in the
+   * background; a failure is logged and retried on the next start.
+   */
+  @PostConstruct
+  public void ensureIndexes() {
+    IndexResolver resolver =
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+    Flux.fromIterable(resolver.resolveIndexFor(UserEntity.class))
+        .concatMap(index -> mongoTemplate.indexOps(UserEntity.class).ensureIndex(index))
+        .collectList()
+        .subscribe(
+            names -> log.info("User indexes ensured: {}", names),
+            e -> log.warn("Could not ensure user indexes: {}", e.getMessage()));
+  }
+
+  @Override
+  public Mono<User> insert(User user) {
+    UserEntity entity = mapper.toEntity(user);
+    return mongoRepository.insert(entity)
+        .transform(userRepositoryResilience::guard)
+        .onErrorMap(DuplicateKeyException.class, UserMongoAdapter::alreadyExists)
+        .map(mapper::toDomain);
+  }
 
   @Override
   public Mono<User> save(User user) {
     UserEntity entity = mapper.toEntity(user);
     return mongoRepository.save(entity)
+        .transform(userRepositoryResilience::guard)
         .map(mapper::toDomain);
   }
 
+  @Override
+  public Mono<Void> touchLastLogin(String id, LocalDateTime at) {
+    return lastLoginWriter.touch(id, at);
+  }
+
+  @Override
+  public Mono<Void> updatePasswordHash(String id, String passwordHash) {
+    Update update = new Update()
+        .set("passwordHash", passwordHash)
+        .set("updatedAt", LocalDateTime.now());
+    return mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(id)), update,
+            UserEntity.class)
+        .transform(userRepositoryResilience::guard)
+        .then();
+  }
+
   @Override
   public Mono<User> findById(String id) {
     return mongoRepository.findById(id)
+        .transform(userRepositoryResilience::guard)
         .map(mapper::toDomain);
   }
 
   @Override
   public Mono<User> findByUsername(String username) {
     return mongoRepository.findByUsername(username)
+        .transform(userRepositoryResilience::guard)
         .map(mapper::toDomain);
   }
 
+  @Override
+  public Mono<AuthProfile> findAuthProfileByUsername(String username) {
+    return mongoRepository.findAuthProfileByUsername(username)
+        .transform(userRepositoryResilience::guard)
+        .map(mapper::toAuthProfile);
+  }
+
   @Override
   public Mono<User> findByEmail(String email) {
     return mongoRepository.findByEmail(email)
+        .transform(userRepositoryResilience::guard)
         .map(mapper::toDomain);
   }
 
   @Override
   public Mono<User> findByDocumentNumber(String documentNumber) {
     return mongoRepository.findByDocumentNumber(documentNumber)
+        .transform(userRepositoryResilience::guard)
         .map(mapper::toDomain);
   }
 
-  @Override
-  public Mono<Boolean> existsByUsername(String username) {
-    return mongoRepository.existsByUsername(username);
-  }
-
-  @Override
-  public Mono<Boolean> existsByEmail(String email) {
-    return mongoRepository.existsByEmail(email);
-  }
-
-  @Override
-  public Mono<Boolean> existsByDocumentNumber(String documentNumber) {
-    return mongoRepository.existsByDocumentNumber(documentNumber);
+  /**
+   * Names the unique field whose index rejected an insert, from the
+   * {@code index: <name>} part of the server message. Index names are the
+   * field names, or {@code <field>_1} for indexes created by hand.
+   */
+  static UserAlreadyExistsException alreadyExists(DuplicateKeyException e) {
+    Matcher matcher = DUPLICATE_INDEX.matcher(String.valueOf(e.getMessage()));
+    if (matcher.find()) {
+      String field = matcher.group(1).replaceFirst("_-?1$", "");
+      if (CONFLICT_MESSAGES.containsKey(field)) {
+        return new UserAlreadyExistsException(CONFLICT_MESSAGES.get(field));
+      }
+    }
+    return new UserAlreadyExistsException("User already exists");
   }
 }
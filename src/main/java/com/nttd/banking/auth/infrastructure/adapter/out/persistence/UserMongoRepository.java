@@ -1,5 +1,6 @@
 package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
 
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
@@ -11,13 +12,18 @@ import reactor.core.publisher.Mono;
 public interface UserMongoRepository extends ReactiveMongoRepository<UserEntity, String> {
   Mono<UserEntity> findByUsername(String username);
 
+  /**
+   * Finds a user by username, loading only the {@link UserEntityMapper#toAuthProfile
+   * auth profile} fields. The unique username index serves the lookup; it
+   * cannot cover it, because {@code roles} is an array and multikey indexes
+   * never cover a query.
+   */
+  @Query(value = "{ 'username': ?0 }",
+      fields = "{ 'username': 1, 'email': 1, 'passwordHash': 1, 'userType': 1, 'roles': 1,"
+          + " 'active': 1 }")
+  Mono<UserEntity> findAuthProfileByUsername(String username);
+
   Mono<UserEntity> findByEmail(String email);
 
   Mono<UserEntity> findByDocumentNumber(String documentNumber);
-
-  Mono<Boolean> existsByUsername(String username);
-
-  Mono<Boolean> existsByEmail(String email);
-
-  Mono<Boolean> existsByDocumentNumber(String documentNumber);
 }
@@ -0,0 +1,207 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Write-behind buffer of last-login times. Only the latest time per user is
+ * kept, and the buffer is flushed as unordered {@code bulkWrite} batches of
+ * {@code auth.last-login.write-behind.batch-size} updates every
+ * {@code auth.last-login.write-behind.flush-interval-ms}, or as soon as a
+ * batch is full. Memory is bounded by
+ * {@code auth.last-login.write-behind.max-buffered} users; logins of other
+ * users beyond that are written directly. Updates use {@code $max}, so a
+ * flush never moves a timestamp back. A failed batch is put back for the
+ * next flush; the buffer is flushed on graceful shutdown, after any flush cut
+ * short by it has put its updates back. Whatever is still buffered after a
+ * crash is lost, which only leaves last logins stale.
+ * Metrics: {@code user.last-login.buffer.depth},
+ * {@code user.last-login.flush.latency} and
+ * {@code user.last-login.buffer.overflow}.
+ * Only loads when not in test profile.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@ConditionalOnProperty(name = "auth.last-login.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class WriteBehindLastLoginWriter implements LastLoginWriter {
+
+  private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+  private final ReactiveMongoTemplate relaxedMongoTemplate;
+  private final PortResilience userRepositoryResilience;
+  private final int batchSize;
+  private final int maxBuffered;
+  private final Duration flushInterval;
+  private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final Sinks.Many<Long> flushRequests = Sinks.many().unicast().onBackpressureBuffer();
+  private final Timer flushLatency;
+  private final Counter overflow;
+  private Disposable flushes;
+
+  /**
+   * Creates the buffer on a {@link DirectLastLoginWriter#relaxedTemplate
+   * relaxed template} and registers its metrics.
+   */
+  @Autowired
+  public WriteBehindLastLoginWriter(ReactiveMongoTemplate mongoTemplate,
+      PortResilience userRepositoryResilience,
+      @Value("${auth.last-login.write-behind.batch-size:500}") int batchSize,
+      @Value("${auth.last-login.write-behind.max-buffered:50000}") int maxBuffered,
+      @Value("${auth.last-login.write-behind.flush-interval-ms:1000}") long flushIntervalMs,
+      MeterRegistry meterRegistry) {
+    this(DirectLastLoginWriter.relaxedTemplate(mongoTemplate), userRepositoryResilience,
+        batchSize, maxBuffered, Duration.ofMillis(flushIntervalMs), meterRegistry);
+    log.info("Last-login write-behind enabled: batchSize={}, maxBuffered={}, interval={}",
+        batchSize, maxBuffered, flushInterval);
+  }
+
+  WriteBehindLastLoginWriter(ReactiveMongoTemplate relaxedMongoTemplate,
+      PortResilience userRepositoryResilience, int batchSize, int maxBuffered,
+      Duration flushInterval, MeterRegistry meterRegistry) {
+    this.relaxedMongoTemplate = relaxedMongoTemplate;
+    this.userRepositoryResilience = userRepositoryResilience;
+    this.batchSize = batchSize;
+    this.maxBuffered = maxBuffered;
+    this.flushInterval = flushInterval;
+    Gauge.builder("user.last-login.buffer.depth", pending, Map::size)
+        .description("Users whose last login is waiting to be written")
+        .register(meterRegistry);
+    this.flushLatency = Timer.builder("user.last-login.flush.latency")
+        .description("Duration of one bulk write of buffered last logins")
+        .register(meterRegistry);
+    this.overflow = Counter.builder("user.last-login.buffer.overflow")
+        .description("Last logins written directly because the buffer was full")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts flushing on the timer and on full batches.
+   */
+  @PostConstruct
+  public void start() {
+    flushes = Flux.merge(Flux.interval(flushInterval, flushInterval), flushRequests.asFlux())
+        .onBackpressureDrop()
+        .concatMap(tick -> flush())
+        .subscribe();
+  }
+
+  /**
+   * Stops the timer and writes what is still buffered, including the updates
+   * of a flush that stopping cancelled.
+   */
+  @PreDestroy
+  public void stop() {
+    if (flushes != null) {
+      flushes.dispose();
+    }
+    flush().block(SHUTDOWN_FLUSH_TIMEOUT);
+    if (!pending.isEmpty()) {
+      log.warn("{} last-login updates could not be written before shutdown", pending.size());
+    }
+  }
+
+  @Override
+  public Mono<Void> touch(String id, LocalDateTime at) {
+    if (pending.size() >= maxBuffered && !pending.containsKey(id)) {
+      overflow.increment();
+      requestFlush();
+      return relaxedMongoTemplate.updateFirst(DirectLastLoginWriter.byId(id),
+              DirectLastLoginWriter.lastLoginUpdate(at), UserEntity.class)
+          .transform(userRepositoryResilience::guard)
+          .then();
+    }
+    pending.merge(id, at, WriteBehindLastLoginWriter::latest);
+    if (pending.size() >= batchSize) {
+      requestFlush();
+    }
+    return Mono.empty();
+  }
+
+  /**
+   * Drains the buffer and writes it in batches, one at a time. Never errors.
+   * If cancelled, every drained update is put back; those already written
+   * are written again, which {@code $max} makes harmless.
+   */
+  Mono<Void> flush() {
+    return Mono.defer(() -> {
+      flushRequested.set(false);
+      List<Map.Entry<String, LocalDateTime>> drained = new ArrayList<>(pending.size());
+      for (String id : pending.keySet()) {
+        LocalDateTime at = pending.remove(id);
+        if (at != null) {
+          drained.add(Map.entry(id, at));
+        }
+      }
+      return Flux.fromIterable(drained)
+          .buffer(batchSize)
+          .concatMap(this::write)
+          .then()
+          .doOnCancel(() -> putBack(drained));
+    });
+  }
+
+  int depth() {
+    return pending.size();
+  }
+
+  private Mono<BulkWriteResult> write(List<Map.Entry<String, LocalDateTime>> batch) {
+    ReactiveBulkOperations bulk =
+        relaxedMongoTemplate.bulkOps(BulkMode.UNORDERED, UserEntity.class);
+    for (Map.Entry<String, LocalDateTime> entry : batch) {
+      bulk.updateOne(DirectLastLoginWriter.byId(entry.getKey()),
+          DirectLastLoginWriter.lastLoginUpdate(entry.getValue()));
+    }
+    long start = System.nanoTime();
+    return bulk.execute()
+        .transform(userRepositoryResilience::guard)
+        .doOnSuccess(result -> flushLatency.record(Duration.ofNanos(System.nanoTime() - start)))
+        .onErrorResume(e -> {
+          log.warn("Failed to flush {} last-login updates, retrying later: {}",
+              batch.size(), e.getMessage());
+          putBack(batch);
+          return Mono.empty();
+        });
+  }
+
+  private void putBack(List<Map.Entry<String, LocalDateTime>> entries) {
+    entries.forEach(entry ->
+        pending.merge(entry.getKey(), entry.getValue(), WriteBehindLastLoginWriter::latest));
+  }
+
+  private void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      flushRequests.tryEmitNext(0L);
+    }
+  }
+
+  private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+    return a.isAfter(b) ? a : b;
+  }
+}
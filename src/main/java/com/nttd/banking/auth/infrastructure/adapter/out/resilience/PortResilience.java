@@ -0,0 +1,89 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.resilience;
+
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import java.util.concurrent.TimeoutException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bulkhead, time limit and circuit breaker guarding the calls of one
+ * outbound port.
+ *
+ * <p>The bulkhead caps in-flight calls and rejects the excess at once, the
+ * time limiter cancels calls that run too long, and the circuit breaker
+ * opens when too many calls fail or time out. All of these, and connection
+ * failures of the backing store, surface as
+ * {@link DependencyUnavailableException}; the adapter decides whether to
+ * propagate it or fall back. Other errors, such as a duplicate key, pass
+ * through and do not count against the circuit.
+ */
+public class PortResilience {
+
+  private final String name;
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+  private final TimeLimiter timeLimiter;
+
+  public PortResilience(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+      TimeLimiter timeLimiter) {
+    this.name = name;
+    this.circuitBreaker = circuitBreaker;
+    this.bulkhead = bulkhead;
+    this.timeLimiter = timeLimiter;
+  }
+
+  /**
+   * Guards with Resilience4j defaults; for tests and tools.
+   */
+  public static PortResilience ofDefaults(String name) {
+    return new PortResilience(name, CircuitBreaker.ofDefaults(name), Bulkhead.ofDefaults(name),
+        TimeLimiter.ofDefaults(name));
+  }
+
+  public <T> Mono<T> guard(Mono<T> call) {
+    return call
+        .transformDeferred(BulkheadOperator.of(bulkhead))
+        .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .onErrorMap(PortResilience::isUnavailable, this::unavailable);
+  }
+
+  public <T> Flux<T> guard(Flux<T> call) {
+    return call
+        .transformDeferred(BulkheadOperator.of(bulkhead))
+        .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .onErrorMap(PortResilience::isUnavailable, this::unavailable);
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * Whether an error means the dependency could not serve the call, as
+   * opposed to answering with an error of its own.
+   */
+  public static boolean isUnavailable(Throwable error) {
+    return error instanceof CallNotPermittedException
+        || error instanceof BulkheadFullException
+        || error instanceof TimeoutException
+        || error instanceof DataAccessResourceFailureException
+        || error instanceof TransientDataAccessException;
+  }
+
+  private Throwable unavailable(Throwable error) {
+    return new DependencyUnavailableException(name + " unavailable: " + error.getMessage(),
+        error);
+  }
+}
@@ -1,28 +1,159 @@
 package com.nttd.banking.auth.infrastructure.adapter.out.security;
 
 import com.nttd.banking.auth.domain.port.out.PasswordEncoder;
+import com.nttd.banking.auth.infrastructure.config.CryptoSchedulerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * BCrypt implementation of PasswordEncoder.
+ * Hashing runs on the bounded crypto scheduler, never on the event loop.
+ *
+ * <p>The work factor is calibrated at startup: the highest cost between
+ * {@code password.bcrypt.min-strength} and {@code password.bcrypt.max-strength}
+ * whose hash time on this host stays within
+ * {@code password.bcrypt.target-latency-ms}, measured as the median of
+ * {@value #CALIBRATION_SAMPLES} hashes per cost. Setting both bounds to the
+ * same value pins the cost for a deployment. The floor defaults to 12, the
+ * cost hashes were stored with before calibration, and stored hashes are only
+ * ever re-encoded upward, so a node that calibrates low (e.g. on a throttled
+ * CPU) never weakens them, and replicas that calibrate differently do not
+ * re-encode the same users back and forth. The chosen cost and its measured
+ * latency are published as {@code password.bcrypt.strength} and
+ * {@code password.bcrypt.calibrated.latency}; verifications are timed per
+ * stored cost as {@code password.bcrypt.verify}.
+ * Only loads when not in test profile.
  */
 @Component
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
 public class BCryptPasswordEncoderAdapter implements PasswordEncoder {
 
+  private static final String CALIBRATION_PASSWORD = "calibration-Passw0rd!";
+  static final int CALIBRATION_SAMPLES = 3;
+
   private final BCryptPasswordEncoder encoder;
+  private final Scheduler cryptoScheduler;
+  private final MeterRegistry meterRegistry;
+  private final int strength;
+
+  /**
+   * Creates the encoder with a work factor calibrated for this host.
+   */
+  public BCryptPasswordEncoderAdapter(
+      @Qualifier(CryptoSchedulerConfig.CRYPTO_SCHEDULER) Scheduler cryptoScheduler,
+      MeterRegistry meterRegistry,
+      @Value("${password.bcrypt.target-latency-ms:250}") long targetLatencyMs,
+      @Value("${password.bcrypt.min-strength:12}") int minStrength,
+      @Value("${password.bcrypt.max-strength:14}") int maxStrength) {
+    this.cryptoScheduler = cryptoScheduler;
+    this.meterRegistry = meterRegistry;
+
+    Calibration calibration =
+        calibrate(Duration.ofMillis(targetLatencyMs), minStrength, maxStrength);
+    this.strength = calibration.strength();
+    this.encoder = new BCryptPasswordEncoder(strength);
+
+    Gauge.builder("password.bcrypt.strength", () -> strength)
+        .description("BCrypt work factor chosen at startup")
+        .register(meterRegistry);
+    Gauge.builder("password.bcrypt.calibrated.latency", calibration.latency()::toMillis)
+        .description("Measured hash time at the chosen work factor")
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    log.info("BCrypt strength calibrated to {} ({} ms, target {} ms)",
+        strength, calibration.latency().toMillis(), targetLatencyMs);
+  }
 
-  public BCryptPasswordEncoderAdapter() {
-    this.encoder = new BCryptPasswordEncoder(12);
+  @Override
+  public Mono<String> encode(String rawPassword) {
+    return Mono.fromCallable(() -> encoder.encode(rawPassword))
+        .subscribeOn(cryptoScheduler);
   }
 
   @Override
-  public String encode(String rawPassword) {
-    return encoder.encode(rawPassword);
+  public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+    return Mono.fromCallable(() -> verifyTimer(encodedPassword)
+            .record(() -> encoder.matches(rawPassword, encodedPassword)))
+        .subscribeOn(cryptoScheduler);
   }
 
   @Override
-  public boolean matches(String rawPassword, String encodedPassword) {
-    return encoder.matches(rawPassword, encodedPassword);
+  public boolean needsRehash(String encodedPassword) {
+    return costOf(encodedPassword) < strength;
+  }
+
+  int getStrength() {
+    return strength;
+  }
+
+  /**
+   * Hashes at increasing cost until the target latency is exceeded and keeps
+   * the last cost that met it. Each step doubles the work, so this stops
+   * after at most twice the target per sample.
+   */
+  private Calibration calibrate(Duration target, int minStrength, int maxStrength) {
+    // Warm up the JIT so the first measurement is not inflated
+    new BCryptPasswordEncoder(minStrength).encode(CALIBRATION_PASSWORD);
+
+    Calibration chosen = new Calibration(minStrength, measure(minStrength));
+    for (int cost = minStrength + 1; cost <= maxStrength; cost++) {
+      Duration latency = measure(cost);
+      if (latency.compareTo(target) > 0) {
+        break;
+      }
+      chosen = new Calibration(cost, latency);
+    }
+    return chosen;
+  }
+
+  /**
+   * Median hash time at a cost, so one descheduled sample does not decide it.
+   */
+  private Duration measure(int cost) {
+    BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(cost);
+    long[] samples = new long[CALIBRATION_SAMPLES];
+    for (int i = 0; i < samples.length; i++) {
+      long start = System.nanoTime();
+      candidate.encode(CALIBRATION_PASSWORD);
+      samples[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(samples);
+    return Duration.ofNanos(samples[samples.length / 2]);
+  }
+
+  private Timer verifyTimer(String encodedPassword) {
+    return Timer.builder("password.bcrypt.verify")
+        .description("BCrypt verification time by stored work factor")
+        .tag("cost", String.valueOf(costOf(encodedPassword)))
+        .register(meterRegistry);
+  }
+
+  /**
+   * Reads the cost from a {@code $2a$NN$...} hash, or -1 if it is not BCrypt.
+   */
+  static int costOf(String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.length() < 7
+        || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(encodedPassword.substring(4, 6));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private record Calibration(int strength, Duration latency) {
   }
 }
@@ -0,0 +1,142 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a {@link JwtKeyRing} from a key directory.
+ *
+ * <p>Layout: {@code <kid>.public.pem} for every key that tokens may still be
+ * verified with, plus {@code <kid>.private.pem} for keys allowed to sign.
+ * The active signing key is the kid named in an optional {@code active-kid}
+ * file, otherwise the lexicographically greatest kid that has a private key
+ * (e.g. date-based kids such as {@code 2025-06-01}). The key type (RSA, EC
+ * P-256, Ed25519) selects the algorithm.
+ */
+@Slf4j
+public final class JwtKeyDirectoryLoader {
+
+  static final String PUBLIC_SUFFIX = ".public.pem";
+  static final String PRIVATE_SUFFIX = ".private.pem";
+  static final String ACTIVE_KID_FILE = "active-kid";
+
+  private JwtKeyDirectoryLoader() {
+    // Utility class
+  }
+
+  /**
+   * Reads every key in the directory and builds a ring.
+   *
+   * @param directory the key directory
+   * @return the loaded key ring
+   * @throws IOException if the directory cannot be read
+   * @throws GeneralSecurityException if a key cannot be parsed
+   * @throws IllegalStateException if no usable signing key is found
+   */
+  public static JwtKeyRing load(Path directory) throws IOException, GeneralSecurityException {
+    Map<String, Path> publicFiles = new TreeMap<>();
+    Map<String, Path> privateFiles = new TreeMap<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.forEach(file -> {
+        String name = file.getFileName().toString();
+        if (name.endsWith(PUBLIC_SUFFIX)) {
+          publicFiles.put(name.substring(0, name.length() - PUBLIC_SUFFIX.length()), file);
+        } else if (name.endsWith(PRIVATE_SUFFIX)) {
+          privateFiles.put(name.substring(0, name.length() - PRIVATE_SUFFIX.length()), file);
+        }
+      });
+    }
+
+    String activeKid = resolveActiveKid(directory, publicFiles, privateFiles);
+    JwtKeyRing.Builder builder = JwtKeyRing.builder();
+    for (Map.Entry<String, Path> entry : publicFiles.entrySet()) {
+      String kid = entry.getKey();
+      String publicPem = Files.readString(entry.getValue(), StandardCharsets.US_ASCII);
+      JwtSigningAlgorithm algorithm = detectAlgorithm(publicPem);
+      PublicKey publicKey = PemKeys.readPublicKey(publicPem, algorithm.getKeyAlgorithm());
+      requireP256(kid, publicKey);
+
+      if (kid.equals(activeKid)) {
+        PrivateKey privateKey = PemKeys.readPrivateKey(
+            Files.readString(privateFiles.get(kid), StandardCharsets.US_ASCII),
+            algorithm.getKeyAlgorithm());
+        builder.signingKey(kid, algorithm, new KeyPair(publicKey, privateKey));
+      } else {
+        builder.verificationKey(kid, algorithm, publicKey);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Picks the signing kid from the active-kid file or the newest private key.
+   */
+  private static String resolveActiveKid(Path directory, Map<String, Path> publicFiles,
+      Map<String, Path> privateFiles) throws IOException {
+    Path activeKidFile = directory.resolve(ACTIVE_KID_FILE);
+    String activeKid = Files.exists(activeKidFile)
+        ? Files.readString(activeKidFile, StandardCharsets.US_ASCII).trim()
+        : privateFiles.keySet().stream()
+            .filter(publicFiles::containsKey)
+            .reduce((first, second) -> second)
+            .orElse(null);
+
+    if (activeKid == null || !privateFiles.containsKey(activeKid)
+        || !publicFiles.containsKey(activeKid)) {
+      throw new IllegalStateException(
+          "No signing key pair for active kid '" + activeKid + "' in " + directory);
+    }
+    return activeKid;
+  }
+
+  /**
+   * Rejects EC keys on any curve but P-256, the only one ES256 and the JWKS
+   * document support.
+   */
+  private static void requireP256(String kid, PublicKey publicKey)
+      throws GeneralSecurityException {
+    if (!(publicKey instanceof ECPublicKey ecKey)) {
+      return;
+    }
+    AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+    parameters.init(new ECGenParameterSpec("secp256r1"));
+    ECParameterSpec p256 = parameters.getParameterSpec(ECParameterSpec.class);
+    ECParameterSpec params = ecKey.getParams();
+    if (params.getCurve().getField().getFieldSize() != 256
+        || !params.getCurve().equals(p256.getCurve())
+        || !params.getGenerator().equals(p256.getGenerator())) {
+      throw new GeneralSecurityException("Key '" + kid + "' uses an unsupported EC curve ("
+          + params.getCurve().getField().getFieldSize() + "-bit field); only P-256 is supported");
+    }
+  }
+
+  /**
+   * Determines the algorithm by trying each supported key type.
+   */
+  private static JwtSigningAlgorithm detectAlgorithm(String publicPem)
+      throws GeneralSecurityException {
+    for (JwtSigningAlgorithm algorithm : JwtSigningAlgorithm.values()) {
+      try {
+        PemKeys.readPublicKey(publicPem, algorithm.getKeyAlgorithm());
+        return algorithm;
+      } catch (GeneralSecurityException e) {
+        log.trace("Key is not {}: {}", algorithm.getKeyAlgorithm(), e.getMessage());
+      }
+    }
+    throw new GeneralSecurityException("Unsupported public key type");
+  }
+}
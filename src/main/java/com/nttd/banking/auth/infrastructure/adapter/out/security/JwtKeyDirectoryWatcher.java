@@ -0,0 +1,108 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Polls the JWT key directory and swaps in a new key ring when its files change,
+ * so keys can be rotated without a restart. A directory that fails to load
+ * leaves the current ring in place.
+ * Only active when {@code jwt.key-directory} is set.
+ */
+@Component
+@org.springframework.context.annotation.Profile("!test")
+@ConditionalOnProperty(name = "jwt.key-directory")
+@Slf4j
+public class JwtKeyDirectoryWatcher {
+
+  private final JwtKeyRingSource keyRingSource;
+  private final Path directory;
+  private final Duration interval;
+  private volatile String fingerprint;
+  private Disposable subscription;
+
+  /**
+   * Creates the watcher for the configured directory.
+   */
+  public JwtKeyDirectoryWatcher(JwtKeyRingSource keyRingSource,
+      @Value("${jwt.key-directory}") String directory,
+      @Value("${jwt.key-reload-interval-seconds:30}") long intervalSeconds) {
+    this.keyRingSource = keyRingSource;
+    this.directory = Path.of(directory);
+    this.interval = Duration.ofSeconds(intervalSeconds);
+  }
+
+  /**
+   * Starts polling after bean initialization.
+   */
+  @PostConstruct
+  public void start() {
+    fingerprint = fingerprint();
+    subscription = Flux.interval(interval, interval, Schedulers.boundedElastic())
+        .concatMap(tick -> Mono.fromRunnable(this::reloadIfChanged)
+            .onErrorResume(e -> {
+              log.error("Failed to reload JWT keys from {}: {}", directory, e.getMessage());
+              return Mono.empty();
+            }))
+        .subscribe();
+    log.info("Watching JWT key directory {} every {}", directory, interval);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  /**
+   * Reloads the key ring if any key file was added, removed or modified.
+   */
+  void reloadIfChanged() {
+    String current = fingerprint();
+    if (current.equals(fingerprint)) {
+      return;
+    }
+    try {
+      keyRingSource.update(JwtKeyDirectoryLoader.load(directory));
+      fingerprint = current;
+    } catch (Exception e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Names, sizes and modification times of the directory entries.
+   */
+  private String fingerprint() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted()
+          .map(file -> {
+            try {
+              return file.getFileName() + ":" + Files.size(file) + ":"
+                  + Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          })
+          .collect(Collectors.joining("|"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
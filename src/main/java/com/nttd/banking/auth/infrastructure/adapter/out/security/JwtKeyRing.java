@@ -0,0 +1,141 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import com.nttd.banking.auth.domain.model.VerificationKey;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of JWT keys: one active signing key plus any number of
+ * verification-only keys, indexed by key ID for constant-time lookup.
+ * A new instance is built on every reload and swapped in atomically.
+ */
+public final class JwtKeyRing {
+
+  private final String activeKid;
+  private final JwtSigningAlgorithm activeAlgorithm;
+  private final PrivateKey activePrivateKey;
+  private final Map<String, VerificationKey> verificationKeys;
+  private final List<VerificationKey> publishedKeys;
+
+  private JwtKeyRing(String activeKid, JwtSigningAlgorithm activeAlgorithm,
+      PrivateKey activePrivateKey, Map<String, VerificationKey> verificationKeys) {
+    this.activeKid = activeKid;
+    this.activeAlgorithm = activeAlgorithm;
+    this.activePrivateKey = activePrivateKey;
+    this.verificationKeys = Collections.unmodifiableMap(verificationKeys);
+    this.publishedKeys = List.copyOf(verificationKeys.values());
+  }
+
+  /**
+   * Builds a ring holding a single key pair, used for both signing and verification.
+   */
+  public static JwtKeyRing single(String kid, JwtSigningAlgorithm algorithm, KeyPair keyPair) {
+    return builder().signingKey(kid, algorithm, keyPair).build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public String getActiveKid() {
+    return activeKid;
+  }
+
+  public JwtSigningAlgorithm getActiveAlgorithm() {
+    return activeAlgorithm;
+  }
+
+  public PrivateKey getActivePrivateKey() {
+    return activePrivateKey;
+  }
+
+  /**
+   * Public key of the active signing key.
+   */
+  public PublicKey getActivePublicKey() {
+    return verificationKeys.get(activeKid).getPublicKey();
+  }
+
+  /**
+   * Looks up a verification key by its ID.
+   *
+   * @param kid the key ID from the token header
+   * @return the key, or null if the ring does not contain it
+   */
+  public VerificationKey findVerificationKey(String kid) {
+    return verificationKeys.get(kid);
+  }
+
+  /**
+   * All verification keys, active key first.
+   */
+  public List<VerificationKey> getVerificationKeys() {
+    return publishedKeys;
+  }
+
+  /**
+   * Builder for {@link JwtKeyRing}.
+   */
+  public static final class Builder {
+
+    private final Map<String, VerificationKey> verificationKeys = new LinkedHashMap<>();
+    private String activeKid;
+    private JwtSigningAlgorithm activeAlgorithm;
+    private PrivateKey activePrivateKey;
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the active signing key; its public half is also used for verification.
+     */
+    public Builder signingKey(String kid, JwtSigningAlgorithm algorithm, KeyPair keyPair) {
+      this.activeKid = kid;
+      this.activeAlgorithm = algorithm;
+      this.activePrivateKey = keyPair.getPrivate();
+      return verificationKey(kid, algorithm, keyPair.getPublic());
+    }
+
+    /**
+     * Adds a key that is only accepted for verification.
+     */
+    public Builder verificationKey(String kid, JwtSigningAlgorithm algorithm, PublicKey key) {
+      verificationKeys.put(kid, VerificationKey.builder()
+          .kid(kid)
+          .algorithm(algorithm.getId())
+          .publicKey(key)
+          .build());
+      return this;
+    }
+
+    /**
+     * Builds the ring, listing the active key first.
+     *
+     * @throws IllegalStateException if no signing key was set
+     */
+    public JwtKeyRing build() {
+      if (activeKid == null) {
+        throw new IllegalStateException("JWT key ring has no active signing key");
+      }
+      Map<String, VerificationKey> ordered = new LinkedHashMap<>();
+      List<VerificationKey> others = new ArrayList<>();
+      verificationKeys.forEach((kid, key) -> {
+        // Fresh instances, so building never touches a ring already published
+        VerificationKey marked = key.toBuilder().active(kid.equals(activeKid)).build();
+        if (marked.isActive()) {
+          ordered.put(kid, marked);
+        } else {
+          others.add(marked);
+        }
+      });
+      others.forEach(key -> ordered.put(key.getKid(), key));
+      return new JwtKeyRing(activeKid, activeAlgorithm, activePrivateKey, ordered);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link JwtKeyRing}. Readers always see a complete ring;
+ * reloads replace it atomically so signing and verification never block.
+ */
+@Slf4j
+public class JwtKeyRingSource {
+
+  private final AtomicReference<JwtKeyRing> current;
+
+  public JwtKeyRingSource(JwtKeyRing initial) {
+    this.current = new AtomicReference<>(initial);
+  }
+
+  public JwtKeyRing current() {
+    return current.get();
+  }
+
+  /**
+   * Replaces the current ring.
+   *
+   * @param keyRing the newly loaded ring
+   */
+  public void update(JwtKeyRing keyRing) {
+    JwtKeyRing previous = current.getAndSet(keyRing);
+    log.info("JWT key ring updated: active kid {} -> {}, {} verification keys",
+        previous.getActiveKid(), keyRing.getActiveKid(), keyRing.getVerificationKeys().size());
+  }
+}
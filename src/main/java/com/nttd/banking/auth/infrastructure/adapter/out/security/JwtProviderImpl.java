@@ -1,97 +1,139 @@
 package com.nttd.banking.auth.infrastructure.adapter.out.security;
 
 import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.MintedToken;
 import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.domain.model.VerificationKey;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
+import com.nttd.banking.auth.infrastructure.config.CryptoSchedulerConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import java.security.PrivateKey;
-import java.security.PublicKey;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import java.security.Key;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * JWT provider implementation using JJWT library.
  * Only loads when not in test profile.
+ *
+ * <p>The {@link JwtParser} is immutable and thread-safe, so it is built once
+ * and shared by every verification instead of being rebuilt per call. Tokens
+ * are signed with the key ring's active key and carry its {@code kid} header;
+ * the parser resolves the verification key by {@code kid} from the current
+ * ring, so rotated keys take effect without rebuilding it. Minting signs on
+ * the bounded crypto scheduler so it never runs on the event loop. Every
+ * token carries its owner's token generation in the {@code gen} claim.
  */
 @Component
 @org.springframework.context.annotation.Profile("!test")
-@RequiredArgsConstructor
 @Slf4j
 public class JwtProviderImpl implements JwtProvider {
 
-  private final PrivateKey privateKey;
-  private final PublicKey publicKey;
+  static final String GENERATION_CLAIM = "gen";
+  private static final long INITIAL_GENERATION = 0L;
+
+  private final JwtKeyRingSource keyRingSource;
   private final long accessTokenExpiration;
   private final long refreshTokenExpiration;
+  private final JwtParser parser;
+  private final Scheduler cryptoScheduler;
 
-  @Override
-  public JwtToken generateAccessToken(User user) {
-    Date now = new Date();
-    Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
-    String jti = UUID.randomUUID().toString();
-
-    log.debug("Generated access token for user: {}", user.getUsername());
-
-    return JwtToken.builder()
-        .jti(jti)
-        .userId(user.getId())
-        .username(user.getUsername())
-        .roles(user.getRoles())
-        .userType(user.getUserType().name())
-        .issuedAt(toLocalDateTime(now))
-        .expiresAt(toLocalDateTime(expiryDate))
-        .tokenType("ACCESS")
+  /**
+   * Creates the provider and pre-builds the verifying parser.
+   */
+  public JwtProviderImpl(JwtKeyRingSource keyRingSource,
+      long accessTokenExpiration, long refreshTokenExpiration,
+      @Qualifier(CryptoSchedulerConfig.CRYPTO_SCHEDULER) Scheduler cryptoScheduler) {
+    this.keyRingSource = keyRingSource;
+    this.cryptoScheduler = cryptoScheduler;
+    this.accessTokenExpiration = accessTokenExpiration;
+    this.refreshTokenExpiration = refreshTokenExpiration;
+    this.parser = Jwts.parser()
+        .keyLocator(new KidKeyLocator())
         .build();
   }
 
   @Override
-  public String generateAccessTokenString(User user) {
-    Date now = new Date();
+  public Mono<MintedToken> mintAccessToken(User user, long generation) {
+    return Mono.fromCallable(() -> signAccessToken(user, generation))
+        .subscribeOn(cryptoScheduler);
+  }
+
+  @Override
+  public Mono<MintedToken> mintRefreshToken(User user, long generation) {
+    return Mono.fromCallable(() -> signRefreshToken(user, generation))
+        .subscribeOn(cryptoScheduler);
+  }
+
+  /**
+   * Signs an access token on the calling thread.
+   */
+  private MintedToken signAccessToken(User user, long generation) {
+    JwtKeyRing keyRing = keyRingSource.current();
+    Date now = nowInSeconds();
     Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
+    String jti = UUID.randomUUID().toString();
 
-    return Jwts.builder()
-        .id(UUID.randomUUID().toString())
+    String token = Jwts.builder()
+        .header().keyId(keyRing.getActiveKid()).and()
+        .id(jti)
         .subject(user.getId())
         .claim("username", user.getUsername())
         .claim("email", user.getEmail())
         .claim("roles", user.getRoles())
         .claim("userType", user.getUserType().name())
         .claim("tokenType", "ACCESS")
+        .claim(GENERATION_CLAIM, generation)
         .issuedAt(now)
         .expiration(expiryDate)
-        .signWith(privateKey, Jwts.SIG.RS256)
+        .signWith(keyRing.getActivePrivateKey(),
+            keyRing.getActiveAlgorithm().getSignatureAlgorithm())
         .compact();
+
+    return minted(token, jti, now, expiryDate, "ACCESS");
   }
 
-  @Override
-  public String generateRefreshToken(User user) {
-    Date now = new Date();
+  /**
+   * Signs a refresh token on the calling thread.
+   */
+  private MintedToken signRefreshToken(User user, long generation) {
+    JwtKeyRing keyRing = keyRingSource.current();
+    Date now = nowInSeconds();
     Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
+    String jti = UUID.randomUUID().toString();
 
-    return Jwts.builder()
-        .id(UUID.randomUUID().toString())
+    String token = Jwts.builder()
+        .header().keyId(keyRing.getActiveKid()).and()
+        .id(jti)
         .subject(user.getId())
         .claim("tokenType", "REFRESH")
+        .claim(GENERATION_CLAIM, generation)
         .issuedAt(now)
         .expiration(expiryDate)
-        .signWith(privateKey, Jwts.SIG.RS256)
+        .signWith(keyRing.getActivePrivateKey(),
+            keyRing.getActiveAlgorithm().getSignatureAlgorithm())
         .compact();
+
+    return minted(token, jti, now, expiryDate, "REFRESH");
   }
 
   @Override
   public JwtToken validateToken(String token) {
-    Claims claims = Jwts.parser()
-        .verifyWith(publicKey)
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
+    Claims claims = parser.parseSignedClaims(token).getPayload();
 
     @SuppressWarnings("unchecked")
     List<String> roles = (List<String>) claims.get("roles");
@@ -105,17 +147,22 @@ public class JwtProviderImpl implements JwtProvider {
         .issuedAt(toLocalDateTime(claims.getIssuedAt()))
         .expiresAt(toLocalDateTime(claims.getExpiration()))
         .tokenType(claims.get("tokenType", String.class))
+        .generation(generation(claims))
         .build();
   }
 
+  /**
+   * Token generation claim; tokens issued before generations existed count as
+   * the initial generation.
+   */
+  private static long generation(Claims claims) {
+    Number generation = claims.get(GENERATION_CLAIM, Number.class);
+    return generation == null ? INITIAL_GENERATION : generation.longValue();
+  }
+
   @Override
   public String extractJti(String token) {
-    Claims claims = Jwts.parser()
-        .verifyWith(publicKey)
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
-    return claims.getId();
+    return parser.parseSignedClaims(token).getPayload().getId();
   }
 
   @Override
@@ -124,8 +171,30 @@ public class JwtProviderImpl implements JwtProvider {
   }
 
   @Override
-  public PublicKey getPublicKey() {
-    return publicKey;
+  public List<VerificationKey> getVerificationKeys() {
+    return keyRingSource.current().getVerificationKeys();
+  }
+
+  /**
+   * Current time truncated to whole seconds, the precision JWT dates are
+   * serialized with, so minted metadata matches what a parser reads back.
+   */
+  private Date nowInSeconds() {
+    return Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+  }
+
+  /**
+   * Wraps a signed token with the values it was signed with.
+   */
+  private MintedToken minted(String token, String jti, Date issuedAt, Date expiresAt,
+      String tokenType) {
+    return MintedToken.builder()
+        .token(token)
+        .jti(jti)
+        .issuedAt(toLocalDateTime(issuedAt))
+        .expiresAt(toLocalDateTime(expiresAt))
+        .tokenType(tokenType)
+        .build();
   }
 
   /**
@@ -134,4 +203,26 @@ public class JwtProviderImpl implements JwtProvider {
   private LocalDateTime toLocalDateTime(Date date) {
     return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
   }
+
+  /**
+   * Resolves the verification key from the token's {@code kid} header.
+   * Tokens issued before key IDs were added carry no kid and are verified
+   * with the active key.
+   */
+  private class KidKeyLocator extends LocatorAdapter<Key> {
+
+    @Override
+    protected Key locate(JwsHeader header) {
+      JwtKeyRing keyRing = keyRingSource.current();
+      String kid = header.getKeyId();
+      if (kid == null) {
+        return keyRing.getActivePublicKey();
+      }
+      VerificationKey key = keyRing.findVerificationKey(kid);
+      if (key == null) {
+        throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+      }
+      return key.getPublicKey();
+    }
+  }
 }
@@ -0,0 +1,62 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.util.Arrays;
+
+/**
+ * Supported JWT signing algorithms and the key type each one needs.
+ */
+public enum JwtSigningAlgorithm {
+  /** RSASSA-PKCS1-v1_5 with SHA-256, RSA keys (2048 bits or more). */
+  RS256("RS256", "RSA", Jwts.SIG.RS256),
+
+  /** ECDSA with P-256 and SHA-256. */
+  ES256("ES256", "EC", Jwts.SIG.ES256),
+
+  /** Ed25519 signatures (native since JDK 15). */
+  EDDSA("EdDSA", "Ed25519", Jwts.SIG.EdDSA);
+
+  private final String id;
+  private final String keyAlgorithm;
+  private final SignatureAlgorithm signatureAlgorithm;
+
+  JwtSigningAlgorithm(String id, String keyAlgorithm, SignatureAlgorithm signatureAlgorithm) {
+    this.id = id;
+    this.keyAlgorithm = keyAlgorithm;
+    this.signatureAlgorithm = signatureAlgorithm;
+  }
+
+  /**
+   * JWA identifier written to the {@code alg} header and JWKS.
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Algorithm name for {@link java.security.KeyFactory} when loading PEM keys.
+   */
+  public String getKeyAlgorithm() {
+    return keyAlgorithm;
+  }
+
+  public SignatureAlgorithm getSignatureAlgorithm() {
+    return signatureAlgorithm;
+  }
+
+  /**
+   * Resolves an algorithm from its JWA identifier (case-insensitive).
+   *
+   * @param id the JWA identifier, e.g. RS256, ES256 or EdDSA
+   * @return the matching algorithm
+   * @throws IllegalArgumentException if the algorithm is not supported
+   */
+  public static JwtSigningAlgorithm fromId(String id) {
+    return Arrays.stream(values())
+        .filter(alg -> alg.id.equalsIgnoreCase(id))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException(
+            "Unsupported JWT signing algorithm: " + id));
+  }
+}
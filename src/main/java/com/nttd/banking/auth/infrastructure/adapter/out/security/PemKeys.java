@@ -0,0 +1,56 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Reads PKCS#8 private keys and X.509 public keys from PEM text.
+ */
+public final class PemKeys {
+
+  private PemKeys() {
+    // Utility class
+  }
+
+  /**
+   * Parses a PKCS#8 PEM private key.
+   *
+   * @param pem the PEM content
+   * @param keyAlgorithm the KeyFactory algorithm (RSA, EC, Ed25519)
+   * @return the private key
+   */
+  public static PrivateKey readPrivateKey(String pem, String keyAlgorithm)
+      throws GeneralSecurityException {
+    byte[] keyBytes = decode(pem, "PRIVATE KEY");
+    return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(keyBytes));
+  }
+
+  /**
+   * Parses an X.509 PEM public key.
+   *
+   * @param pem the PEM content
+   * @param keyAlgorithm the KeyFactory algorithm (RSA, EC, Ed25519)
+   * @return the public key
+   */
+  public static PublicKey readPublicKey(String pem, String keyAlgorithm)
+      throws GeneralSecurityException {
+    byte[] keyBytes = decode(pem, "PUBLIC KEY");
+    return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(keyBytes));
+  }
+
+  /**
+   * Strips the PEM armor and decodes the Base64 body.
+   */
+  private static byte[] decode(String pem, String label) {
+    String keyContent = pem
+        .replace("-----BEGIN " + label + "-----", "")
+        .replace("-----END " + label + "-----", "")
+        .replaceAll("\\s", "");
+    return Base64.getDecoder().decode(keyContent);
+  }
+}
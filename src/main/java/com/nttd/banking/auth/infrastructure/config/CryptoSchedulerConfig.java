@@ -0,0 +1,69 @@
+package com.nttd.banking.auth.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Dedicated worker pool for CPU-heavy crypto (BCrypt hashing, token signing).
+ *
+ * <p>Keeps that work off the Netty event loop. The pool and its queue are
+ * bounded; when the queue is full new work is rejected immediately with a
+ * {@link java.util.concurrent.RejectedExecutionException} instead of piling
+ * up. Micrometer's executor metrics publish pool size, active and queued
+ * tasks ({@code executor.queued}) and queue wait time ({@code executor.idle})
+ * under {@code name=crypto}.
+ * Only loads when not in test profile.
+ */
+@Configuration
+@org.springframework.context.annotation.Profile("!test")
+@Slf4j
+public class CryptoSchedulerConfig {
+
+  public static final String CRYPTO_SCHEDULER = "cryptoScheduler";
+
+  @Value("${crypto.pool.size:0}")
+  private int poolSize;
+
+  @Value("${crypto.pool.queue-capacity:256}")
+  private int queueCapacity;
+
+  /**
+   * Bounded, instrumented scheduler for crypto work.
+   * A pool size of 0 means one thread per available processor.
+   */
+  @Bean(name = CRYPTO_SCHEDULER, destroyMethod = "dispose")
+  public Scheduler cryptoScheduler(MeterRegistry meterRegistry) {
+    int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        threads, threads,
+        0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        cryptoThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy());
+
+    ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, "crypto");
+    log.info("Crypto scheduler created: {} threads, queue capacity {}", threads, queueCapacity);
+    return Schedulers.fromExecutorService(monitored, "crypto");
+  }
+
+  private ThreadFactory cryptoThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "crypto-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
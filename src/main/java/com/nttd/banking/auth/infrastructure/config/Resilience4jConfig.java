@@ -1,61 +1,128 @@
 package com.nttd.banking.auth.infrastructure.config;
 
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import java.time.Duration;
+import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Resilience4j configuration for circuit breaker pattern.
- * Provides fault tolerance for external service calls.
+ * Resilience4j configuration for the outbound ports.
+ *
+ * <p>Each port gets its own bulkhead, time limiter and circuit breaker,
+ * created in the Resilience4j registries so their state is published as
+ * {@code resilience4j.circuitbreaker.*}, {@code resilience4j.bulkhead.*} and
+ * {@code resilience4j.timelimiter.*} metrics tagged with the port name.
+ * Fallback policies:
+ * <ul>
+ *   <li>{@code tokenCache} (Redis): fail closed; revocation checks and
+ *       session writes error with 503 rather than let a token through</li>
+ *   <li>{@code tokenCache} token generations: lookups use the last
+ *       generation the node saw, or fail with 503 if it saw none; bumps fail
+ *       with 503</li>
+ *   <li>{@code userRepository} (MongoDB): fail with 503</li>
+ *   <li>{@code userEvents} (Kafka): login events are skipped, registration
+ *       events fail as before</li>
+ * </ul>
  */
 @Configuration
 @Slf4j
 public class Resilience4jConfig {
 
   /**
-   * Circuit breaker for external validations and service calls.
+   * Guard for the Redis token cache.
+   */
+  @Bean
+  public PortResilience tokenCacheResilience(CircuitBreakerRegistry circuitBreakers,
+      BulkheadRegistry bulkheads, TimeLimiterRegistry timeLimiters,
+      @Value("${resilience.token-cache.timeout-ms:250}") long timeoutMs,
+      @Value("${resilience.token-cache.max-concurrent-calls:500}") int maxConcurrentCalls) {
+    return portResilience("tokenCache", circuitBreakers, bulkheads, timeLimiters,
+        Duration.ofMillis(timeoutMs), maxConcurrentCalls, PortResilience::isUnavailable);
+  }
+
+  /**
+   * Guard for the MongoDB user repository.
+   */
+  @Bean
+  public PortResilience userRepositoryResilience(CircuitBreakerRegistry circuitBreakers,
+      BulkheadRegistry bulkheads, TimeLimiterRegistry timeLimiters,
+      @Value("${resilience.user-repository.timeout-ms:1000}") long timeoutMs,
+      @Value("${resilience.user-repository.max-concurrent-calls:200}") int maxConcurrentCalls) {
+    return portResilience("userRepository", circuitBreakers, bulkheads, timeLimiters,
+        Duration.ofMillis(timeoutMs), maxConcurrentCalls, PortResilience::isUnavailable);
+  }
+
+  /**
+   * Guard for the Kafka event publisher. Every publish error counts as a failure.
+   */
+  @Bean
+  public PortResilience userEventsResilience(CircuitBreakerRegistry circuitBreakers,
+      BulkheadRegistry bulkheads, TimeLimiterRegistry timeLimiters,
+      @Value("${resilience.user-events.timeout-ms:2000}") long timeoutMs,
+      @Value("${resilience.user-events.max-concurrent-calls:100}") int maxConcurrentCalls) {
+    return portResilience("userEvents", circuitBreakers, bulkheads, timeLimiters,
+        Duration.ofMillis(timeoutMs), maxConcurrentCalls, error -> true);
+  }
+
+  /**
+   * Builds a port guard.
    *
-   * <p>Configuration:
+   * <p>Circuit breaker configuration:
    * <ul>
    *   <li>Sliding window size: 10 calls</li>
    *   <li>Failure rate threshold: 50%</li>
    *   <li>Wait duration in open state: 10 seconds</li>
    *   <li>Permitted calls in half-open state: 3</li>
-   *   <li>Slow call threshold: 2 seconds</li>
-   *   <li>Slow call rate threshold: 50%</li>
+   *   <li>Recorded failures: errors matching {@code recordFailure}, timeouts included</li>
    * </ul>
-   *
-   * @return configured CircuitBreaker instance
+   * The bulkhead does not queue: calls beyond the limit are rejected at once.
    */
-  @Bean
-  public CircuitBreaker validationCircuitBreaker() {
-    CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+  private PortResilience portResilience(String name, CircuitBreakerRegistry circuitBreakers,
+      BulkheadRegistry bulkheads, TimeLimiterRegistry timeLimiters, Duration timeout,
+      int maxConcurrentCalls, Predicate<Throwable> recordFailure) {
+    CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
         .slidingWindowSize(10)
         .failureRateThreshold(50.0f)
         .waitDurationInOpenState(Duration.ofSeconds(10))
         .permittedNumberOfCallsInHalfOpenState(3)
-        .slowCallDurationThreshold(Duration.ofSeconds(2))
-        .slowCallRateThreshold(50.0f)
+        .recordException(recordFailure)
+        .build();
+    BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+        .maxConcurrentCalls(maxConcurrentCalls)
+        .maxWaitDuration(Duration.ZERO)
+        .build();
+    TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom()
+        .timeoutDuration(timeout)
+        .cancelRunningFuture(true)
         .build();
 
-    CircuitBreaker circuitBreaker = CircuitBreaker.of("validation", config);
+    CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(name, circuitBreakerConfig);
+    Bulkhead bulkhead = bulkheads.bulkhead(name, bulkheadConfig);
+    TimeLimiter timeLimiter = timeLimiters.timeLimiter(name, timeLimiterConfig);
 
     // Register event listeners for monitoring
     circuitBreaker.getEventPublisher()
         .onStateTransition(event ->
-            log.warn("Circuit Breaker state transition: {}", event))
+            log.warn("Circuit Breaker {} state transition: {}", name,
+                event.getStateTransition()))
         .onFailureRateExceeded(event ->
-            log.error("Circuit Breaker failure rate exceeded: {}%",
+            log.error("Circuit Breaker {} failure rate exceeded: {}%", name,
                 event.getFailureRate()))
         .onCallNotPermitted(event ->
-            log.warn("Circuit Breaker call not permitted"))
-        .onError(event ->
-            log.error("Circuit Breaker error occurred: {}",
-                event.getThrowable().getMessage()));
+            log.warn("Circuit Breaker {} call not permitted", name));
 
-    return circuitBreaker;
+    return new PortResilience(name, circuitBreaker, bulkhead, timeLimiter);
   }
 }
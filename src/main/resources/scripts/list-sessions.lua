@@ -0,0 +1,19 @@
+-- Lists a user's live sessions, trimming expired ones first.
+-- KEYS[1] session index (sorted set: refresh JTI scored by expiry)
+-- KEYS[2] session details
+--         (hash: refresh JTI -> "<createdAtMillis>:<accessExpiresAtMillis>:<accessJti>")
+-- ARGV[1] now in epoch milliseconds
+-- Returns a flat list of refresh JTI, expiry millis, details triples, oldest first.
+for _, expired in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])) do
+  redis.call('HDEL', KEYS[2], expired)
+end
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+
+local sessions = {}
+local live = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+for i = 1, #live, 2 do
+  table.insert(sessions, live[i])
+  table.insert(sessions, live[i + 1])
+  table.insert(sessions, redis.call('HGET', KEYS[2], live[i]) or '')
+end
+return sessions
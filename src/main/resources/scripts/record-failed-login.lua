@@ -0,0 +1,34 @@
+-- Records a failed login in a sliding window and locks the account with
+-- exponential back-off once the window holds too many failures.
+-- KEYS[1] failure timestamps (sorted set)
+-- KEYS[2] lockout marker
+-- KEYS[3] lockout strike counter
+-- ARGV[1] now in epoch milliseconds
+-- ARGV[2] window in milliseconds
+-- ARGV[3] failures allowed within the window
+-- ARGV[4] first lockout in milliseconds
+-- ARGV[5] longest lockout in milliseconds
+-- ARGV[6] how long strikes are remembered, in milliseconds
+-- ARGV[7] unique member for this attempt
+-- Returns the remaining lockout in milliseconds, or 0 when not locked.
+local locked = redis.call('PTTL', KEYS[2])
+if locked > 0 then
+  return locked
+end
+
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+redis.call('ZADD', KEYS[1], now, ARGV[7])
+redis.call('PEXPIRE', KEYS[1], window)
+if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[3]) then
+  return 0
+end
+
+local strikes = redis.call('INCR', KEYS[3])
+redis.call('PEXPIRE', KEYS[3], ARGV[6])
+local lockout = math.min(tonumber(ARGV[4]) * 2 ^ (strikes - 1), tonumber(ARGV[5]))
+lockout = math.floor(lockout)
+redis.call('SET', KEYS[2], strikes, 'PX', lockout)
+redis.call('DEL', KEYS[1])
+return lockout
@@ -0,0 +1,55 @@
+-- Adds a session to a user's index, trims expired sessions and revokes the
+-- oldest sessions beyond the concurrent-session limit.
+-- Runs after the revocation storage and stream libraries, which define
+-- revoke() and announce().
+-- KEYS[1] session index (sorted set: refresh JTI scored by expiry)
+-- KEYS[2] session details (hash: refresh JTI -> "<createdAtMillis>:<accessExpiresAtMillis>:<accessJti>")
+-- ARGV[1] now in epoch milliseconds
+-- ARGV[2] refresh JTI of the new session
+-- ARGV[3] refresh token expiry in epoch milliseconds
+-- ARGV[4] access JTI of the new session
+-- ARGV[5] access token expiry in epoch milliseconds
+-- ARGV[6] concurrent-session limit, 0 for none
+-- ARGV[7] token pair key prefix
+-- Returns the evicted sessions as a flat list of refresh JTI, access JTI pairs.
+local now = tonumber(ARGV[1])
+
+for _, expired in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now)) do
+  redis.call('HDEL', KEYS[2], expired)
+end
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now)
+
+redis.call('ZADD', KEYS[1], ARGV[3], ARGV[2])
+redis.call('HSET', KEYS[2], ARGV[2], ARGV[1] .. ':' .. ARGV[5] .. ':' .. ARGV[4])
+
+local evicted = {}
+local limit = tonumber(ARGV[6])
+local excess = redis.call('ZCARD', KEYS[1]) - limit
+if limit > 0 and excess > 0 then
+  local oldest = redis.call('ZRANGE', KEYS[1], 0, excess - 1, 'WITHSCORES')
+  for i = 1, #oldest, 2 do
+    local refreshJti = oldest[i]
+    local session = redis.call('HGET', KEYS[2], refreshJti)
+    revoke(refreshJti, tonumber(oldest[i + 1]), now)
+    announce(refreshJti, ARGV[1])
+    local accessJti = ''
+    if session then
+      local _, accessExpiresAt, jti = string.match(session, '^(%d+):(%d+):(.+)$')
+      accessJti = jti
+      revoke(accessJti, tonumber(accessExpiresAt), now)
+      redis.call('DEL', ARGV[7] .. accessJti)
+      announce(accessJti, ARGV[1])
+    end
+    redis.call('ZREM', KEYS[1], refreshJti)
+    redis.call('HDEL', KEYS[2], refreshJti)
+    table.insert(evicted, refreshJti)
+    table.insert(evicted, accessJti)
+  end
+end
+
+-- Both keys live as long as the longest-lived session
+local latest = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+local ttl = tonumber(latest[2]) - now
+redis.call('PEXPIRE', KEYS[1], ttl)
+redis.call('PEXPIRE', KEYS[2], ttl)
+return evicted
@@ -0,0 +1,8 @@
+-- Lists the JTIs held by one revocation bucket.
+-- KEYS[1] revocation bucket (set of 16-byte JTIs)
+-- Returns the JTIs in their text form.
+local jtis = {}
+for _, member in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+  table.insert(jtis, decode(member))
+end
+return jtis
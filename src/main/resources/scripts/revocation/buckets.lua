@@ -0,0 +1,52 @@
+-- Revocation storage: JTIs as 16 raw bytes in one set per expiry minute, so
+-- Redis keeps a single key and TTL per minute instead of one per token.
+-- Prepended to every script that revokes or looks up tokens.
+local BUCKET_PREFIX = 'token:revoked:'
+local BUCKET_MILLIS = 60000
+
+-- UUID text to its 16 bytes; any other JTI is stored as is
+local function encode(jti)
+  local hex = string.gsub(jti, '%-', '')
+  if #hex ~= 32 or string.find(hex, '%X') then
+    return jti
+  end
+  return (string.gsub(hex, '%x%x', function(byte)
+    return string.char(tonumber(byte, 16))
+  end))
+end
+
+local function decode(member)
+  if #member ~= 16 then
+    return member
+  end
+  local hex = string.gsub(member, '.', function(byte)
+    return string.format('%02x', string.byte(byte))
+  end)
+  return string.sub(hex, 1, 8) .. '-' .. string.sub(hex, 9, 12) .. '-'
+      .. string.sub(hex, 13, 16) .. '-' .. string.sub(hex, 17, 20) .. '-'
+      .. string.sub(hex, 21, 32)
+end
+
+local function bucket(expiresAt)
+  return math.floor(expiresAt / BUCKET_MILLIS)
+end
+
+local function revoke(jti, expiresAt, now)
+  if expiresAt > now then
+    local minute = bucket(expiresAt)
+    local key = BUCKET_PREFIX .. minute
+    redis.call('SADD', key, encode(jti))
+    -- Every member of the bucket shares this deadline
+    redis.call('PEXPIREAT', key, (minute + 1) * BUCKET_MILLIS)
+  end
+end
+
+-- Revocations are stored up to a second after the token's own expiry, so an
+-- entry may sit in the bucket following the token's expiry minute
+local function isRevoked(jti, expiresAt)
+  local member = encode(jti)
+  local minute = bucket(expiresAt)
+  return redis.call('SISMEMBER', BUCKET_PREFIX .. minute, member) == 1
+      or redis.call('SISMEMBER', BUCKET_PREFIX .. (minute + 1), member) == 1
+end
+
@@ -0,0 +1,8 @@
+-- Checks JTIs against the bucketed revocation sets.
+-- ARGV JTI, token expiry in epoch milliseconds pairs
+-- Returns 1 for each revoked JTI and 0 otherwise, in order.
+local revoked = {}
+for i = 1, #ARGV, 2 do
+  table.insert(revoked, isRevoked(ARGV[i], tonumber(ARGV[i + 1])) and 1 or 0)
+end
+return revoked
@@ -0,0 +1,8 @@
+-- Revocation storage: one string key per revoked JTI, expiring with the token.
+-- Prepended to every script that revokes tokens.
+local function revoke(jti, expiresAt, now)
+  if expiresAt > now then
+    redis.call('SET', 'token:blacklist:' .. jti, 'revoked', 'PX', expiresAt - now)
+  end
+end
+
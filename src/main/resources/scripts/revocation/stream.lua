@@ -0,0 +1,8 @@
+-- Revocation stream: every revocation is appended to a capped stream that
+-- nodes read from the last entry they applied, so a disconnect loses nothing.
+-- Prepended, after REVOCATION_STREAM, REVOCATION_STREAM_MAX_LENGTH and the
+-- publishing node's REVOCATION_ORIGIN, to every script that revokes tokens.
+local function announce(jti, now)
+  redis.call('XADD', REVOCATION_STREAM, 'MAXLEN', '~', REVOCATION_STREAM_MAX_LENGTH, '*',
+      'jti', jti, 'at', now, 'origin', REVOCATION_ORIGIN)
+end
@@ -0,0 +1,29 @@
+-- Revokes every live session of a user and drops the session index.
+-- Runs after the revocation storage and stream libraries, which define
+-- revoke() and announce().
+-- KEYS[1] session index (sorted set: refresh JTI scored by expiry)
+-- KEYS[2] session details (hash: refresh JTI -> "<createdAtMillis>:<accessExpiresAtMillis>:<accessJti>")
+-- ARGV[1] now in epoch milliseconds
+-- ARGV[2] token pair key prefix
+-- Returns the revoked sessions as a flat list of refresh JTI, access JTI pairs.
+local now = tonumber(ARGV[1])
+local revoked = {}
+local live = redis.call('ZRANGEBYSCORE', KEYS[1], '(' .. now, '+inf', 'WITHSCORES')
+for i = 1, #live, 2 do
+  local refreshJti = live[i]
+  local session = redis.call('HGET', KEYS[2], refreshJti)
+  revoke(refreshJti, tonumber(live[i + 1]), now)
+  announce(refreshJti, ARGV[1])
+  local accessJti = ''
+  if session then
+    local _, accessExpiresAt, jti = string.match(session, '^(%d+):(%d+):(.+)$')
+    accessJti = jti
+    revoke(accessJti, tonumber(accessExpiresAt), now)
+    redis.call('DEL', ARGV[2] .. accessJti)
+    announce(accessJti, ARGV[1])
+  end
+  table.insert(revoked, refreshJti)
+  table.insert(revoked, accessJti)
+end
+redis.call('DEL', KEYS[1], KEYS[2])
+return revoked
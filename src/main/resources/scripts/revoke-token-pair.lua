@@ -0,0 +1,30 @@
+-- Revokes an access token and its paired refresh token atomically.
+-- Runs after the revocation storage and stream libraries, which define
+-- revoke() and announce().
+-- KEYS[1] token pair key (access JTI -> refresh JTI), expiring with the refresh token
+-- KEYS[2] the user's session index (sorted set)
+-- KEYS[3] the user's session details (hash)
+-- ARGV[1] access JTI
+-- ARGV[2] access token expiry in epoch milliseconds
+-- ARGV[3] refresh token lifetime in milliseconds, used if the pair has no TTL
+-- ARGV[4] now in epoch milliseconds
+-- Returns the refresh JTI, or an empty string when no pair was stored.
+local now = tonumber(ARGV[4])
+revoke(ARGV[1], tonumber(ARGV[2]), now)
+announce(ARGV[1], ARGV[4])
+
+local refreshJti = redis.call('GET', KEYS[1])
+if not refreshJti then
+  return ''
+end
+
+local remaining = redis.call('PTTL', KEYS[1])
+if remaining < 0 then
+  remaining = tonumber(ARGV[3])
+end
+revoke(refreshJti, now + remaining, now)
+redis.call('DEL', KEYS[1])
+redis.call('ZREM', KEYS[2], refreshJti)
+redis.call('HDEL', KEYS[3], refreshJti)
+announce(refreshJti, ARGV[4])
+return refreshJti
@@ -0,0 +1,9 @@
+-- Revokes a single token.
+-- Runs after the revocation storage and stream libraries, which define
+-- revoke() and announce().
+-- ARGV[1] JTI
+-- ARGV[2] token expiry in epoch milliseconds
+-- ARGV[3] now in epoch milliseconds
+revoke(ARGV[1], tonumber(ARGV[2]), tonumber(ARGV[3]))
+announce(ARGV[1], ARGV[3])
+return 1
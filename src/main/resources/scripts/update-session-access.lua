@@ -0,0 +1,20 @@
+-- Records the latest access JTI of a session after a token refresh and pairs
+-- it with the session's refresh JTI, so logging out with it revokes both.
+-- KEYS[1] session index (sorted set: refresh JTI scored by expiry)
+-- KEYS[2] session details (hash: refresh JTI -> "<createdAtMillis>:<accessExpiresAtMillis>:<accessJti>")
+-- KEYS[3] token pair key of the new access JTI
+-- ARGV[1] refresh JTI
+-- ARGV[2] new access JTI
+-- ARGV[3] new access token expiry in epoch milliseconds
+-- ARGV[4] now in epoch milliseconds
+-- Returns 1 if the session exists, 0 otherwise.
+local session = redis.call('HGET', KEYS[2], ARGV[1])
+local refreshExpiresAt = tonumber(redis.call('ZSCORE', KEYS[1], ARGV[1]))
+if not session or not refreshExpiresAt or refreshExpiresAt <= tonumber(ARGV[4]) then
+  return 0
+end
+local createdAt = string.sub(session, 1, string.find(session, ':', 1, true) - 1)
+redis.call('HSET', KEYS[2], ARGV[1], createdAt .. ':' .. ARGV[3] .. ':' .. ARGV[2])
+-- The pair expires with the refresh token, like the one saved at login
+redis.call('SET', KEYS[3], ARGV[1], 'PX', refreshExpiresAt - tonumber(ARGV[4]))
+return 1
@@ -0,0 +1,155 @@
+package com.nttd.banking.auth.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.nttd.banking.auth.domain.model.JwkKey;
+import com.nttd.banking.auth.domain.model.Jwks;
+import com.nttd.banking.auth.domain.model.VerificationKey;
+import com.nttd.banking.auth.domain.port.out.JwtProvider;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class GetJwksUseCaseImplTest {
+
+  @Mock
+  private JwtProvider jwtProvider;
+
+  @InjectMocks
+  private GetJwksUseCaseImpl getJwksUseCase;
+
+  @Test
+  void whenRsaKey_thenPublishesModulusAndExponent() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    KeyPair keyPair = keyGen.generateKeyPair();
+    when(jwtProvider.getVerificationKeys())
+        .thenReturn(List.of(verificationKey("kid-1", "RS256", keyPair)));
+
+    // When & Then
+    StepVerifier.create(getJwksUseCase.getJwks())
+        .assertNext(jwks -> {
+          JwkKey key = jwks.getKeys().get(0);
+          assertEquals("RSA", key.getKty());
+          assertEquals("RS256", key.getAlg());
+          assertEquals("sig", key.getUse());
+          assertEquals("kid-1", key.getKid());
+          assertEquals("AQAB", key.getE());
+          assertEquals(256, Base64.getUrlDecoder().decode(key.getN()).length);
+          assertNull(key.getCrv());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void whenEcKey_thenPublishesCurveAndCoordinates() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+    keyGen.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair keyPair = keyGen.generateKeyPair();
+    when(jwtProvider.getVerificationKeys())
+        .thenReturn(List.of(verificationKey("kid-1", "ES256", keyPair)));
+
+    // When & Then
+    StepVerifier.create(getJwksUseCase.getJwks())
+        .assertNext(jwks -> {
+          JwkKey key = jwks.getKeys().get(0);
+          assertEquals("EC", key.getKty());
+          assertEquals("ES256", key.getAlg());
+          assertEquals("P-256", key.getCrv());
+          assertEquals(32, Base64.getUrlDecoder().decode(key.getX()).length);
+          assertEquals(32, Base64.getUrlDecoder().decode(key.getY()).length);
+          assertNull(key.getN());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void whenEd25519Key_thenPublishesOkpKey() throws Exception {
+    // Given
+    KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    when(jwtProvider.getVerificationKeys())
+        .thenReturn(List.of(verificationKey("kid-1", "EdDSA", keyPair)));
+
+    // When & Then
+    StepVerifier.create(getJwksUseCase.getJwks())
+        .assertNext(jwks -> {
+          JwkKey key = jwks.getKeys().get(0);
+          assertEquals("OKP", key.getKty());
+          assertEquals("EdDSA", key.getAlg());
+          assertEquals("Ed25519", key.getCrv());
+          assertEquals(32, Base64.getUrlDecoder().decode(key.getX()).length);
+          assertNull(key.getY());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void whenSeveralKeys_thenPublishesEachWithItsKid() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    when(jwtProvider.getVerificationKeys()).thenReturn(List.of(
+        verificationKey("key-2", "RS256", keyGen.generateKeyPair()),
+        verificationKey("key-1", "RS256", keyGen.generateKeyPair())));
+
+    // When & Then
+    StepVerifier.create(getJwksUseCase.getJwks())
+        .assertNext(jwks -> assertEquals(List.of("key-2", "key-1"),
+            jwks.getKeys().stream().map(JwkKey::getKid).toList()))
+        .verifyComplete();
+  }
+
+  @Test
+  void whenKeysUnchanged_thenReusesBuiltDocument() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    List<VerificationKey> keys = List.of(verificationKey("key-1", "RS256", keyGen.generateKeyPair()));
+    when(jwtProvider.getVerificationKeys()).thenReturn(keys);
+
+    // When
+    Jwks first = getJwksUseCase.getJwks().block();
+    Jwks second = getJwksUseCase.getJwks().block();
+
+    // Then
+    assertSame(first, second);
+  }
+
+  @Test
+  void whenKeyRingChanges_thenRebuildsDocument() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    when(jwtProvider.getVerificationKeys())
+        .thenReturn(List.of(verificationKey("key-1", "RS256", keyGen.generateKeyPair())))
+        .thenReturn(List.of(verificationKey("key-2", "RS256", keyGen.generateKeyPair())));
+
+    // When
+    Jwks first = getJwksUseCase.getJwks().block();
+    Jwks second = getJwksUseCase.getJwks().block();
+
+    // Then
+    assertEquals("key-1", first.getKeys().get(0).getKid());
+    assertEquals("key-2", second.getKeys().get(0).getKid());
+  }
+
+  private VerificationKey verificationKey(String kid, String algorithm, KeyPair keyPair) {
+    return VerificationKey.builder()
+        .kid(kid)
+        .algorithm(algorithm)
+        .publicKey(keyPair.getPublic())
+        .build();
+  }
+}
@@ -7,17 +7,24 @@ import static org.mockito.Mockito.*;
 import com.nttd.banking.auth.domain.event.UserLoginEvent;
 import com.nttd.banking.auth.domain.exception.InvalidCredentialsException;
 import com.nttd.banking.auth.domain.exception.TooManyLoginAttemptsException;
+import com.nttd.banking.auth.domain.model.AuthProfile;
+import com.nttd.banking.auth.domain.model.MintedToken;
 import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.model.enums.UserType;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.PasswordEncoder;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
+import com.nttd.banking.auth.domain.port.out.UnknownUsernameCache;
 import com.nttd.banking.auth.domain.port.out.UserEventPublisher;
 import com.nttd.banking.auth.domain.port.out.UserRepository;
 import com.nttd.banking.auth.domain.service.AuthDomainService;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +32,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,32 +50,33 @@ class LoginUseCaseImplTest {
   @Mock
   private JwtProvider jwtProvider;
 
+  @Mock
+  private TokenGenerationRepository tokenGenerations;
+
   @Mock
   private UserEventPublisher eventPublisher;
 
   @Mock
   private AuthDomainService authDomainService;
 
+  @Mock
+  private UnknownUsernameCache unknownUsernames;
+
   @InjectMocks
   private LoginUseCaseImpl loginUseCase;
 
-  private User testUser;
+  private AuthProfile profile;
 
   @BeforeEach
   void setUp() {
-    testUser = User.builder()
+    profile = AuthProfile.builder()
         .id("user123")
         .username("testuser")
         .email("test@example.com")
         .passwordHash("$2a$12$hashedPassword")
-        .documentType("DNI")
-        .documentNumber("12345678")
-        .phoneNumber("+51987654321")
         .userType(UserType.CUSTOMER)
         .roles(List.of("ROLE_CUSTOMER"))
         .active(true)
-        .createdAt(LocalDateTime.now())
-        .updatedAt(LocalDateTime.now())
         .build();
   }
 
@@ -75,19 +84,24 @@ class LoginUseCaseImplTest {
   void whenLoginWithValidCredentials_thenReturnsTokens() {
     // Given
     when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
-    when(userRepository.findByUsername("testuser")).thenReturn(Mono.just(testUser));
-    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-    when(authDomainService.updateLastLogin(any(User.class))).thenReturn(testUser);
+    when(userRepository.findAuthProfileByUsername("testuser")).thenReturn(Mono.just(profile));
+    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(Mono.just(true));
     when(tokenCache.resetLoginAttempts(anyString())).thenReturn(Mono.empty());
-    when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
-
-    when(jwtProvider.generateAccessTokenString(any(User.class))).thenReturn("access.token.here");
-    when(jwtProvider.generateRefreshToken(any(User.class))).thenReturn("refresh.token.here");
-    when(jwtProvider.extractJti("access.token.here")).thenReturn("accessJti123");
-    when(jwtProvider.extractJti("refresh.token.here")).thenReturn("refreshJti456");
-    when(jwtProvider.getAccessTokenExpiration()).thenReturn(86400L);
-    when(tokenCache.registerActiveToken(anyString(), anyString(), any(Duration.class)))
+    when(userRepository.touchLastLogin(eq("user123"), any(LocalDateTime.class)))
         .thenReturn(Mono.empty());
+
+    LocalDateTime issuedAt = LocalDateTime.now();
+    when(tokenGenerations.currentGeneration(anyString())).thenReturn(Mono.just(0L));
+    when(jwtProvider.mintAccessToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("access.token.here").jti("accessJti123")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(1)).tokenType("ACCESS").build()));
+    when(jwtProvider.mintRefreshToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("refresh.token.here").jti("refreshJti456")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(7)).tokenType("REFRESH").build()));
+    when(tokenCache.registerSession(anyString(), anyString(), anyString(), any(Duration.class),
+        any(Duration.class))).thenReturn(Mono.just(0));
     when(tokenCache.saveTokenPair(anyString(), anyString(), any(Duration.class)))
         .thenReturn(Mono.empty());
     when(eventPublisher.publishUserLogin(any(UserLoginEvent.class))).thenReturn(Mono.empty());
@@ -99,26 +113,187 @@ class LoginUseCaseImplTest {
           assertEquals("access.token.here", result.accessToken());
           assertEquals("refresh.token.here", result.refreshToken());
           assertEquals("testuser", result.username());
+          assertEquals(86400L, result.expiresIn());
+        })
+        .verifyComplete();
+
+    verify(eventPublisher).publishUserLogin(any(UserLoginEvent.class));
+    verify(tokenCache).saveTokenPair("accessJti123", "refreshJti456", Duration.ofDays(7));
+    verify(userRepository, never()).save(any(User.class));
+    verify(userRepository, never()).findByUsername(anyString());
+    verify(jwtProvider).mintAccessToken(
+        argThat(user -> "test@example.com".equals(user.getEmail())), eq(0L));
+    verify(jwtProvider, never()).validateToken(anyString());
+    verify(jwtProvider, never()).extractJti(anyString());
+  }
+
+  @Test
+  void whenLastLoginUpdateFails_thenLoginSucceedsWithoutOrphanSession() {
+    // Given
+    when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
+    when(userRepository.findAuthProfileByUsername("testuser")).thenReturn(Mono.just(profile));
+    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+    when(tokenCache.resetLoginAttempts(anyString())).thenReturn(Mono.empty());
+    when(userRepository.touchLastLogin(eq("user123"), any(LocalDateTime.class)))
+        .thenReturn(Mono.error(new RuntimeException("MongoDB unavailable")));
+
+    LocalDateTime issuedAt = LocalDateTime.now();
+    when(tokenGenerations.currentGeneration(anyString())).thenReturn(Mono.just(0L));
+    when(jwtProvider.mintAccessToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("access.token.here").jti("accessJti123")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(1)).tokenType("ACCESS").build()));
+    when(jwtProvider.mintRefreshToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("refresh.token.here").jti("refreshJti456")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(7)).tokenType("REFRESH").build()));
+    when(tokenCache.registerSession(anyString(), anyString(), anyString(), any(Duration.class),
+        any(Duration.class))).thenReturn(Mono.just(0));
+    when(tokenCache.saveTokenPair(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(Mono.empty());
+    when(eventPublisher.publishUserLogin(any(UserLoginEvent.class))).thenReturn(Mono.empty());
+
+    // When & Then - the registered session is the one handed to the caller
+    StepVerifier.create(loginUseCase.login("testuser", "Password123!"))
+        .assertNext(result -> {
+          assertEquals("access.token.here", result.accessToken());
+          assertEquals("refresh.token.here", result.refreshToken());
         })
         .verifyComplete();
 
+    verify(tokenCache).registerSession(eq("user123"), eq("accessJti123"), eq("refreshJti456"),
+        any(Duration.class), any(Duration.class));
+    verify(tokenCache, times(1)).registerSession(anyString(), anyString(), anyString(),
+        any(Duration.class), any(Duration.class));
     verify(eventPublisher).publishUserLogin(any(UserLoginEvent.class));
   }
 
+  @Test
+  void whenStoredHashUsesOtherCost_thenReencodedBeforeSave() {
+    // Given
+    when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
+    when(userRepository.findAuthProfileByUsername("testuser")).thenReturn(Mono.just(profile));
+    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+    when(passwordEncoder.needsRehash("$2a$12$hashedPassword")).thenReturn(true);
+    when(passwordEncoder.encode("Password123!")).thenReturn(Mono.just("$2a$11$rehashed"));
+    when(userRepository.updatePasswordHash("user123", "$2a$11$rehashed"))
+        .thenReturn(Mono.empty());
+    when(tokenCache.resetLoginAttempts(anyString())).thenReturn(Mono.empty());
+    when(userRepository.touchLastLogin(eq("user123"), any(LocalDateTime.class)))
+        .thenReturn(Mono.empty());
+
+    LocalDateTime issuedAt = LocalDateTime.now();
+    when(tokenGenerations.currentGeneration(anyString())).thenReturn(Mono.just(0L));
+    when(jwtProvider.mintAccessToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("access.token.here").jti("accessJti123")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(1)).tokenType("ACCESS").build()));
+    when(jwtProvider.mintRefreshToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("refresh.token.here").jti("refreshJti456")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(7)).tokenType("REFRESH").build()));
+    when(tokenCache.registerSession(anyString(), anyString(), anyString(), any(Duration.class),
+        any(Duration.class))).thenReturn(Mono.just(0));
+    when(tokenCache.saveTokenPair(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(Mono.empty());
+    when(eventPublisher.publishUserLogin(any(UserLoginEvent.class))).thenReturn(Mono.empty());
+
+    // When & Then
+    StepVerifier.create(loginUseCase.login("testuser", "Password123!"))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    verify(userRepository).updatePasswordHash("user123", "$2a$11$rehashed");
+    verify(userRepository, never()).save(any(User.class));
+  }
+
+  @Test
+  void whenLoginSucceeds_thenIndependentSideEffectsOverlapOnCriticalPath() {
+    // Given - every remote call takes 50 ms of virtual time; done sequentially
+    // the six of them would take 300 ms
+    Map<String, Long> startedAt = new ConcurrentHashMap<>();
+    when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
+    when(userRepository.findAuthProfileByUsername("testuser")).thenReturn(Mono.just(profile));
+    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(Mono.just(true));
+    when(tokenCache.resetLoginAttempts(anyString()))
+        .thenReturn(remoteCall("resetLoginAttempts", startedAt).then());
+    when(userRepository.touchLastLogin(eq("user123"), any(LocalDateTime.class)))
+        .thenReturn(remoteCall("touchLastLogin", startedAt).then());
+    when(tokenGenerations.currentGeneration(anyString()))
+        .thenReturn(remoteCall("currentGeneration", startedAt).thenReturn(0L));
+
+    LocalDateTime issuedAt = LocalDateTime.now();
+    when(jwtProvider.mintAccessToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("access.token.here").jti("accessJti123")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(1)).tokenType("ACCESS").build()));
+    when(jwtProvider.mintRefreshToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("refresh.token.here").jti("refreshJti456")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(7)).tokenType("REFRESH").build()));
+    when(tokenCache.registerSession(anyString(), anyString(), anyString(), any(Duration.class),
+        any(Duration.class))).thenReturn(remoteCall("registerSession", startedAt).thenReturn(0));
+    when(tokenCache.saveTokenPair(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(remoteCall("saveTokenPair", startedAt).then());
+    when(eventPublisher.publishUserLogin(any(UserLoginEvent.class)))
+        .thenReturn(remoteCall("publishUserLogin", startedAt).then());
+
+    // When & Then - critical path: generation, then session writes, then event
+    StepVerifier.withVirtualTime(() -> loginUseCase.login("testuser", "Password123!"))
+        .expectSubscription()
+        .expectNoEvent(Duration.ofMillis(149))
+        .thenAwait(Duration.ofMillis(1))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertEquals(Map.of(
+        "resetLoginAttempts", 0L,
+        "touchLastLogin", 0L,
+        "currentGeneration", 0L,
+        "registerSession", 50L,
+        "saveTokenPair", 50L,
+        "publishUserLogin", 100L), startedAt);
+  }
+
+  /**
+   * A 50 ms remote call that records, in virtual time, when it started.
+   */
+  private static Mono<Long> remoteCall(String stage, Map<String, Long> startedAt) {
+    return Mono.defer(() -> {
+      startedAt.put(stage, Schedulers.parallel().now(TimeUnit.MILLISECONDS));
+      return Mono.delay(Duration.ofMillis(50));
+    });
+  }
+
   @Test
   void whenLoginWithInvalidPassword_thenThrowsException() {
     // Given
     when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
-    when(userRepository.findByUsername("testuser")).thenReturn(Mono.just(testUser));
-    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
-    when(tokenCache.incrementLoginAttempts(anyString())).thenReturn(Mono.just(1L));
+    when(userRepository.findAuthProfileByUsername("testuser")).thenReturn(Mono.just(profile));
+    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(Mono.just(false));
+    when(authDomainService.recordFailedLogin(anyString())).thenReturn(Mono.empty());
 
     // When & Then
     StepVerifier.create(loginUseCase.login("testuser", "wrongpassword"))
         .expectError(InvalidCredentialsException.class)
         .verify();
 
-    verify(tokenCache).incrementLoginAttempts("testuser");
+    verify(authDomainService).recordFailedLogin("testuser");
+  }
+
+  @Test
+  void whenFailedLoginTriggersLockout_thenThrowsTooManyAttempts() {
+    // Given
+    when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
+    when(userRepository.findAuthProfileByUsername("testuser")).thenReturn(Mono.just(profile));
+    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(Mono.just(false));
+    when(authDomainService.recordFailedLogin("testuser")).thenReturn(Mono.error(
+        new TooManyLoginAttemptsException("Too many login attempts", Duration.ofMinutes(1))));
+
+    // When & Then
+    StepVerifier.create(loginUseCase.login("testuser", "wrongpassword"))
+        .expectError(TooManyLoginAttemptsException.class)
+        .verify();
   }
 
   @Test
@@ -126,7 +301,7 @@ class LoginUseCaseImplTest {
     // Given - Mock needed due to eager evaluation of .then() arguments
     when(authDomainService.checkLoginAttempts(anyString()))
         .thenReturn(Mono.error(new TooManyLoginAttemptsException("Too many login attempts")));
-    when(userRepository.findByUsername(anyString())).thenReturn(Mono.just(testUser));
+    when(userRepository.findAuthProfileByUsername(anyString())).thenReturn(Mono.just(profile));
 
     // When & Then
     StepVerifier.create(loginUseCase.login("testuser", "Password123!"))
@@ -138,18 +313,33 @@ class LoginUseCaseImplTest {
   void whenLoginWithUserNotFound_thenThrowsException() {
     // Given
     when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
-    when(userRepository.findByUsername("testuser")).thenReturn(Mono.empty());
+    when(userRepository.findAuthProfileByUsername("testuser")).thenReturn(Mono.empty());
 
     // When & Then
     StepVerifier.create(loginUseCase.login("testuser", "Password123!"))
         .expectError(InvalidCredentialsException.class)
         .verify();
+
+    verify(unknownUsernames).recordUnknown(eq("testuser"), anyLong());
+  }
+
+  @Test
+  void whenUsernameRecentlyUnknown_thenRejectedWithoutLookups() {
+    // Given
+    when(unknownUsernames.isUnknown("ghost")).thenReturn(true);
+
+    // When & Then
+    StepVerifier.create(loginUseCase.login("ghost", "Password123!"))
+        .expectError(InvalidCredentialsException.class)
+        .verify();
+
+    verifyNoInteractions(userRepository, authDomainService, tokenCache, passwordEncoder);
   }
 
   @Test
   void whenLoginWithInactiveUser_thenThrowsException() {
     // Given
-    User inactiveUser = User.builder()
+    AuthProfile inactiveProfile = AuthProfile.builder()
         .id("user123")
         .username("testuser")
         .passwordHash("$2a$12$hashedPassword")
@@ -158,8 +348,9 @@ class LoginUseCaseImplTest {
         .build();
 
     when(authDomainService.checkLoginAttempts(anyString())).thenReturn(Mono.empty());
-    when(userRepository.findByUsername("testuser")).thenReturn(Mono.just(inactiveUser));
-    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+    when(userRepository.findAuthProfileByUsername("testuser"))
+        .thenReturn(Mono.just(inactiveProfile));
+    when(passwordEncoder.matches(anyString(), anyString())).thenReturn(Mono.just(true));
 
     // When & Then
     StepVerifier.create(loginUseCase.login("testuser", "Password123!"))
@@ -3,9 +3,11 @@ package com.nttd.banking.auth.application.usecase;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.nttd.banking.auth.domain.model.JwtToken;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,47 +28,82 @@ class LogoutUseCaseImplTest {
   @InjectMocks
   private LogoutUseCaseImpl logoutUseCase;
 
+  private JwtToken accessToken(String jti) {
+    return JwtToken.builder()
+        .jti(jti)
+        .userId("user123")
+        .tokenType("ACCESS")
+        .expiresAt(LocalDateTime.now().plusHours(1))
+        .build();
+  }
+
   @Test
-  void whenLogout_thenBlacklistsBothTokens() {
+  void whenLogout_thenRevokesTokenPairInOneCall() {
     // Given
     String token = "valid.jwt.token";
     String accessJti = "accessJti123";
     String refreshJti = "refreshJti456";
 
-    when(jwtProvider.extractJti(token)).thenReturn(accessJti);
-    when(jwtProvider.getAccessTokenExpiration()).thenReturn(86400L);
-    when(tokenCache.addToBlacklist(eq(accessJti), any(Duration.class))).thenReturn(Mono.empty());
-    when(tokenCache.getRefreshJtiByAccessJti(accessJti)).thenReturn(Mono.just(refreshJti));
-    when(tokenCache.addToBlacklist(eq(refreshJti), any(Duration.class))).thenReturn(Mono.empty());
-    when(tokenCache.removeTokenPair(accessJti)).thenReturn(Mono.empty());
+    when(jwtProvider.validateToken(token)).thenReturn(accessToken(accessJti));
+    when(tokenCache.revokeTokenPair(eq("user123"), eq(accessJti), any(Duration.class), eq(Duration.ofDays(7))))
+        .thenReturn(Mono.just(refreshJti));
 
     // When & Then
     StepVerifier.create(logoutUseCase.logout(token))
         .verifyComplete();
 
-    // Verify both tokens were blacklisted
-    verify(tokenCache).addToBlacklist(eq(accessJti), any(Duration.class));
-    verify(tokenCache).addToBlacklist(eq(refreshJti), any(Duration.class));
-    verify(tokenCache).removeTokenPair(accessJti);
+    verify(tokenCache).revokeTokenPair(eq("user123"), eq(accessJti), any(Duration.class), any(Duration.class));
+    verify(tokenCache, never()).addToBlacklist(anyString(), any(Duration.class));
+    verify(jwtProvider, never()).extractJti(anyString());
+  }
+
+  @Test
+  void whenLogout_withNoRefreshToken_thenCompletes() {
+    // Given
+    String token = "valid.jwt.token";
+    String accessJti = "accessJti123";
+
+    when(jwtProvider.validateToken(token)).thenReturn(accessToken(accessJti));
+    when(tokenCache.revokeTokenPair(eq("user123"), eq(accessJti), any(Duration.class), any(Duration.class)))
+        .thenReturn(Mono.empty());
+
+    // When & Then
+    StepVerifier.create(logoutUseCase.logout(token))
+        .verifyComplete();
+  }
+
+  @Test
+  void whenRevocationFails_thenLogoutFails() {
+    // Given
+    String token = "valid.jwt.token";
+    String accessJti = "accessJti123";
+
+    when(jwtProvider.validateToken(token)).thenReturn(accessToken(accessJti));
+    when(tokenCache.revokeTokenPair(eq("user123"), eq(accessJti), any(Duration.class), any(Duration.class)))
+        .thenReturn(Mono.error(new IllegalStateException("Redis unavailable")));
+
+    // When & Then
+    StepVerifier.create(logoutUseCase.logout(token))
+        .expectError(IllegalStateException.class)
+        .verify();
   }
 
   @Test
-  void whenLogout_withNoRefreshToken_thenOnlyBlacklistsAccessToken() {
+  void whenLogout_thenAccessBlacklistTtlMatchesRemainingLifetime() {
     // Given
     String token = "valid.jwt.token";
     String accessJti = "accessJti123";
 
-    when(jwtProvider.extractJti(token)).thenReturn(accessJti);
-    when(jwtProvider.getAccessTokenExpiration()).thenReturn(86400L);
-    when(tokenCache.addToBlacklist(eq(accessJti), any(Duration.class))).thenReturn(Mono.empty());
-    when(tokenCache.getRefreshJtiByAccessJti(accessJti)).thenReturn(Mono.empty());
+    when(jwtProvider.validateToken(token)).thenReturn(accessToken(accessJti));
+    when(tokenCache.revokeTokenPair(eq("user123"), eq(accessJti), any(Duration.class), any(Duration.class)))
+        .thenReturn(Mono.empty());
 
     // When & Then
     StepVerifier.create(logoutUseCase.logout(token))
         .verifyComplete();
 
-    // Verify only access token was blacklisted
-    verify(tokenCache).addToBlacklist(eq(accessJti), any(Duration.class));
-    verify(tokenCache, never()).removeTokenPair(anyString());
+    verify(tokenCache).revokeTokenPair(eq("user123"), eq(accessJti),
+        argThat(ttl -> !ttl.isNegative() && ttl.compareTo(Duration.ofHours(1)) <= 0),
+        any(Duration.class));
   }
 }
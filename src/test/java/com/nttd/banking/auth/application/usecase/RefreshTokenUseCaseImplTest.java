@@ -7,11 +7,14 @@ import static org.mockito.Mockito.*;
 import com.nttd.banking.auth.domain.exception.InvalidCredentialsException;
 import com.nttd.banking.auth.domain.exception.TokenExpiredException;
 import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.MintedToken;
 import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.model.enums.UserType;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
 import com.nttd.banking.auth.domain.port.out.UserRepository;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +38,9 @@ class RefreshTokenUseCaseImplTest {
   @Mock
   private JwtProvider jwtProvider;
 
+  @Mock
+  private TokenGenerationRepository tokenGenerations;
+
   @InjectMocks
   private RefreshTokenUseCaseImpl refreshTokenUseCase;
 
@@ -65,11 +71,17 @@ class RefreshTokenUseCaseImplTest {
         .build();
 
     when(jwtProvider.validateToken(refreshToken)).thenReturn(jwtToken);
-    when(tokenCache.isBlacklisted("jti123")).thenReturn(Mono.just(false));
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(false));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
     when(userRepository.findById("user123")).thenReturn(Mono.just(testUser));
-    when(jwtProvider.generateAccessTokenString(any(User.class)))
-        .thenReturn("new.access.token");
-    when(jwtProvider.getAccessTokenExpiration()).thenReturn(86400L);
+    LocalDateTime issuedAt = LocalDateTime.now();
+    when(jwtProvider.mintAccessToken(any(User.class), eq(0L)))
+        .thenReturn(Mono.just(MintedToken.builder()
+            .token("new.access.token").jti("newJti")
+            .issuedAt(issuedAt).expiresAt(issuedAt.plusDays(1)).tokenType("ACCESS").build()));
+    when(tokenCache.updateSessionAccessToken("user123", "jti123", "newJti",
+        Duration.ofDays(1)))
+        .thenReturn(Mono.empty());
 
     // When & Then
     StepVerifier.create(refreshTokenUseCase.refresh(refreshToken))
@@ -79,6 +91,8 @@ class RefreshTokenUseCaseImplTest {
           assertEquals(86400L, result.expiresIn());
         })
         .verifyComplete();
+    verify(tokenCache).updateSessionAccessToken("user123", "jti123", "newJti",
+        Duration.ofDays(1));
   }
 
   @Test
@@ -92,7 +106,8 @@ class RefreshTokenUseCaseImplTest {
         .build();
 
     when(jwtProvider.validateToken(refreshToken)).thenReturn(jwtToken);
-    when(tokenCache.isBlacklisted("jti123")).thenReturn(Mono.just(true));
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(true));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
 
     // When & Then
     StepVerifier.create(refreshTokenUseCase.refresh(refreshToken))
@@ -111,7 +126,8 @@ class RefreshTokenUseCaseImplTest {
         .build();
 
     when(jwtProvider.validateToken(refreshToken)).thenReturn(jwtToken);
-    when(tokenCache.isBlacklisted("jti123")).thenReturn(Mono.just(false));
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(false));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
     when(userRepository.findById("user123")).thenReturn(Mono.empty());
 
     // When & Then
@@ -10,6 +10,7 @@ import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.model.enums.UserType;
 import com.nttd.banking.auth.domain.port.in.RegisterUseCase;
 import com.nttd.banking.auth.domain.port.out.PasswordEncoder;
+import com.nttd.banking.auth.domain.port.out.UnknownUsernameCache;
 import com.nttd.banking.auth.domain.port.out.UserEventPublisher;
 import com.nttd.banking.auth.domain.port.out.UserRepository;
 import com.nttd.banking.auth.domain.service.AuthDomainService;
@@ -39,6 +40,9 @@ class RegisterUseCaseImplTest {
   @Mock
   private AuthDomainService authDomainService;
 
+  @Mock
+  private UnknownUsernameCache unknownUsernames;
+
   @InjectMocks
   private RegisterUseCaseImpl registerUseCase;
 
@@ -76,15 +80,13 @@ class RegisterUseCaseImplTest {
   @Test
   void whenRegisterValidUser_thenReturnsUser() {
     // Given
-    when(userRepository.existsByUsername(anyString())).thenReturn(Mono.just(false));
-    when(userRepository.existsByEmail(anyString())).thenReturn(Mono.just(false));
-    when(userRepository.existsByDocumentNumber(anyString())).thenReturn(Mono.just(false));
-    when(passwordEncoder.encode(anyString())).thenReturn("$2a$12$hashedPassword");
+    when(passwordEncoder.encode(anyString())).thenReturn(Mono.just("$2a$12$hashedPassword"));
     when(authDomainService.createUser(
         anyString(), anyString(), anyString(), anyString(),
         anyString(), anyString(), anyString()
     )).thenReturn(testUser);
-    when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
+    when(userRepository.insert(any(User.class))).thenReturn(Mono.just(testUser));
+    when(unknownUsernames.forget("testuser")).thenReturn(Mono.empty());
     when(eventPublisher.publishUserRegistered(any(UserRegisteredEvent.class)))
         .thenReturn(Mono.empty());
 
@@ -98,44 +100,27 @@ class RegisterUseCaseImplTest {
         .verifyComplete();
 
     verify(eventPublisher).publishUserRegistered(any(UserRegisteredEvent.class));
+    verify(unknownUsernames).forget("testuser");
   }
 
   @Test
-  void whenRegisterDuplicateUsername_thenThrowsException() {
-    // Given - All mocks needed due to eager evaluation of .then() arguments
-    when(userRepository.existsByUsername(anyString())).thenReturn(Mono.just(true));
-    when(userRepository.existsByEmail(anyString())).thenReturn(Mono.just(false));
-    when(userRepository.existsByDocumentNumber(anyString())).thenReturn(Mono.just(false));
-
-    // When & Then
-    StepVerifier.create(registerUseCase.register(registerRequest))
-        .expectError(UserAlreadyExistsException.class)
-        .verify();
-  }
-
-  @Test
-  void whenRegisterDuplicateEmail_thenThrowsException() {
-    // Given - All mocks needed due to eager evaluation of .then() arguments
-    when(userRepository.existsByUsername(anyString())).thenReturn(Mono.just(false));
-    when(userRepository.existsByEmail(anyString())).thenReturn(Mono.just(true));
-    when(userRepository.existsByDocumentNumber(anyString())).thenReturn(Mono.just(false));
-
-    // When & Then
-    StepVerifier.create(registerUseCase.register(registerRequest))
-        .expectError(UserAlreadyExistsException.class)
-        .verify();
-  }
-
-  @Test
-  void whenRegisterDuplicateDocumentNumber_thenThrowsException() {
+  void whenRegisterDuplicateUser_thenConflictingFieldIsReported() {
     // Given
-    when(userRepository.existsByUsername(anyString())).thenReturn(Mono.just(false));
-    when(userRepository.existsByEmail(anyString())).thenReturn(Mono.just(false));
-    when(userRepository.existsByDocumentNumber(anyString())).thenReturn(Mono.just(true));
+    when(passwordEncoder.encode(anyString())).thenReturn(Mono.just("$2a$12$hashedPassword"));
+    when(authDomainService.createUser(
+        anyString(), anyString(), anyString(), anyString(),
+        anyString(), anyString(), anyString()
+    )).thenReturn(testUser);
+    when(userRepository.insert(any(User.class)))
+        .thenReturn(Mono.error(new UserAlreadyExistsException("Email already exists")));
 
     // When & Then
     StepVerifier.create(registerUseCase.register(registerRequest))
-        .expectError(UserAlreadyExistsException.class)
+        .expectErrorMatches(e -> e instanceof UserAlreadyExistsException
+            && "Email already exists".equals(e.getMessage()))
         .verify();
+
+    verify(userRepository, never()).save(any(User.class));
+    verifyNoInteractions(unknownUsernames, eventPublisher);
   }
 }
@@ -0,0 +1,94 @@
+package com.nttd.banking.auth.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.nttd.banking.auth.domain.exception.TokenExpiredException;
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.Session;
+import com.nttd.banking.auth.domain.port.in.ValidateTokenUseCase;
+import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class SessionUseCaseImplTest {
+
+  @Mock
+  private ValidateTokenUseCase validateTokenUseCase;
+
+  @Mock
+  private TokenCacheRepository tokenCache;
+
+  @Mock
+  private TokenGenerationRepository tokenGenerations;
+
+  @InjectMocks
+  private SessionUseCaseImpl sessionUseCase;
+
+  private final JwtToken caller = JwtToken.builder()
+      .jti("access2")
+      .userId("user123")
+      .tokenType("ACCESS")
+      .build();
+
+  @Test
+  void whenListSessions_thenCallerSessionMarkedCurrent() {
+    // Given
+    when(validateTokenUseCase.validate("token")).thenReturn(Mono.just(caller));
+    when(tokenCache.findSessions("user123")).thenReturn(Mono.just(List.of(
+        session("refresh1", "access1"), session("refresh2", "access2"))));
+
+    // When & Then
+    StepVerifier.create(sessionUseCase.listSessions("token"))
+        .assertNext(sessions -> {
+          assertFalse(sessions.get(0).isCurrent());
+          assertTrue(sessions.get(1).isCurrent());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void whenRevokeAllSessions_thenBumpsGenerationAndRevokesIndexedSessions() {
+    // Given
+    when(validateTokenUseCase.validate("token")).thenReturn(Mono.just(caller));
+    when(tokenGenerations.bumpGeneration("user123")).thenReturn(Mono.just(1L));
+    when(tokenCache.revokeAllSessions("user123")).thenReturn(Mono.just(3));
+
+    // When & Then
+    StepVerifier.create(sessionUseCase.revokeAllSessions("token"))
+        .expectNext(3)
+        .verifyComplete();
+    verify(tokenGenerations).bumpGeneration("user123");
+  }
+
+  @Test
+  void whenTokenRevoked_thenSessionsNotListed() {
+    // Given
+    when(validateTokenUseCase.validate("token"))
+        .thenReturn(Mono.error(new TokenExpiredException("Token revoked")));
+
+    // When & Then
+    StepVerifier.create(sessionUseCase.listSessions("token"))
+        .expectError(TokenExpiredException.class)
+        .verify();
+    verifyNoInteractions(tokenCache);
+  }
+
+  private Session session(String refreshJti, String accessJti) {
+    return Session.builder()
+        .sessionId(refreshJti)
+        .accessJti(accessJti)
+        .createdAt(LocalDateTime.now())
+        .expiresAt(LocalDateTime.now().plusDays(7))
+        .build();
+  }
+}
@@ -3,17 +3,29 @@ package com.nttd.banking.auth.application.usecase;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
 import com.nttd.banking.auth.domain.exception.TokenExpiredException;
 import com.nttd.banking.auth.domain.model.JwtToken;
 import com.nttd.banking.auth.domain.port.out.JwtProvider;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import com.nttd.banking.auth.domain.port.out.TokenGenerationRepository;
+import com.nttd.banking.auth.domain.port.out.VerifiedTokenCache;
+import com.nttd.banking.auth.infrastructure.adapter.out.cache.TokenGenerationRedisAdapter;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -26,9 +38,32 @@ class ValidateTokenUseCaseImplTest {
   @Mock
   private JwtProvider jwtProvider;
 
+  @Mock
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @Mock
+  private TokenGenerationRepository tokenGenerations;
+
+  @Mock
+  private ReactiveRedisTemplate<String, String> redisTemplate;
+
+  @Mock
+  private ReactiveValueOperations<String, String> valueOperations;
+
   @InjectMocks
   private ValidateTokenUseCaseImpl validateTokenUseCase;
 
+  /**
+   * The use case over the Redis generation adapter, whose cache entries
+   * expire at once.
+   */
+  private ValidateTokenUseCaseImpl withRedisGenerations() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    return new ValidateTokenUseCaseImpl(tokenCache, jwtProvider, verifiedTokenCache,
+        new TokenGenerationRedisAdapter(redisTemplate, 100, 0, new SimpleMeterRegistry(),
+            PortResilience.ofDefaults("tokenCache")));
+  }
+
   @Test
   void whenValidateValidToken_thenReturnsJwtToken() {
     // Given
@@ -45,7 +80,8 @@ class ValidateTokenUseCaseImplTest {
         .build();
 
     when(jwtProvider.validateToken(token)).thenReturn(jwtToken);
-    when(tokenCache.isBlacklisted("jti123")).thenReturn(Mono.just(false));
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(false));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
 
     // When & Then
     StepVerifier.create(validateTokenUseCase.validate(token))
@@ -56,6 +92,49 @@ class ValidateTokenUseCaseImplTest {
           assertEquals("CUSTOMER", result.getUserType());
         })
         .verifyComplete();
+
+    verify(verifiedTokenCache).put(token, jwtToken);
+  }
+
+  @Test
+  void whenValidateCachedToken_thenSkipsSignatureVerification() {
+    // Given
+    String token = "cached.access.token";
+    JwtToken jwtToken = JwtToken.builder()
+        .jti("jti123")
+        .userId("user123")
+        .expiresAt(LocalDateTime.now().plusMinutes(10))
+        .build();
+
+    when(verifiedTokenCache.get(token)).thenReturn(Optional.of(jwtToken));
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(false));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
+
+    // When & Then
+    StepVerifier.create(validateTokenUseCase.validate(token))
+        .assertNext(result -> assertEquals("user123", result.getUserId()))
+        .verifyComplete();
+
+    verify(jwtProvider, never()).validateToken(token);
+  }
+
+  @Test
+  void whenValidateCachedRevokedToken_thenThrowsException() {
+    // Given
+    String token = "cached.revoked.token";
+    JwtToken jwtToken = JwtToken.builder()
+        .jti("jti123")
+        .userId("user123")
+        .build();
+
+    when(verifiedTokenCache.get(token)).thenReturn(Optional.of(jwtToken));
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(true));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
+
+    // When & Then
+    StepVerifier.create(validateTokenUseCase.validate(token))
+        .expectError(TokenExpiredException.class)
+        .verify();
   }
 
   @Test
@@ -68,7 +147,8 @@ class ValidateTokenUseCaseImplTest {
         .build();
 
     when(jwtProvider.validateToken(token)).thenReturn(jwtToken);
-    when(tokenCache.isBlacklisted("jti123")).thenReturn(Mono.just(true));
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(true));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
 
     // When & Then
     StepVerifier.create(validateTokenUseCase.validate(token))
@@ -76,6 +156,63 @@ class ValidateTokenUseCaseImplTest {
         .verify();
   }
 
+  @Test
+  void whenTokenIssuedBeforeCurrentGeneration_thenThrowsException() {
+    // Given
+    String token = "old.generation.token";
+    JwtToken jwtToken = JwtToken.builder()
+        .jti("jti123")
+        .userId("user123")
+        .generation(1)
+        .build();
+
+    when(jwtProvider.validateToken(token)).thenReturn(jwtToken);
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(false));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(2L));
+
+    // When & Then
+    StepVerifier.create(validateTokenUseCase.validate(token))
+        .expectErrorMessage("Token revoked")
+        .verify();
+  }
+
+  @Test
+  void whenBatchTokenIssuedBeforeCurrentGeneration_thenReportedRevoked() {
+    // Given
+    JwtToken current = JwtToken.builder().jti("jti1").userId("user1").generation(3).build();
+    JwtToken stale = JwtToken.builder().jti("jti2").userId("user2").generation(0).build();
+    when(jwtProvider.validateToken("token1")).thenReturn(current);
+    when(jwtProvider.validateToken("token2")).thenReturn(stale);
+    when(tokenCache.findBlacklisted(List.of(current, stale))).thenReturn(Mono.just(Set.of()));
+    when(tokenGenerations.currentGenerations(Set.of("user1", "user2")))
+        .thenReturn(Mono.just(Map.of("user1", 3L, "user2", 1L)));
+
+    // When & Then
+    StepVerifier.create(validateTokenUseCase.validateBatch(List.of("token1", "token2")))
+        .assertNext(results -> {
+          assertTrue(results.get(0).isValid());
+          assertFalse(results.get(1).isValid());
+          assertEquals("Token revoked", results.get(1).getError());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void whenRevocationCannotBeChecked_thenFailsClosedAsUnavailable() {
+    // Given
+    String token = "valid.jwt.token";
+    JwtToken jwtToken = JwtToken.builder().jti("jti123").userId("user123").build();
+    when(jwtProvider.validateToken(token)).thenReturn(jwtToken);
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.error(
+        new DependencyUnavailableException("tokenCache unavailable", null)));
+    when(tokenGenerations.currentGeneration("user123")).thenReturn(Mono.just(0L));
+
+    // When & Then
+    StepVerifier.create(validateTokenUseCase.validate(token))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+  }
+
   @Test
   void whenValidateInvalidToken_thenThrowsException() {
     // Given
@@ -88,4 +225,76 @@ class ValidateTokenUseCaseImplTest {
         .expectError(TokenExpiredException.class)
         .verify();
   }
+
+  @Test
+  void whenValidateBatch_thenResultsKeepRequestOrderWithOneRevocationLookup() {
+    // Given
+    JwtToken first = JwtToken.builder().jti("jti1").userId("user1").build();
+    JwtToken revoked = JwtToken.builder().jti("jti2").userId("user2").build();
+    when(jwtProvider.validateToken("token1")).thenReturn(first);
+    when(jwtProvider.validateToken("token2")).thenReturn(revoked);
+    when(jwtProvider.validateToken("bad")).thenThrow(new IllegalArgumentException("malformed"));
+    when(tokenCache.findBlacklisted(List.of(first, revoked)))
+        .thenReturn(Mono.just(Set.of("jti2")));
+    when(tokenGenerations.currentGenerations(Set.of("user1", "user2")))
+        .thenReturn(Mono.just(Map.of("user1", 0L, "user2", 0L)));
+
+    // When & Then
+    StepVerifier.create(validateTokenUseCase.validateBatch(List.of("token1", "bad", "token2")))
+        .assertNext(results -> {
+          assertEquals(3, results.size());
+          assertTrue(results.get(0).isValid());
+          assertEquals("user1", results.get(0).getJwtToken().getUserId());
+          assertFalse(results.get(1).isValid());
+          assertEquals("Invalid or expired token", results.get(1).getError());
+          assertFalse(results.get(2).isValid());
+          assertEquals("Token revoked", results.get(2).getError());
+        })
+        .verifyComplete();
+
+    verify(tokenCache, times(1)).findBlacklisted(anyList());
+    verify(tokenCache, never()).isBlacklisted(any());
+  }
+
+  @Test
+  void whenRedisGoesDown_thenValidatesAgainstLastKnownGeneration() {
+    // Given
+    JwtToken current = JwtToken.builder().jti("jti1").userId("user1").generation(2L).build();
+    JwtToken stale = JwtToken.builder().jti("jti2").userId("user1").generation(1L).build();
+    when(jwtProvider.validateToken("current")).thenReturn(current);
+    when(jwtProvider.validateToken("stale")).thenReturn(stale);
+    when(tokenCache.isBlacklisted(any())).thenReturn(Mono.just(false));
+    ValidateTokenUseCaseImpl useCase = withRedisGenerations();
+    when(valueOperations.get("user:token-generation:user1")).thenReturn(Mono.just("2"),
+        Mono.error(new RedisConnectionFailureException("connection refused")));
+    StepVerifier.create(useCase.validate("current")).expectNext(current).verifyComplete();
+
+    // When & Then - Redis is down from here on
+    StepVerifier.create(useCase.validate("current")).expectNext(current).verifyComplete();
+    StepVerifier.create(useCase.validate("stale"))
+        .expectError(TokenExpiredException.class)
+        .verify();
+  }
+
+  @Test
+  void whenRedisIsDownAndGenerationNeverSeen_thenFailsAsUnavailableNotUnauthorized() {
+    // Given
+    JwtToken jwtToken = JwtToken.builder().jti("jti1").userId("user1").build();
+    when(jwtProvider.validateToken("token")).thenReturn(jwtToken);
+    when(tokenCache.isBlacklisted(jwtToken)).thenReturn(Mono.just(false));
+    ValidateTokenUseCaseImpl useCase = withRedisGenerations();
+    when(tokenCache.findBlacklisted(List.of(jwtToken))).thenReturn(Mono.just(Set.of()));
+    when(valueOperations.get("user:token-generation:user1"))
+        .thenReturn(Mono.error(new RedisConnectionFailureException("connection refused")));
+    when(valueOperations.multiGet(List.of("user:token-generation:user1")))
+        .thenReturn(Mono.error(new RedisConnectionFailureException("connection refused")));
+
+    // When & Then
+    StepVerifier.create(useCase.validate("token"))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+    StepVerifier.create(useCase.validateBatch(List.of("token")))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+  }
 }
@@ -8,6 +8,7 @@ import com.nttd.banking.auth.domain.exception.TooManyLoginAttemptsException;
 import com.nttd.banking.auth.domain.model.User;
 import com.nttd.banking.auth.domain.model.enums.UserType;
 import com.nttd.banking.auth.domain.port.out.TokenCacheRepository;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -49,9 +50,9 @@ class AuthDomainServiceTest {
   }
 
   @Test
-  void whenCheckLoginAttemptsWithinLimit_thenCompletes() {
+  void whenCheckLoginAttemptsWithoutLockout_thenCompletes() {
     // Given
-    when(tokenCache.getLoginAttempts(anyString())).thenReturn(Mono.just(2L));
+    when(tokenCache.getLockout(anyString())).thenReturn(Mono.just(Duration.ZERO));
 
     // When & Then
     StepVerifier.create(authDomainService.checkLoginAttempts("testuser"))
@@ -59,12 +60,34 @@ class AuthDomainServiceTest {
   }
 
   @Test
-  void whenCheckLoginAttemptsExceedsLimit_thenThrowsException() {
+  void whenCheckLoginAttemptsDuringLockout_thenThrowsExceptionWithRetryAfter() {
     // Given
-    when(tokenCache.getLoginAttempts(anyString())).thenReturn(Mono.just(5L));
+    when(tokenCache.getLockout(anyString())).thenReturn(Mono.just(Duration.ofSeconds(42)));
 
     // When & Then
     StepVerifier.create(authDomainService.checkLoginAttempts("testuser"))
+        .expectErrorSatisfies(e -> assertEquals(Duration.ofSeconds(42),
+            ((TooManyLoginAttemptsException) e).getRetryAfter()))
+        .verify();
+  }
+
+  @Test
+  void whenFailedLoginBelowThreshold_thenCompletes() {
+    // Given
+    when(tokenCache.recordFailedLogin("testuser")).thenReturn(Mono.just(Duration.ZERO));
+
+    // When & Then
+    StepVerifier.create(authDomainService.recordFailedLogin("testuser"))
+        .verifyComplete();
+  }
+
+  @Test
+  void whenFailedLoginTriggersLockout_thenThrowsException() {
+    // Given
+    when(tokenCache.recordFailedLogin("testuser")).thenReturn(Mono.just(Duration.ofMinutes(1)));
+
+    // When & Then
+    StepVerifier.create(authDomainService.recordFailedLogin("testuser"))
         .expectError(TooManyLoginAttemptsException.class)
         .verify();
   }
@@ -150,17 +173,4 @@ class AuthDomainServiceTest {
     assertNotNull(user.getCreatedAt());
     assertNotNull(user.getUpdatedAt());
   }
-
-  @Test
-  void whenUpdateLastLogin_thenReturnsUserWithUpdatedTimestamps() {
-    // When
-    User updatedUser = authDomainService.updateLastLogin(testUser);
-
-    // Then
-    assertNotNull(updatedUser);
-    assertEquals(testUser.getId(), updatedUser.getId());
-    assertEquals(testUser.getUsername(), updatedUser.getUsername());
-    assertNotNull(updatedUser.getLastLogin());
-    assertNotNull(updatedUser.getUpdatedAt());
-  }
 }
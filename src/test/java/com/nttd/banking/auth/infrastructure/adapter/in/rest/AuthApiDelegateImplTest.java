@@ -0,0 +1,123 @@
+package com.nttd.banking.auth.infrastructure.adapter.in.rest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttd.banking.auth.domain.model.JwkKey;
+import com.nttd.banking.auth.domain.model.Jwks;
+import com.nttd.banking.auth.domain.port.in.GetJwksUseCase;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class AuthApiDelegateImplTest {
+
+  @Mock
+  private GetJwksUseCase getJwksUseCase;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper();
+
+  @InjectMocks
+  private AuthApiDelegateImpl delegate;
+
+  private Jwks jwks;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(delegate, "jwksMaxAgeSeconds", 300L);
+    jwks = Jwks.builder()
+        .keys(List.of(JwkKey.builder()
+            .kty("RSA")
+            .alg("RS256")
+            .use("sig")
+            .kid("key-1")
+            .n("modulus")
+            .e("AQAB")
+            .build()))
+        .build();
+    when(getJwksUseCase.getJwks()).thenReturn(Mono.just(jwks));
+  }
+
+  private static byte[] bytes(ResponseEntity<Resource> response) {
+    return ((ByteArrayResource) response.getBody()).getByteArray();
+  }
+
+  @Test
+  void whenGetJwks_thenReturnsDocumentWithEtagAndMaxAge() throws Exception {
+    // Given
+    MockServerWebExchange exchange = MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/auth/.well-known/jwks.json"));
+
+    // When
+    ResponseEntity<Resource> response = delegate.getJwks(exchange).block();
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    JsonNode document = objectMapper.readTree(bytes(response));
+    assertEquals("key-1", document.get("keys").get(0).get("kid").asText());
+    assertEquals("max-age=300, public", response.getHeaders().getCacheControl());
+  }
+
+  @Test
+  void whenGetJwks_thenEtagIsHashOfBytesSent() throws Exception {
+    // When
+    ResponseEntity<Resource> response = delegate.getJwks(MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/auth/.well-known/jwks.json"))).block();
+
+    // Then
+    byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes(response));
+    assertEquals("\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"",
+        response.getHeaders().getETag());
+  }
+
+  @Test
+  void whenIfNoneMatchMatchesEtag_thenReturnsNotModified() {
+    // Given
+    String etag = delegate.getJwks(MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/auth/.well-known/jwks.json"))).block()
+        .getHeaders().getETag();
+    MockServerWebExchange exchange = MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/auth/.well-known/jwks.json").ifNoneMatch(etag));
+
+    // When
+    ResponseEntity<Resource> response = delegate.getJwks(exchange).block();
+
+    // Then
+    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    assertNull(response.getBody());
+  }
+
+  @Test
+  void whenJwksUnchanged_thenReusesSerializedBytes() throws Exception {
+    // When
+    byte[] first = bytes(delegate.getJwks(MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/auth/.well-known/jwks.json"))).block());
+    byte[] second = bytes(delegate.getJwks(MockServerWebExchange.from(
+        MockServerHttpRequest.get("/api/auth/.well-known/jwks.json"))).block());
+
+    // Then
+    assertSame(first, second);
+    verify(objectMapper, times(1)).writeValueAsBytes(any());
+  }
+}
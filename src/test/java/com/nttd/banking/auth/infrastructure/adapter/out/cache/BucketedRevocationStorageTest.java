@@ -0,0 +1,68 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class BucketedRevocationStorageTest {
+
+  @Mock
+  private ReactiveRedisTemplate<String, String> redisTemplate;
+
+  @InjectMocks
+  private BucketedRevocationStorage storage;
+
+  @Test
+  void whenScriptLibraryLoaded_thenDefinesRevokeAndLookup() {
+    // When
+    String library = storage.scriptLibrary();
+
+    // Then
+    assertTrue(library.contains("local function revoke(jti, expiresAt, now)"));
+    assertTrue(library.contains("local function isRevoked(jti, expiresAt)"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenFindRevoked_thenJtiExpiryPairsSentInOneCallAndFlagsMapped() {
+    // Given
+    Map<String, Long> expiresAtByJti = new LinkedHashMap<>();
+    expiresAtByJti.put("jti1", 1_700_000_000_000L);
+    expiresAtByJti.put("jti2", 1_700_000_060_000L);
+    when(redisTemplate.execute(any(RedisScript.class), eq(List.of()),
+        eq(List.of("jti1", "1700000000000", "jti2", "1700000060000"))))
+        .thenReturn(Flux.just(List.of(0L, 1L)));
+
+    // When & Then
+    StepVerifier.create(storage.findRevoked(expiresAtByJti))
+        .expectNext(Set.of("jti2"))
+        .verifyComplete();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenSingleLookupMisses_thenNotRevoked() {
+    // Given
+    when(redisTemplate.execute(any(RedisScript.class), eq(List.of()),
+        eq(List.of("jti1", "1700000000000")))).thenReturn(Flux.just(List.of(0L)));
+
+    // When & Then
+    StepVerifier.create(storage.isRevoked("jti1", 1_700_000_000_000L))
+        .expectNext(false)
+        .verifyComplete();
+  }
+}
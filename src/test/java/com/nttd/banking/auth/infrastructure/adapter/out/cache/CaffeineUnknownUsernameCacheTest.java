@@ -0,0 +1,100 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class CaffeineUnknownUsernameCacheTest {
+
+  @Mock
+  private ReactiveRedisTemplate<String, String> redisTemplate;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CaffeineUnknownUsernameCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new CaffeineUnknownUsernameCache(redisTemplate, 1024, 60000, meterRegistry);
+  }
+
+  @Test
+  void whenRecorded_thenUnknownAndCountedInHitRatioAndMemory() {
+    // Given
+    cache.recordUnknown("ghost", cache.startLookup());
+
+    // When
+    boolean recorded = cache.isUnknown("ghost");
+    boolean other = cache.isUnknown("someone");
+
+    // Then
+    assertTrue(recorded);
+    assertFalse(other);
+    assertEquals(0.5, meterRegistry.get("user.unknown-usernames.hit.ratio").gauge().value());
+    assertEquals(CaffeineUnknownUsernameCache.ENTRY_OVERHEAD_BYTES + 5,
+        meterRegistry.get("user.unknown-usernames.memory").gauge().value());
+  }
+
+  @Test
+  void whenForgotten_thenDroppedAndAnnounced() {
+    // Given
+    cache.recordUnknown("newuser", cache.startLookup());
+    when(redisTemplate.convertAndSend(CaffeineUnknownUsernameCache.REGISTRATION_CHANNEL,
+        "newuser")).thenReturn(Mono.just(1L));
+
+    // When
+    StepVerifier.create(cache.forget("newuser")).verifyComplete();
+
+    // Then
+    assertFalse(cache.isUnknown("newuser"));
+  }
+
+  @Test
+  void whenAnnouncementFails_thenStillDroppedLocally() {
+    // Given
+    cache.recordUnknown("newuser", cache.startLookup());
+    when(redisTemplate.convertAndSend(anyString(), anyString()))
+        .thenReturn(Mono.error(new IllegalStateException("down")));
+
+    // When & Then
+    StepVerifier.create(cache.forget("newuser")).verifyComplete();
+    assertFalse(cache.isUnknown("newuser"));
+  }
+
+  @Test
+  void whenForgottenDuringLookup_thenMissIsNotRecorded() {
+    // Given - a lookup starts before the user registers
+    long lookup = cache.startLookup();
+    when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+    cache.forget("newuser").block();
+
+    // When - the lookup, which missed the new user, completes
+    cache.recordUnknown("newuser", lookup);
+
+    // Then
+    assertFalse(cache.isUnknown("newuser"));
+  }
+
+  @Test
+  void whenForgottenOnAnotherNodeDuringLookup_thenMissIsNotRecorded() {
+    // Given
+    long lookup = cache.startLookup();
+    cache.invalidate("newuser");
+
+    // When
+    cache.recordUnknown("newuser", lookup);
+
+    // Then
+    assertFalse(cache.isUnknown("newuser"));
+  }
+}
@@ -0,0 +1,83 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nttd.banking.auth.domain.model.JwtToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CaffeineVerifiedTokenCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CaffeineVerifiedTokenCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new CaffeineVerifiedTokenCache(100, 300, meterRegistry);
+  }
+
+  private JwtToken tokenExpiringAt(LocalDateTime expiresAt) {
+    return JwtToken.builder()
+        .jti("jti123")
+        .userId("user123")
+        .expiresAt(expiresAt)
+        .build();
+  }
+
+  @Test
+  void whenPutValidToken_thenGetReturnsClaims() {
+    // Given
+    JwtToken claims = tokenExpiringAt(LocalDateTime.now().plusMinutes(10));
+
+    // When
+    cache.put("a.b.c", claims);
+
+    // Then
+    assertSame(claims, cache.get("a.b.c").orElseThrow());
+    assertTrue(cache.get("x.y.z").isEmpty());
+  }
+
+  @Test
+  void whenTokenAlreadyExpired_thenNotCached() {
+    // When
+    cache.put("a.b.c", tokenExpiringAt(LocalDateTime.now().minusSeconds(1)));
+
+    // Then
+    assertTrue(cache.get("a.b.c").isEmpty());
+  }
+
+  @Test
+  void whenTokenExpiresBeforeTtl_thenEntryExpiresWithToken() throws Exception {
+    // Given
+    cache.put("a.b.c", tokenExpiringAt(LocalDateTime.now().plusNanos(200_000_000)));
+
+    // When
+    Thread.sleep(400);
+
+    // Then
+    assertTrue(cache.get("a.b.c").isEmpty());
+  }
+
+  @Test
+  void whenLookups_thenHitsAndMissesAreExported() {
+    // Given
+    cache.put("a.b.c", tokenExpiringAt(LocalDateTime.now().plusMinutes(10)));
+
+    // When
+    cache.get("a.b.c");
+    cache.get("x.y.z");
+
+    // Then
+    assertEquals(1.0, meterRegistry.get("cache.gets")
+        .tag("cache", CaffeineVerifiedTokenCache.CACHE_NAME)
+        .tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(1.0, meterRegistry.get("cache.gets")
+        .tag("cache", CaffeineVerifiedTokenCache.CACHE_NAME)
+        .tag("result", "miss")
+        .functionCounter().count());
+  }
+}
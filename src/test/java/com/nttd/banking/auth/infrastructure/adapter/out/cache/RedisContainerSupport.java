@@ -0,0 +1,29 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Docker check for the tests that run the Lua scripts against a real Redis.
+ * Without Docker they are skipped, unless the {@code redis-it} profile sets
+ * {@value #REQUIRED_PROPERTY}; then they fail, so a build that runs that
+ * profile cannot pass without running them.
+ */
+final class RedisContainerSupport {
+
+  static final String REQUIRED_PROPERTY = "redis.it.required";
+
+  private RedisContainerSupport() {
+  }
+
+  static void requireDocker() {
+    boolean available = DockerClientFactory.instance().isDockerAvailable();
+    if (Boolean.getBoolean(REQUIRED_PROPERTY)) {
+      assertTrue(available, "Docker is required by the redis-it profile");
+    } else {
+      assumeTrue(available, "Docker is not available");
+    }
+  }
+}
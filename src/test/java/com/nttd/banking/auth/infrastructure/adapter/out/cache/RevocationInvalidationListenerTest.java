@@ -0,0 +1,154 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationInvalidationListenerTest {
+
+  @Mock
+  private RevocationStream revocationStream;
+
+  @Mock
+  private RevocationStorage revocationStorage;
+
+  @Mock
+  private RevocationJournal journal;
+
+  private RevocationNearCache nearCache;
+  private RevocationBloomFilter bloomFilter;
+  private RevocationInvalidationListener listener;
+
+  @BeforeEach
+  void setUp() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    nearCache = new RevocationNearCache(100, 60000, meterRegistry);
+    bloomFilter = new RevocationBloomFilter(3_600_000, 4, 1000, 0.01, 5000, meterRegistry);
+    listener = new RevocationInvalidationListener(revocationStream, nearCache, bloomFilter,
+        revocationStorage, journal);
+  }
+
+  private static MapRecord<String, String, String> entry(String id, String jti) {
+    return StreamRecords.newRecord().in(RevocationStream.KEY).withId(id)
+        .ofMap(Map.of("jti", jti, "at", String.valueOf(System.currentTimeMillis())));
+  }
+
+  @Test
+  void whenStarted_thenFilterLoadedAndReadingStartsAtNewestEntry() {
+    // Given
+    when(revocationStream.lastId()).thenReturn(Mono.just("5-0"));
+    when(revocationStorage.revokedJtis()).thenReturn(Flux.just("stored"));
+    when(revocationStream.getBatchSize()).thenReturn(500);
+    when(revocationStream.read("5-0")).thenReturn(Mono.just(List.of(entry("6-0", "jti1"))));
+
+    // When
+    StepVerifier.create(listener.resync()).verifyComplete();
+    StepVerifier.create(listener.poll()).verifyComplete();
+
+    // Then
+    assertTrue(bloomFilter.isReady());
+    assertTrue(bloomFilter.mightBeRevoked("stored"));
+    assertEquals(Optional.of(true), nearCache.get("jti1"));
+    assertEquals("6-0", listener.getLastId());
+  }
+
+  @Test
+  void whenBatchIsFull_thenReadsUntilCaughtUp() {
+    // Given
+    when(revocationStream.lastId()).thenReturn(Mono.just("5-0"));
+    when(revocationStorage.revokedJtis()).thenReturn(Flux.empty());
+    when(revocationStream.getBatchSize()).thenReturn(1);
+    when(revocationStream.read("5-0")).thenReturn(Mono.just(List.of(entry("6-0", "jti1"))));
+    when(revocationStream.read("6-0")).thenReturn(Mono.just(List.of(entry("7-0", "jti2"))));
+    when(revocationStream.read("7-0")).thenReturn(Mono.just(List.of()));
+    listener.resync().block();
+
+    // When
+    StepVerifier.create(listener.poll()).verifyComplete();
+
+    // Then
+    assertEquals(Optional.of(true), nearCache.get("jti2"));
+    assertEquals("7-0", listener.getLastId());
+  }
+
+  @Test
+  void whenRestartedAfterDisconnect_thenResumesFromLastAppliedEntry() {
+    // Given - entries 7-0 to 9-0 were added while this node was disconnected
+    when(revocationStream.lastId()).thenReturn(Mono.just("6-0"), Mono.just("9-0"));
+    when(revocationStorage.revokedJtis()).thenReturn(Flux.empty());
+    when(revocationStream.getBatchSize()).thenReturn(500);
+    when(revocationStream.read("6-0")).thenReturn(Mono.just(List.of(entry("9-0", "missed"))));
+    listener.resync().block();
+
+    // When
+    listener.resync().block();
+    listener.poll().block();
+
+    // Then
+    assertEquals(Optional.of(true), nearCache.get("missed"));
+    assertTrue(bloomFilter.mightBeRevoked("missed"));
+    verify(journal).appendReplicated(eq("missed"), anyLong());
+  }
+
+  @Test
+  void whenOwnEntryRead_thenNotJournaledAgain() {
+    // Given
+    bloomFilter.markReady();
+    MapRecord<String, String, String> own = entry("6-0", "jti1");
+    when(revocationStream.isOwn(own)).thenReturn(true);
+
+    // When
+    listener.apply(own);
+
+    // Then
+    assertTrue(bloomFilter.mightBeRevoked("jti1"));
+    assertEquals(Optional.of(true), nearCache.get("jti1"));
+    verifyNoInteractions(journal);
+  }
+
+  @Test
+  void whenNotConfirmedWithinStalenessBound_thenFilterIsNotTrusted() {
+    // Given - loaded, but no read has completed for longer than the bound
+    bloomFilter.markReady(System.currentTimeMillis() - 10_000);
+
+    // Then
+    assertFalse(bloomFilter.isReady());
+    assertTrue(bloomFilter.mightBeRevoked("jti1"));
+
+    // When
+    bloomFilter.confirm(System.currentTimeMillis());
+
+    // Then
+    assertTrue(bloomFilter.isReady());
+    assertFalse(bloomFilter.mightBeRevoked("jti1"));
+  }
+
+  @Test
+  void whenReadFails_thenFilterIsNotConfirmed() {
+    // Given
+    RevocationBloomFilter filter = spy(bloomFilter);
+    listener = new RevocationInvalidationListener(revocationStream, nearCache, filter,
+        revocationStorage, journal);
+    when(revocationStream.read(any()))
+        .thenReturn(Mono.error(new IllegalStateException("connection reset")));
+
+    // When & Then
+    StepVerifier.create(listener.poll()).expectError(IllegalStateException.class).verify();
+    verify(filter, never()).confirm(anyLong());
+  }
+}
@@ -0,0 +1,189 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+
+class RevocationJournalTest {
+
+  private static final String JTI = "3f2c9a1e-0000-4000-8000-000000000001";
+
+  @TempDir
+  private Path tempDir;
+
+  private MutableClock clock;
+  private Path file;
+  private RevocationJournal journal;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    file = tempDir.resolve("revocations.journal");
+    journal = open(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    journal.close();
+  }
+
+  private RevocationJournal open(int capacity) {
+    return new RevocationJournal(file, capacity, Duration.ofDays(7), Duration.ofHours(1), clock,
+        Schedulers.immediate());
+  }
+
+  private long in(Duration duration) {
+    return clock.millis() + duration.toMillis();
+  }
+
+  @Test
+  void whenReopened_thenRevocationsSurviveInFixedSizeRecords() throws Exception {
+    // Given
+    journal.append(JTI, in(Duration.ofMinutes(15)));
+    journal.append("not-a-uuid", in(Duration.ofMinutes(15)));
+    journal.close();
+
+    // When
+    journal = open(4);
+
+    // Then
+    assertTrue(journal.isRevoked(JTI));
+    assertTrue(journal.isRevoked("not-a-uuid"));
+    assertFalse(journal.isRevoked("3f2c9a1e-0000-4000-8000-000000000002"));
+    assertEquals(2, journal.size());
+    assertEquals(4L * RevocationJournal.RECORD_BYTES, Files.size(file));
+  }
+
+  @Test
+  void whenOpened_thenFileIsAllocatedUpFront() throws Exception {
+    // Then
+    assertEquals(4L * RevocationJournal.RECORD_BYTES, Files.size(file));
+    assertEquals(0, journal.size());
+  }
+
+  @Test
+  void whenWriterIsBehind_thenAppendReturnsAndRevocationIsVisibleAtOnce() {
+    // Given - a writer whose tasks only run when the test runs them
+    List<Runnable> writerTasks = new ArrayList<>();
+    journal.close();
+    journal = new RevocationJournal(file, 4, Duration.ofDays(7), Duration.ofHours(1), clock,
+        Schedulers.fromExecutor(writerTasks::add));
+
+    // When
+    journal.append(JTI, in(Duration.ofMinutes(15)));
+
+    // Then
+    assertTrue(journal.isRevoked(JTI));
+    assertEquals(0, journal.size());
+    List.copyOf(writerTasks).forEach(Runnable::run);
+    assertEquals(1, journal.size());
+  }
+
+  @Test
+  void whenMoreRecordsQueuedThanAllowed_thenExcessIsDroppedFromFileButStillRevoked() {
+    // Given
+    journal.close();
+    journal = new RevocationJournal(file, 2, Duration.ofDays(7), Duration.ofHours(1), clock,
+        Schedulers.fromExecutor(task -> { }));
+
+    // When
+    for (int i = 0; i < 3; i++) {
+      journal.append("jti-" + i, in(Duration.ofMinutes(15)));
+    }
+
+    // Then
+    assertEquals(1, journal.dropped());
+    assertTrue(journal.isRevoked("jti-2"));
+  }
+
+  @Test
+  void whenEntriesExpire_thenCompactionDropsThemAndKeepsLatestExpiry() {
+    // Given
+    journal.append(JTI, in(Duration.ofMinutes(15)));
+    journal.append("jti-short", in(Duration.ofMinutes(1)));
+    journal.append(JTI, in(Duration.ofMinutes(30)));
+
+    // When
+    clock.advance(Duration.ofMinutes(20));
+    journal.compact();
+
+    // Then
+    assertEquals(1, journal.size());
+    assertTrue(journal.isRevoked(JTI));
+    assertFalse(journal.isRevoked("jti-short"));
+  }
+
+  @Test
+  void whenReplicated_thenKeptForLongestTokenLifetime() {
+    // When
+    journal.appendReplicated(JTI, clock.millis());
+
+    // Then
+    clock.advance(Duration.ofDays(7).minusMinutes(1));
+    assertTrue(journal.isRevoked(JTI));
+    clock.advance(Duration.ofMinutes(1));
+    assertFalse(journal.isRevoked(JTI));
+  }
+
+  @Test
+  void whenFullOfLiveEntries_thenFileGrows() {
+    // When
+    for (int i = 0; i < 5; i++) {
+      journal.append("jti-" + i, in(Duration.ofMinutes(15)));
+    }
+
+    // Then
+    assertEquals(5, journal.size());
+    assertEquals(8, journal.capacity());
+    assertTrue(journal.isRevoked("jti-4"));
+  }
+
+  @Test
+  void whenAlreadyExpired_thenNotJournaled() {
+    // When
+    journal.append(JTI, clock.millis());
+
+    // Then
+    assertEquals(0, journal.size());
+    assertFalse(journal.isRevoked(JTI));
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+
+class RevocationNearCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private RevocationNearCache nearCache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    nearCache = new RevocationNearCache(100, 60000, meterRegistry);
+  }
+
+  @Test
+  void whenAnswerCached_thenReturnedAndCountedAsHit() {
+    // Given
+    nearCache.put("jti1", false);
+
+    // When
+    Optional<Boolean> hit = nearCache.get("jti1");
+    Optional<Boolean> miss = nearCache.get("jti2");
+
+    // Then
+    assertEquals(Optional.of(false), hit);
+    assertTrue(miss.isEmpty());
+    assertEquals(0.5, meterRegistry.get("token.revocation.near-cache.hit.ratio").gauge().value());
+    assertEquals(60000.0,
+        meterRegistry.get("token.revocation.near-cache.staleness.window").gauge().value());
+  }
+
+  @Test
+  void whenRevocationReceived_thenOverridesCachedNegative() {
+    // Given
+    nearCache.put("jti1", false);
+
+    // When
+    nearCache.markRevoked("jti1", System.currentTimeMillis());
+
+    // Then
+    assertEquals(Optional.of(true), nearCache.get("jti1"));
+    assertEquals(1, meterRegistry.get("token.revocation.invalidation.lag").timer().count());
+  }
+
+  @Test
+  void whenListenerReadsEntry_thenAppliesRevocation() {
+    // Given
+    RevocationBloomFilter bloomFilter =
+        new RevocationBloomFilter(3_600_000, 4, 1000, 0.01, 60000, meterRegistry);
+    bloomFilter.markReady();
+    RevocationJournal journal = mock(RevocationJournal.class);
+    RevocationInvalidationListener listener = new RevocationInvalidationListener(
+        mock(RevocationStream.class), nearCache, bloomFilter, null, journal);
+
+    // When
+    listener.apply(StreamRecords.newRecord().in(RevocationStream.KEY).withId("1-0")
+        .ofMap(Map.of("jti", "3f2c9a1e-0000-4000-8000-000000000001",
+            "at", String.valueOf(System.currentTimeMillis()))));
+    listener.apply(StreamRecords.newRecord().in(RevocationStream.KEY).withId("2-0")
+        .ofMap(Map.of("jti", "malformed")));
+
+    // Then
+    assertEquals(Optional.of(true), nearCache.get("3f2c9a1e-0000-4000-8000-000000000001"));
+    assertTrue(bloomFilter.mightBeRevoked("3f2c9a1e-0000-4000-8000-000000000001"));
+    assertTrue(nearCache.get("malformed").isEmpty());
+    verify(journal).appendReplicated(eq("3f2c9a1e-0000-4000-8000-000000000001"), anyLong());
+    verifyNoMoreInteractions(journal);
+  }
+
+  @Test
+  void whenCleared_thenEntriesDropped() {
+    // Given
+    nearCache.put("jti1", false);
+
+    // When
+    nearCache.clear();
+
+    // Then
+    assertTrue(nearCache.get("jti1").isEmpty());
+  }
+}
@@ -0,0 +1,144 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import com.redis.testcontainers.RedisContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compares the Redis memory used by the two {@link RevocationStorage}
+ * layouts for the same revocations, and checks the bucketed layout finds
+ * what it stored. Skipped when Docker is not available, except under
+ * {@code -Predis-it}.
+ */
+class RevocationStorageMemoryTest {
+
+  private static final int REVOCATIONS = 20_000;
+
+  private static RedisContainer redis;
+  private static LettuceConnectionFactory connectionFactory;
+  private static ReactiveRedisTemplate<String, String> redisTemplate;
+
+  @TempDir
+  private Path tempDir;
+
+  private final List<String> jtis = IntStream.range(0, REVOCATIONS)
+      .mapToObj(i -> UUID.randomUUID().toString())
+      .toList();
+
+  @BeforeAll
+  static void startRedis() {
+    RedisContainerSupport.requireDocker();
+    redis = new RedisContainer(RedisContainer.DEFAULT_IMAGE_NAME.withTag(
+        RedisContainer.DEFAULT_TAG));
+    redis.start();
+    connectionFactory = new LettuceConnectionFactory(redis.getRedisHost(), redis.getRedisPort());
+    connectionFactory.afterPropertiesSet();
+    redisTemplate = new ReactiveRedisTemplate<>(connectionFactory,
+        RedisSerializationContext.string());
+  }
+
+  @AfterAll
+  static void stopRedis() {
+    if (connectionFactory != null) {
+      connectionFactory.destroy();
+    }
+    if (redis != null) {
+      redis.stop();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+  }
+
+  @Test
+  void whenSameRevocationsStored_thenBucketedLayoutUsesLessThanHalfTheMemory() {
+    // When
+    long keysBytes = memoryFor(new KeyPerTokenRevocationStorage(redisTemplate));
+    redisTemplate.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+    long bucketsBytes = memoryFor(new BucketedRevocationStorage(redisTemplate));
+
+    // Then
+    System.out.printf("Revocation storage for %d JTIs: keys=%d bytes, buckets=%d bytes%n",
+        REVOCATIONS, keysBytes, bucketsBytes);
+    assertTrue(bucketsBytes * 2 < keysBytes,
+        "buckets=" + bucketsBytes + " bytes, keys=" + keysBytes + " bytes");
+  }
+
+  @Test
+  void whenRevokedInBuckets_thenFoundByExpiryAndListedAsText() {
+    // Given
+    BucketedRevocationStorage storage = new BucketedRevocationStorage(redisTemplate);
+    long expiresAt = System.currentTimeMillis() + Duration.ofMinutes(15).toMillis();
+    adapter(storage).addToBlacklist(jtis.get(0), Duration.ofMinutes(15)).block();
+
+    // When
+    Map<String, Long> lookup = new LinkedHashMap<>();
+    lookup.put(jtis.get(0), expiresAt);
+    lookup.put(jtis.get(1), expiresAt);
+    Set<String> revoked = storage.findRevoked(lookup).block();
+
+    // Then
+    assertEquals(Set.of(jtis.get(0)), revoked);
+    assertEquals(List.of(jtis.get(0)), storage.revokedJtis().collectList().block());
+  }
+
+  /**
+   * Stores every JTI with expiries spread over 15 minutes and returns the
+   * growth of Redis' used memory.
+   */
+  private long memoryFor(RevocationStorage storage) {
+    TokenRedisAdapter adapter = adapter(storage);
+    long before = usedMemory();
+    Flux.range(0, REVOCATIONS)
+        .flatMap(i -> adapter.addToBlacklist(jtis.get(i),
+            Duration.ofMinutes(15).plusMillis(i * 45L)), 16)
+        .blockLast();
+    // Only the storage layout is compared, not the stream both append to
+    redisTemplate.delete(RevocationStream.KEY).block();
+    long after = usedMemory();
+    assertEquals(REVOCATIONS, new HashSet<>(storage.revokedJtis().collectList().block()).size());
+    return after - before;
+  }
+
+  private TokenRedisAdapter adapter(RevocationStorage storage) {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    return new TokenRedisAdapter(redisTemplate,
+        new RevocationNearCache(100, 60000, meterRegistry),
+        new RevocationBloomFilter(3_600_000, 4, 1000, 0.01, 5000, meterRegistry),
+        storage,
+        new RevocationStream(redisTemplate, REVOCATIONS, 100, 250),
+        new RevocationJournal(tempDir.resolve(UUID.randomUUID() + ".journal"), REVOCATIONS,
+            Duration.ofDays(7), Duration.ofHours(1), Clock.systemUTC(), Schedulers.immediate()),
+        PortResilience.ofDefaults("tokenCache"));
+  }
+
+  private static long usedMemory() {
+    return redisTemplate.execute(connection -> connection.serverCommands().info("memory"))
+        .map(info -> Long.parseLong(info.getProperty("used_memory")))
+        .blockLast();
+  }
+}
@@ -0,0 +1,115 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TimeBucketedBloomFilterTest {
+
+  private MutableClock clock;
+  private TimeBucketedBloomFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    filter = new TimeBucketedBloomFilter(Duration.ofHours(4), 4, 1000, 0.01, clock);
+  }
+
+  @Test
+  void whenAdded_thenMightContain() {
+    // When
+    filter.put("jti-1");
+
+    // Then
+    assertTrue(filter.mightContain("jti-1"));
+  }
+
+  @Test
+  void whenManyAbsentKeysChecked_thenFalsePositiveRateStaysNearTarget() {
+    // Given
+    for (int i = 0; i < 1000; i++) {
+      filter.put("revoked-" + i);
+    }
+
+    // When
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain("valid-" + i)) {
+        falsePositives++;
+      }
+    }
+
+    // Then
+    assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    assertTrue(filter.expectedFalsePositiveProbability() < 0.03);
+  }
+
+  @Test
+  void whenWithinWindow_thenEntryStaysVisibleAcrossBuckets() {
+    // Given
+    filter.put("jti-1");
+
+    // When
+    clock.advance(Duration.ofHours(4));
+
+    // Then
+    assertTrue(filter.mightContain("jti-1"));
+  }
+
+  @Test
+  void whenWindowElapsed_thenEntryAgesOutAndMemoryStaysFlat() {
+    // Given
+    long memory = filter.memoryBytes();
+    filter.put("jti-1");
+
+    // When - rotate through every slot so the original bucket is reused
+    for (int hour = 0; hour < 5; hour++) {
+      clock.advance(Duration.ofHours(1));
+      filter.put("later-" + hour);
+    }
+
+    // Then
+    assertFalse(filter.mightContain("jti-1"));
+    assertTrue(filter.mightContain("later-4"));
+    assertEquals(memory, filter.memoryBytes());
+  }
+
+  @Test
+  void whenEmpty_thenExpectedFalsePositiveProbabilityIsZero() {
+    // When & Then
+    assertEquals(0.0, filter.expectedFalsePositiveProbability());
+    assertFalse(filter.mightContain("jti-1"));
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class TokenGenerationRedisAdapterTest {
+
+  @Mock
+  private ReactiveRedisTemplate<String, String> redisTemplate;
+
+  @Mock
+  private ReactiveValueOperations<String, String> valueOperations;
+
+  private TokenGenerationRedisAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    adapter = new TokenGenerationRedisAdapter(redisTemplate, 100, 60000,
+        new SimpleMeterRegistry(), PortResilience.ofDefaults("tokenCache"));
+  }
+
+  @Test
+  void whenLookedUpTwice_thenSecondAnswerComesFromCache() {
+    // Given
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.get("user:token-generation:user1")).thenReturn(Mono.just("3"));
+
+    // When & Then
+    StepVerifier.create(adapter.currentGeneration("user1")).expectNext(3L).verifyComplete();
+    StepVerifier.create(adapter.currentGeneration("user1")).expectNext(3L).verifyComplete();
+    verify(valueOperations, times(1)).get("user:token-generation:user1");
+  }
+
+  @Test
+  void whenNoCounterStored_thenGenerationIsZero() {
+    // Given
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.get("user:token-generation:user1")).thenReturn(Mono.empty());
+
+    // When & Then
+    StepVerifier.create(adapter.currentGeneration("user1")).expectNext(0L).verifyComplete();
+  }
+
+  @Test
+  void whenLookingUpSeveralUsers_thenOnlyMissesAreFetched() {
+    // Given
+    adapter.apply("user1", 2L);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.multiGet(List.of("user:token-generation:user2",
+        "user:token-generation:user3"))).thenReturn(Mono.just(Arrays.asList("4", null)));
+
+    // When & Then
+    StepVerifier.create(adapter.currentGenerations(List.of("user1", "user2", "user3")))
+        .expectNext(Map.of("user1", 2L, "user2", 4L, "user3", 0L))
+        .verifyComplete();
+  }
+
+  @Test
+  void whenBumped_thenCacheUpdatedAndBumpPublished() {
+    // Given
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.increment("user:token-generation:user1")).thenReturn(Mono.just(1L));
+    when(redisTemplate.convertAndSend("token:generations", "user1:1"))
+        .thenReturn(Mono.just(1L));
+
+    // When & Then
+    StepVerifier.create(adapter.bumpGeneration("user1")).expectNext(1L).verifyComplete();
+    StepVerifier.create(adapter.currentGeneration("user1")).expectNext(1L).verifyComplete();
+    verify(valueOperations, never()).get(anyString());
+  }
+
+  @Test
+  void whenOlderGenerationApplied_thenNewerOneIsKept() {
+    // Given
+    adapter.apply("user1", 5L);
+
+    // When
+    adapter.apply("user1", 4L);
+
+    // Then
+    assertEquals(5L, adapter.currentGeneration("user1").block());
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @Test
+  void whenRedisUnavailable_thenLastKnownGenerationIsUsedAfterCacheExpiry() {
+    // Given - entries expire at once, so only the last known generation remains
+    adapter = new TokenGenerationRedisAdapter(redisTemplate, 100, 0,
+        new SimpleMeterRegistry(), PortResilience.ofDefaults("tokenCache"));
+    adapter.apply("user1", 3L);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.get("user:token-generation:user1"))
+        .thenReturn(Mono.error(new RedisConnectionFailureException("connection refused")));
+
+    // When & Then
+    StepVerifier.create(adapter.currentGeneration("user1")).expectNext(3L).verifyComplete();
+  }
+
+  @Test
+  void whenRedisUnavailableAndGenerationNeverSeen_thenFailsAsUnavailable() {
+    // Given
+    adapter.apply("user1", 3L);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.multiGet(List.of("user:token-generation:user2")))
+        .thenReturn(Mono.error(new RedisConnectionFailureException("connection refused")));
+
+    // When & Then
+    StepVerifier.create(adapter.currentGenerations(List.of("user1", "user2")))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+  }
+
+  @Test
+  void whenRedisUnavailable_thenBumpFailsAsUnavailable() {
+    // Given
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.increment("user:token-generation:user1"))
+        .thenReturn(Mono.error(new RedisConnectionFailureException("connection refused")));
+
+    // When & Then
+    StepVerifier.create(adapter.bumpGeneration("user1"))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+    verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+  }
+}
@@ -0,0 +1,236 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import com.redis.testcontainers.RedisContainer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.nttd.banking.auth.domain.model.Session;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the Redis scripts of {@link TokenRedisAdapter} against a real Redis.
+ * Skipped when Docker is not available, except under {@code -Predis-it}.
+ */
+class TokenRedisAdapterScriptTest {
+
+  private static RedisContainer redis;
+  private static LettuceConnectionFactory connectionFactory;
+  private static ReactiveRedisTemplate<String, String> redisTemplate;
+
+  @TempDir
+  private Path tempDir;
+
+  private TokenRedisAdapter adapter;
+
+  @BeforeAll
+  static void startRedis() {
+    RedisContainerSupport.requireDocker();
+    redis = new RedisContainer(RedisContainer.DEFAULT_IMAGE_NAME.withTag(
+        RedisContainer.DEFAULT_TAG));
+    redis.start();
+    connectionFactory = new LettuceConnectionFactory(redis.getRedisHost(), redis.getRedisPort());
+    connectionFactory.afterPropertiesSet();
+    redisTemplate = new ReactiveRedisTemplate<>(connectionFactory,
+        RedisSerializationContext.string());
+  }
+
+  @AfterAll
+  static void stopRedis() {
+    if (connectionFactory != null) {
+      connectionFactory.destroy();
+    }
+    if (redis != null) {
+      redis.stop();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    adapter = new TokenRedisAdapter(redisTemplate,
+        new RevocationNearCache(100, 60000, meterRegistry),
+        new RevocationBloomFilter(3_600_000, 4, 1000, 0.01, 5000, meterRegistry),
+        new KeyPerTokenRevocationStorage(redisTemplate),
+        new RevocationStream(redisTemplate, 1000, 100, 250),
+        new RevocationJournal(tempDir.resolve("revocations.journal"), 16, Duration.ofDays(7),
+            Duration.ofHours(1), Clock.systemUTC(), Schedulers.immediate()),
+        PortResilience.ofDefaults("tokenCache"));
+    ReflectionTestUtils.setField(adapter, "maxConcurrentSessions", 2);
+    ReflectionTestUtils.setField(adapter, "lockoutMaxAttempts", 3);
+    ReflectionTestUtils.setField(adapter, "lockoutWindowMs", 60_000L);
+    ReflectionTestUtils.setField(adapter, "lockoutBaseDurationMs", 10_000L);
+    ReflectionTestUtils.setField(adapter, "lockoutMaxDurationMs", 30_000L);
+    ReflectionTestUtils.setField(adapter, "lockoutStrikeMemoryMs", 600_000L);
+  }
+
+  @Test
+  void whenFailuresReachLimit_thenLockedOutWithRemainingTime() {
+    // When
+    assertEquals(Duration.ZERO, adapter.recordFailedLogin("user1").block());
+    assertEquals(Duration.ZERO, adapter.recordFailedLogin("user1").block());
+    Duration lockout = adapter.recordFailedLogin("user1").block();
+
+    // Then
+    assertEquals(Duration.ofSeconds(10), lockout);
+    Duration remaining = adapter.getLockout("user1").block();
+    assertTrue(remaining.compareTo(Duration.ZERO) > 0
+        && remaining.compareTo(Duration.ofSeconds(10)) <= 0);
+  }
+
+  @Test
+  void whenLockedOutAgain_thenLockoutDoublesUpToMaximum() {
+    // Given - first lockout, then cleared as if it had expired
+    for (int i = 0; i < 3; i++) {
+      adapter.recordFailedLogin("user2").block();
+    }
+    redisTemplate.delete("user:lockout:user2").block();
+
+    // When
+    adapter.recordFailedLogin("user2").block();
+    adapter.recordFailedLogin("user2").block();
+    Duration second = adapter.recordFailedLogin("user2").block();
+    redisTemplate.delete("user:lockout:user2").block();
+    for (int i = 0; i < 2; i++) {
+      adapter.recordFailedLogin("user2").block();
+    }
+    Duration third = adapter.recordFailedLogin("user2").block();
+
+    // Then
+    assertEquals(Duration.ofSeconds(20), second);
+    assertEquals(Duration.ofSeconds(30), third);
+  }
+
+  @Test
+  void whenNoLockout_thenRemainingIsZero() {
+    // When & Then
+    assertEquals(Duration.ZERO, adapter.getLockout("user3").block());
+  }
+
+  @Test
+  void whenPairStored_thenBothTokensRevokedAndPairRemoved() {
+    // Given
+    adapter.saveTokenPair("access-1", "refresh-1", Duration.ofDays(7)).block();
+
+    // When & Then
+    StepVerifier.create(adapter.revokeTokenPair("user1", "access-1", Duration.ofMinutes(15),
+            Duration.ofDays(7)))
+        .expectNext("refresh-1")
+        .verifyComplete();
+
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:access-1").block());
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:refresh-1").block());
+    assertEquals(Boolean.FALSE, redisTemplate.hasKey("token:pair:access-1").block());
+    Duration refreshTtl = redisTemplate.getExpire("token:blacklist:refresh-1").block();
+    assertTrue(refreshTtl.compareTo(Duration.ofDays(6)) > 0);
+  }
+
+  @Test
+  void whenSessionLimitExceeded_thenOldestSessionRevoked() {
+    // Given
+    adapter.registerSession("user4", "a1", "r1", Duration.ofMinutes(15), Duration.ofDays(1))
+        .block();
+    adapter.registerSession("user4", "a2", "r2", Duration.ofMinutes(15), Duration.ofDays(2))
+        .block();
+
+    // When
+    Integer evicted = adapter.registerSession("user4", "a3", "r3", Duration.ofMinutes(15),
+        Duration.ofDays(3)).block();
+
+    // Then
+    assertEquals(1, evicted);
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:r1").block());
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:a1").block());
+    assertEquals(List.of("r2", "r3"), adapter.findSessions("user4").block().stream()
+        .map(Session::getSessionId).toList());
+  }
+
+  @Test
+  void whenAllSessionsRevoked_thenLatestAccessTokensBlacklistedAndIndexDropped() {
+    // Given
+    adapter.registerSession("user5", "a1", "r1", Duration.ofMinutes(15), Duration.ofDays(1))
+        .block();
+    adapter.updateSessionAccessToken("user5", "r1", "a1-refreshed", Duration.ofMinutes(15))
+        .block();
+
+    // When
+    Integer revoked = adapter.revokeAllSessions("user5").block();
+
+    // Then
+    assertEquals(1, revoked);
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:a1-refreshed").block());
+    assertTrue(adapter.findSessions("user5").block().isEmpty());
+    assertEquals(Boolean.FALSE, redisTemplate.hasKey("user:sessions:user5").block());
+  }
+
+  @Test
+  void whenLogoutWithRefreshedAccessToken_thenRefreshTokenRevoked() {
+    // Given
+    adapter.registerSession("user6", "a1", "r1", Duration.ofMinutes(15), Duration.ofDays(7))
+        .block();
+    adapter.saveTokenPair("a1", "r1", Duration.ofDays(7)).block();
+    adapter.updateSessionAccessToken("user6", "r1", "a2", Duration.ofMinutes(15)).block();
+
+    // When & Then
+    StepVerifier.create(adapter.revokeTokenPair("user6", "a2", Duration.ofMinutes(15),
+            Duration.ofDays(7)))
+        .expectNext("r1")
+        .verifyComplete();
+
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:a2").block());
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:r1").block());
+    assertTrue(adapter.findSessions("user6").block().isEmpty());
+  }
+
+  @Test
+  void whenSessionRefreshed_thenNewAccessPairExpiresWithRefreshToken() {
+    // Given
+    adapter.registerSession("user7", "a1", "r1", Duration.ofMinutes(15), Duration.ofDays(1))
+        .block();
+
+    // When
+    adapter.updateSessionAccessToken("user7", "r1", "a2", Duration.ofMinutes(15)).block();
+
+    // Then
+    assertEquals("r1", adapter.getRefreshJtiByAccessJti("a2").block());
+    Duration pairTtl = redisTemplate.getExpire("token:pair:a2").block();
+    assertTrue(pairTtl.compareTo(Duration.ofHours(23)) > 0
+        && pairTtl.compareTo(Duration.ofDays(1)) <= 0);
+  }
+
+  @Test
+  void whenSessionUnknown_thenNoPairSavedForRefreshedAccessToken() {
+    // When
+    adapter.updateSessionAccessToken("user8", "r1", "a2", Duration.ofMinutes(15)).block();
+
+    // Then
+    assertEquals(Boolean.FALSE, redisTemplate.hasKey("token:pair:a2").block());
+  }
+
+  @Test
+  void whenNoPairStored_thenOnlyAccessTokenRevoked() {
+    // When & Then
+    StepVerifier.create(adapter.revokeTokenPair("user1", "access-2", Duration.ofMinutes(15),
+            Duration.ofDays(7)))
+        .verifyComplete();
+
+    assertEquals(Boolean.TRUE, redisTemplate.hasKey("token:blacklist:access-2").block());
+    Duration accessTtl = redisTemplate.getExpire("token:blacklist:access-2").block();
+    assertTrue(accessTtl.compareTo(Duration.ofMinutes(15)) <= 0);
+  }
+}
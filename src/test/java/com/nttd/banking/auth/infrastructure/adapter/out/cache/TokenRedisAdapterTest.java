@@ -0,0 +1,246 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRedisAdapterTest {
+
+  @Mock
+  private ReactiveRedisTemplate<String, String> redisTemplate;
+
+  @Mock
+  private ReactiveValueOperations<String, String> valueOperations;
+
+  @TempDir
+  private Path tempDir;
+
+  private RevocationBloomFilter bloomFilter;
+
+  private RevocationJournal journal;
+
+  private TokenRedisAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    RevocationNearCache nearCache = new RevocationNearCache(100, 60000, new SimpleMeterRegistry());
+    bloomFilter =
+        new RevocationBloomFilter(3_600_000, 4, 1000, 0.01, 60000, new SimpleMeterRegistry());
+    journal = new RevocationJournal(tempDir.resolve("revocations.journal"), 16,
+        Duration.ofDays(7), Duration.ofHours(1), Clock.systemUTC(), Schedulers.immediate());
+    adapter = new TokenRedisAdapter(redisTemplate, nearCache, bloomFilter,
+        new KeyPerTokenRevocationStorage(redisTemplate),
+        new RevocationStream(redisTemplate, 1000, 100, 250), journal,
+        PortResilience.ofDefaults("tokenCache"));
+  }
+
+  private static JwtToken token(String jti) {
+    return JwtToken.builder()
+        .jti(jti)
+        .expiresAt(LocalDateTime.now().plusMinutes(15))
+        .build();
+  }
+
+  @Test
+  void whenBloomFilterReadyAndJtiNeverRevoked_thenRedisIsSkipped() {
+    // Given
+    bloomFilter.markReady();
+
+    // When & Then
+    StepVerifier.create(adapter.isBlacklisted(token("jti1"))).expectNext(false).verifyComplete();
+    verifyNoInteractions(redisTemplate);
+  }
+
+  @Test
+  void whenBloomFilterReportsPossibleHit_thenRedisIsConsulted() {
+    // Given
+    bloomFilter.add("jti1");
+    bloomFilter.markReady();
+    when(redisTemplate.hasKey("token:blacklist:jti1")).thenReturn(Mono.just(true));
+
+    // When & Then
+    StepVerifier.create(adapter.isBlacklisted(token("jti1"))).expectNext(true).verifyComplete();
+  }
+
+  @Test
+  void whenLookedUpTwice_thenSecondAnswerComesFromNearCache() {
+    // Given
+    when(redisTemplate.hasKey("token:blacklist:jti1")).thenReturn(Mono.just(false));
+
+    // When & Then
+    StepVerifier.create(adapter.isBlacklisted(token("jti1"))).expectNext(false).verifyComplete();
+    StepVerifier.create(adapter.isBlacklisted(token("jti1"))).expectNext(false).verifyComplete();
+    verify(redisTemplate, times(1)).hasKey("token:blacklist:jti1");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenBlacklisted_thenRevocationCachedLocally() {
+    // Given
+    when(redisTemplate.execute(any(RedisScript.class), eq(List.of()), anyList()))
+        .thenReturn(Flux.just(1L));
+
+    // When
+    StepVerifier.create(adapter.addToBlacklist("jti1", Duration.ofMinutes(5))).verifyComplete();
+
+    // Then
+    StepVerifier.create(adapter.isBlacklisted(token("jti1"))).expectNext(true).verifyComplete();
+    verify(redisTemplate, never()).hasKey(anyString());
+    assertTrue(journal.isRevoked("jti1"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenRevokeScriptFails_thenErrorIsNotSwallowed() {
+    // Given - storing and announcing the revocation is one script call
+    when(redisTemplate.execute(any(RedisScript.class), eq(List.of()), anyList()))
+        .thenReturn(Flux.error(new IllegalStateException("NOSCRIPT")));
+
+    // When & Then
+    StepVerifier.create(adapter.addToBlacklist("jti1", Duration.ofMinutes(5)))
+        .expectError(IllegalStateException.class)
+        .verify();
+    assertFalse(journal.isRevoked("jti1"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenTokenPairRevoked_thenBothJtisRevokedLocally() {
+    // Given
+    when(redisTemplate.execute(any(RedisScript.class),
+        eq(List.of("token:pair:access1", "user:sessions:user1", "user:session-details:user1")),
+        anyList()))
+        .thenReturn(Flux.just("refresh1"));
+
+    // When
+    StepVerifier.create(adapter.revokeTokenPair("user1", "access1", Duration.ofMinutes(5),
+            Duration.ofDays(7)))
+        .expectNext("refresh1")
+        .verifyComplete();
+
+    // Then
+    StepVerifier.create(adapter.isBlacklisted(token("access1"))).expectNext(true).verifyComplete();
+    StepVerifier.create(adapter.isBlacklisted(token("refresh1"))).expectNext(true).verifyComplete();
+    verify(redisTemplate, never()).hasKey(anyString());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenSessionAccessTokenUpdated_thenPairOfNewAccessJtiWrittenInSameScript() {
+    // Given
+    when(redisTemplate.execute(any(RedisScript.class),
+        eq(List.of("user:sessions:user1", "user:session-details:user1", "token:pair:access2")),
+        argThat((List<String> args) -> args.get(0).equals("refresh1")
+            && args.get(1).equals("access2"))))
+        .thenReturn(Flux.just(1L));
+
+    // When & Then
+    StepVerifier.create(adapter.updateSessionAccessToken("user1", "refresh1", "access2",
+            Duration.ofMinutes(15)))
+        .verifyComplete();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenSessionsRevoked_thenReturnedJtisRevokedLocally() {
+    // Given
+    when(redisTemplate.execute(any(RedisScript.class),
+        eq(List.of("user:sessions:user1", "user:session-details:user1")), anyList()))
+        .thenReturn(Flux.just(List.of("refresh1", "access1", "refresh2", "")));
+
+    // When & Then
+    StepVerifier.create(adapter.revokeAllSessions("user1"))
+        .expectNext(2)
+        .verifyComplete();
+    StepVerifier.create(adapter.isBlacklisted(token("refresh2"))).expectNext(true).verifyComplete();
+    StepVerifier.create(adapter.isBlacklisted(token("access1"))).expectNext(true).verifyComplete();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void whenSessionsListed_thenTriplesMappedToSessions() {
+    // Given
+    when(redisTemplate.execute(any(RedisScript.class),
+        eq(List.of("user:sessions:user1", "user:session-details:user1")), anyList()))
+        .thenReturn(Flux.just(List.of("refresh1", "1800000000000", "1700000000000:1700000900000:access1")));
+
+    // When & Then
+    StepVerifier.create(adapter.findSessions("user1"))
+        .assertNext(sessions -> {
+          assertEquals(1, sessions.size());
+          assertEquals("refresh1", sessions.get(0).getSessionId());
+          assertEquals("access1", sessions.get(0).getAccessJti());
+          assertNotNull(sessions.get(0).getCreatedAt());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void whenBatchLookup_thenOnlyNearCacheMissesAreFetched() {
+    // Given
+    when(redisTemplate.hasKey("token:blacklist:jti1")).thenReturn(Mono.just(false));
+    adapter.isBlacklisted(token("jti1")).block();
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.multiGet(List.of("token:blacklist:jti2", "token:blacklist:jti3")))
+        .thenReturn(Mono.just(Arrays.asList("revoked", null)));
+
+    // When & Then
+    StepVerifier.create(adapter.findBlacklisted(List.of(token("jti1"), token("jti2"),
+        token("jti3"))))
+        .assertNext(blacklisted -> assertEquals(Set.of("jti2"), blacklisted))
+        .verifyComplete();
+  }
+
+  @Test
+  void whenBatchLookupWithReadyBloomFilter_thenOnlyPossibleHitsAreFetched() {
+    // Given
+    bloomFilter.add("jti2");
+    bloomFilter.markReady();
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.multiGet(List.of("token:blacklist:jti2")))
+        .thenReturn(Mono.just(List.of("revoked")));
+
+    // When & Then
+    StepVerifier.create(adapter.findBlacklisted(List.of(token("jti1"), token("jti2"),
+        token("jti3"))))
+        .assertNext(blacklisted -> assertEquals(Set.of("jti2"), blacklisted))
+        .verifyComplete();
+  }
+
+  @Test
+  void whenRedisUnavailable_thenJournalAnswersLookups() {
+    // Given
+    journal.append("jti1", System.currentTimeMillis() + 60_000);
+    when(redisTemplate.hasKey(anyString()))
+        .thenReturn(Mono.error(new DataAccessResourceFailureException("down")));
+
+    // When & Then
+    StepVerifier.create(adapter.isBlacklisted(token("jti1"))).expectNext(true).verifyComplete();
+    StepVerifier.create(adapter.isBlacklisted(token("jti2"))).expectNext(false).verifyComplete();
+  }
+}
@@ -0,0 +1,76 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.nttd.banking.auth.domain.exception.UserAlreadyExistsException;
+import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class UserMongoAdapterTest {
+
+  @Mock
+  private UserMongoRepository mongoRepository;
+
+  @Mock
+  private ReactiveMongoTemplate mongoTemplate;
+
+  @Mock
+  private LastLoginWriter lastLoginWriter;
+
+  private UserMongoAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    adapter = new UserMongoAdapter(mongoRepository, new UserEntityMapper(),
+        PortResilience.ofDefaults("test"), mongoTemplate, lastLoginWriter);
+  }
+
+  private static DuplicateKeyException duplicate(String index) {
+    return new DuplicateKeyException("Write operation error on server localhost:27017. "
+        + "Write error: WriteError{code=11000, message='E11000 duplicate key error "
+        + "collection: auth.users index: " + index + " dup key: { ... }', details={}}.");
+  }
+
+  @Test
+  void whenInsertHitsUniqueIndex_thenConflictingFieldIsNamed() {
+    // Given
+    when(mongoRepository.insert(any(UserEntity.class)))
+        .thenReturn(Mono.error(duplicate("email")))
+        .thenReturn(Mono.error(duplicate("documentNumber_1")))
+        .thenReturn(Mono.error(duplicate("username")));
+    User user = User.builder().username("testuser").build();
+
+    // When & Then
+    StepVerifier.create(adapter.insert(user))
+        .expectErrorMessage("Email already exists")
+        .verify();
+    StepVerifier.create(adapter.insert(user))
+        .expectErrorMessage("Document number already exists")
+        .verify();
+    StepVerifier.create(adapter.insert(user))
+        .expectErrorMessage("Username already exists")
+        .verify();
+  }
+
+  @Test
+  void whenDuplicateIndexIsUnknown_thenGenericConflict() {
+    // When
+    UserAlreadyExistsException e =
+        UserMongoAdapter.alreadyExists(new DuplicateKeyException("E11000 duplicate key error"));
+
+    // Then
+    assertEquals("User already exists", e.getMessage());
+  }
+}
@@ -0,0 +1,165 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.nttd.banking.auth.infrastructure.adapter.out.resilience.PortResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindLastLoginWriterTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+  @Mock
+  private ReactiveMongoTemplate mongoTemplate;
+
+  @Mock
+  private ReactiveBulkOperations bulk;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  private WriteBehindLastLoginWriter writer(int batchSize, int maxBuffered) {
+    return new WriteBehindLastLoginWriter(mongoTemplate, PortResilience.ofDefaults("test"),
+        batchSize, maxBuffered, Duration.ofHours(1), meterRegistry);
+  }
+
+  @Test
+  void whenSameUserLogsInRepeatedly_thenOnlyLatestTimeIsWritten() {
+    // Given
+    WriteBehindLastLoginWriter writer = writer(10, 100);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, UserEntity.class)).thenReturn(bulk);
+    when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+    writer.touch("user1", T0.plusMinutes(2)).block();
+    writer.touch("user1", T0.plusMinutes(5)).block();
+    writer.touch("user1", T0).block();
+
+    // When
+    StepVerifier.create(writer.flush()).verifyComplete();
+
+    // Then
+    ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+    verify(bulk).updateOne(any(Query.class), update.capture());
+    LocalDateTime latest = T0.plusMinutes(5);
+    assertEquals(new Document("lastLogin", latest).append("updatedAt", latest),
+        ((Update) update.getValue()).getUpdateObject().get("$max"));
+    assertEquals(0, writer.depth());
+    assertEquals(1, meterRegistry.get("user.last-login.flush.latency").timer().count());
+  }
+
+  @Test
+  void whenBufferExceedsBatchSize_thenFlushedInUnorderedBatches() {
+    // Given
+    WriteBehindLastLoginWriter writer = writer(2, 100);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, UserEntity.class)).thenReturn(bulk);
+    when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+    for (String id : List.of("user1", "user2", "user3")) {
+      writer.touch(id, T0).block();
+    }
+
+    // When
+    StepVerifier.create(writer.flush()).verifyComplete();
+
+    // Then
+    verify(mongoTemplate, times(2)).bulkOps(BulkMode.UNORDERED, UserEntity.class);
+    verify(bulk, times(3)).updateOne(any(Query.class), any(UpdateDefinition.class));
+    verify(bulk, times(2)).execute();
+  }
+
+  @Test
+  void whenFlushFails_thenUpdatesKeptForNextFlush() {
+    // Given
+    WriteBehindLastLoginWriter writer = writer(10, 100);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, UserEntity.class)).thenReturn(bulk);
+    when(bulk.execute()).thenReturn(Mono.error(new DataAccessResourceFailureException("down")));
+    writer.touch("user1", T0).block();
+    writer.touch("user2", T0).block();
+
+    // When
+    StepVerifier.create(writer.flush()).verifyComplete();
+
+    // Then
+    assertEquals(2, writer.depth());
+    assertEquals(2.0, meterRegistry.get("user.last-login.buffer.depth").gauge().value());
+  }
+
+  @Test
+  void whenBufferFull_thenNewUsersWrittenDirectly() {
+    // Given
+    WriteBehindLastLoginWriter writer = writer(10, 1);
+    writer.touch("user1", T0).block();
+    when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class),
+        eq(UserEntity.class))).thenReturn(Mono.empty());
+
+    // When
+    writer.touch("user2", T0).block();
+    writer.touch("user1", T0.plusMinutes(1)).block();
+
+    // Then
+    verify(mongoTemplate).updateFirst(any(Query.class), any(UpdateDefinition.class),
+        eq(UserEntity.class));
+    assertEquals(1, writer.depth());
+    assertEquals(1.0, meterRegistry.get("user.last-login.buffer.overflow").counter().count());
+  }
+
+  @Test
+  void whenStopped_thenBufferFlushed() {
+    // Given
+    WriteBehindLastLoginWriter writer = writer(10, 100);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, UserEntity.class)).thenReturn(bulk);
+    when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+    writer.start();
+    writer.touch("user1", T0).block();
+
+    // When
+    writer.stop();
+
+    // Then
+    verify(bulk).execute();
+    assertEquals(0, writer.depth());
+  }
+
+  @Test
+  void whenStoppedDuringFlush_thenDrainedUpdatesWrittenByFinalFlush() {
+    // Given - a full batch starts a flush whose write never completes
+    WriteBehindLastLoginWriter writer = writer(1, 100);
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, UserEntity.class)).thenReturn(bulk);
+    when(bulk.execute()).thenReturn(Mono.never(),
+        Mono.just(BulkWriteResult.unacknowledged()));
+    writer.start();
+    writer.touch("user1", T0).block();
+    assertEquals(0, writer.depth());
+
+    // When
+    writer.stop();
+
+    // Then
+    verify(bulk, times(2)).execute();
+    assertEquals(0, writer.depth());
+  }
+}
@@ -0,0 +1,93 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nttd.banking.auth.domain.exception.DependencyUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class PortResilienceTest {
+
+  private CircuitBreaker circuitBreaker;
+  private PortResilience resilience;
+
+  @BeforeEach
+  void setUp() {
+    circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+        .slidingWindowSize(2)
+        .minimumNumberOfCalls(2)
+        .failureRateThreshold(50.0f)
+        .recordException(PortResilience::isUnavailable)
+        .build());
+    resilience = new PortResilience("test", circuitBreaker,
+        Bulkhead.of("test", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build()),
+        TimeLimiter.of("test", TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofMillis(100))
+            .build()));
+  }
+
+  @Test
+  void whenCallTooSlow_thenFailsAsUnavailable() {
+    // When & Then
+    StepVerifier.withVirtualTime(() -> resilience.guard(Mono.never()))
+        .thenAwait(Duration.ofMillis(100))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+  }
+
+  @Test
+  void whenBulkheadFull_thenExtraCallRejectedAtOnce() {
+    // Given
+    Sinks.One<String> pending = Sinks.one();
+    resilience.guard(pending.asMono()).subscribe();
+
+    // When & Then
+    StepVerifier.create(resilience.guard(Mono.just("second")))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+    pending.tryEmitValue("first");
+  }
+
+  @Test
+  void whenStoreKeepsFailing_thenCircuitOpensAndCallsFailFast() {
+    // Given
+    for (int i = 0; i < 2; i++) {
+      StepVerifier.create(resilience.guard(
+              Mono.error(new DataAccessResourceFailureException("down"))))
+          .expectError(DependencyUnavailableException.class)
+          .verify();
+    }
+
+    // When & Then
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    StepVerifier.create(resilience.guard(Mono.just("skipped")))
+        .expectError(DependencyUnavailableException.class)
+        .verify();
+  }
+
+  @Test
+  void whenStoreAnswersWithBusinessError_thenErrorPassesThroughUnrecorded() {
+    // When & Then
+    for (int i = 0; i < 2; i++) {
+      StepVerifier.create(resilience.guard(Mono.error(new DuplicateKeyException("dup"))))
+          .expectError(DuplicateKeyException.class)
+          .verify();
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+  }
+}
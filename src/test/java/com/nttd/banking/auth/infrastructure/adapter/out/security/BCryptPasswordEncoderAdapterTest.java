@@ -0,0 +1,75 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class BCryptPasswordEncoderAdapterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private BCryptPasswordEncoderAdapter encoder;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    // Low costs keep calibration fast; cost 4 always fits a 1 s target
+    encoder = new BCryptPasswordEncoderAdapter(Schedulers.immediate(), meterRegistry, 1000L, 4, 5);
+  }
+
+  @Test
+  void whenCalibrated_thenStrengthWithinBoundsAndPublished() {
+    // Then
+    assertTrue(encoder.getStrength() >= 4 && encoder.getStrength() <= 5);
+    assertEquals(encoder.getStrength(),
+        meterRegistry.get("password.bcrypt.strength").gauge().value());
+    assertNotNull(meterRegistry.find("password.bcrypt.calibrated.latency").gauge());
+  }
+
+  @Test
+  void whenTargetUnreachable_thenFallsBackToMinimumStrength() {
+    // When
+    BCryptPasswordEncoderAdapter strict = new BCryptPasswordEncoderAdapter(
+        Schedulers.immediate(), new SimpleMeterRegistry(), 0L, 4, 6);
+
+    // Then
+    assertEquals(4, strict.getStrength());
+  }
+
+  @Test
+  void whenEncodeAndMatch_thenRoundTripsAndRecordsVerifyLatency() {
+    // Given
+    String hash = encoder.encode("Password123!").block();
+
+    // When & Then
+    StepVerifier.create(encoder.matches("Password123!", hash))
+        .expectNext(true)
+        .verifyComplete();
+    assertEquals(1, meterRegistry.get("password.bcrypt.verify")
+        .tag("cost", String.valueOf(encoder.getStrength()))
+        .timer().count());
+    assertFalse(encoder.needsRehash(hash));
+  }
+
+  @Test
+  void whenHashUsesLowerCost_thenNeedsRehash() {
+    // Then
+    assertTrue(encoder.needsRehash("$2a$03$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW"));
+    assertTrue(encoder.needsRehash("plain"));
+    assertEquals(12, BCryptPasswordEncoderAdapter.costOf("$2a$12$abc"));
+  }
+
+  @Test
+  void whenHashUsesHigherCost_thenKept() {
+    // Given - a node that calibrated below the cost hashes were stored with
+    BCryptPasswordEncoderAdapter pinned = new BCryptPasswordEncoderAdapter(
+        Schedulers.immediate(), new SimpleMeterRegistry(), 1000L, 4, 4);
+
+    // Then
+    assertEquals(4, pinned.getStrength());
+    assertFalse(pinned.needsRehash("$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW"));
+  }
+}
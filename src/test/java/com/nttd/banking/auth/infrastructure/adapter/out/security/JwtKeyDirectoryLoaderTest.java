@@ -0,0 +1,106 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nttd.banking.auth.domain.model.VerificationKey;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JwtKeyDirectoryLoaderTest {
+
+  @TempDir
+  Path keyDirectory;
+
+  @Test
+  void whenNoActiveKidFile_thenNewestKeyPairSigns() throws Exception {
+    // Given
+    writeKeyPair("2025-01-01", rsaKeyPair());
+    writeKeyPair("2025-06-01", ecKeyPair());
+
+    // When
+    JwtKeyRing keyRing = JwtKeyDirectoryLoader.load(keyDirectory);
+
+    // Then
+    assertEquals("2025-06-01", keyRing.getActiveKid());
+    assertEquals(JwtSigningAlgorithm.ES256, keyRing.getActiveAlgorithm());
+    assertEquals(List.of("2025-06-01", "2025-01-01"), keyRing.getVerificationKeys().stream()
+        .map(VerificationKey::getKid)
+        .toList());
+    assertEquals("RS256", keyRing.findVerificationKey("2025-01-01").getAlgorithm());
+  }
+
+  @Test
+  void whenActiveKidFilePresent_thenNamedKeySigns() throws Exception {
+    // Given
+    writeKeyPair("2025-01-01", rsaKeyPair());
+    writeKeyPair("2025-06-01", rsaKeyPair());
+    Files.writeString(keyDirectory.resolve(JwtKeyDirectoryLoader.ACTIVE_KID_FILE), "2025-01-01\n");
+
+    // When
+    JwtKeyRing keyRing = JwtKeyDirectoryLoader.load(keyDirectory);
+
+    // Then
+    assertEquals("2025-01-01", keyRing.getActiveKid());
+    assertTrue(keyRing.findVerificationKey("2025-01-01").isActive());
+    assertFalse(keyRing.findVerificationKey("2025-06-01").isActive());
+  }
+
+  @Test
+  void whenOnlyPublicKeys_thenLoadFails() throws Exception {
+    // Given
+    writePem("retired" + JwtKeyDirectoryLoader.PUBLIC_SUFFIX, "PUBLIC KEY",
+        rsaKeyPair().getPublic());
+
+    // When & Then
+    assertThrows(IllegalStateException.class, () -> JwtKeyDirectoryLoader.load(keyDirectory));
+  }
+
+  @Test
+  void whenEcKeyNotOnP256_thenLoadFailsNamingTheKey() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+    keyGen.initialize(new ECGenParameterSpec("secp384r1"));
+    writeKeyPair("2025-06-01", keyGen.generateKeyPair());
+
+    // When
+    GeneralSecurityException error = assertThrows(GeneralSecurityException.class,
+        () -> JwtKeyDirectoryLoader.load(keyDirectory));
+
+    // Then
+    assertTrue(error.getMessage().contains("2025-06-01"));
+    assertTrue(error.getMessage().contains("only P-256 is supported"));
+  }
+
+  private void writeKeyPair(String kid, KeyPair keyPair) throws Exception {
+    writePem(kid + JwtKeyDirectoryLoader.PUBLIC_SUFFIX, "PUBLIC KEY", keyPair.getPublic());
+    writePem(kid + JwtKeyDirectoryLoader.PRIVATE_SUFFIX, "PRIVATE KEY", keyPair.getPrivate());
+  }
+
+  private void writePem(String fileName, String label, Key key) throws Exception {
+    String pem = "-----BEGIN " + label + "-----\n"
+        + Base64.getMimeEncoder().encodeToString(key.getEncoded())
+        + "\n-----END " + label + "-----\n";
+    Files.writeString(keyDirectory.resolve(fileName), pem);
+  }
+
+  private KeyPair rsaKeyPair() throws Exception {
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    return keyGen.generateKeyPair();
+  }
+
+  private KeyPair ecKeyPair() throws Exception {
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+    keyGen.initialize(new ECGenParameterSpec("secp256r1"));
+    return keyGen.generateKeyPair();
+  }
+}
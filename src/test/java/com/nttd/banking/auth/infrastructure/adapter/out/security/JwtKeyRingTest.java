@@ -0,0 +1,33 @@
+package com.nttd.banking.auth.infrastructure.adapter.out.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import org.junit.jupiter.api.Test;
+
+class JwtKeyRingTest {
+
+  @Test
+  void whenBuilderReusedWithOtherSigningKey_thenPublishedRingUnchanged() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    KeyPair first = keyGen.generateKeyPair();
+    KeyPair second = keyGen.generateKeyPair();
+    JwtKeyRing.Builder builder = JwtKeyRing.builder()
+        .signingKey("key-1", JwtSigningAlgorithm.RS256, first)
+        .verificationKey("key-2", JwtSigningAlgorithm.RS256, second.getPublic());
+    JwtKeyRing published = builder.build();
+
+    // When
+    JwtKeyRing next = builder.signingKey("key-2", JwtSigningAlgorithm.RS256, second).build();
+
+    // Then
+    assertTrue(published.findVerificationKey("key-1").isActive());
+    assertFalse(published.findVerificationKey("key-2").isActive());
+    assertEquals("key-1", published.getVerificationKeys().get(0).getKid());
+    assertTrue(next.findVerificationKey("key-2").isActive());
+    assertFalse(next.findVerificationKey("key-1").isActive());
+  }
+}
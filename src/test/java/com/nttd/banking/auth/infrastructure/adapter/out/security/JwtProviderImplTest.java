@@ -3,22 +3,32 @@ package com.nttd.banking.auth.infrastructure.adapter.out.security;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.nttd.banking.auth.domain.model.JwtToken;
+import com.nttd.banking.auth.domain.model.MintedToken;
 import com.nttd.banking.auth.domain.model.User;
+import com.nttd.banking.auth.domain.model.VerificationKey;
 import com.nttd.banking.auth.domain.model.enums.UserType;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
-import java.security.PrivateKey;
-import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 class JwtProviderImplTest {
 
   private JwtProviderImpl jwtProvider;
-  private PrivateKey privateKey;
-  private PublicKey publicKey;
+  private JwtKeyRingSource keyRingSource;
+  private KeyPair keyPair;
   private User testUser;
 
   @BeforeEach
@@ -26,15 +36,15 @@ class JwtProviderImplTest {
     // Generate RSA key pair for testing
     KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
     keyGen.initialize(2048);
-    KeyPair keyPair = keyGen.generateKeyPair();
-    privateKey = keyPair.getPrivate();
-    publicKey = keyPair.getPublic();
+    keyPair = keyGen.generateKeyPair();
+    keyRingSource = new JwtKeyRingSource(
+        JwtKeyRing.single("key-1", JwtSigningAlgorithm.RS256, keyPair));
 
     jwtProvider = new JwtProviderImpl(
-        privateKey,
-        publicKey,
+        keyRingSource,
         86400000L, // 24 hours
-        604800000L  // 7 days
+        604800000L, // 7 days
+        Schedulers.immediate()
     );
 
     testUser = User.builder()
@@ -53,62 +63,51 @@ class JwtProviderImplTest {
         .build();
   }
 
+  private String accessToken(JwtProviderImpl provider) {
+    return provider.mintAccessToken(testUser, 0L).block().getToken();
+  }
+
   @Test
-  void whenGenerateAccessToken_thenReturnsValidMetadata() {
+  void whenMintAccessToken_thenMetadataMatchesSignedClaims() {
     // When
-    JwtToken token = jwtProvider.generateAccessToken(testUser);
+    MintedToken minted = jwtProvider.mintAccessToken(testUser, 0L).block();
 
     // Then
-    assertNotNull(token);
-    assertNotNull(token.getJti());
-    assertEquals("user123", token.getUserId());
-    assertEquals("testuser", token.getUsername());
-    assertEquals(List.of("ROLE_CUSTOMER"), token.getRoles());
-    assertEquals("CUSTOMER", token.getUserType());
-    assertEquals("ACCESS", token.getTokenType());
-    assertNotNull(token.getIssuedAt());
-    assertNotNull(token.getExpiresAt());
-    assertTrue(token.getExpiresAt().isAfter(token.getIssuedAt()));
+    JwtToken parsed = jwtProvider.validateToken(minted.getToken());
+    assertEquals(parsed.getJti(), minted.getJti());
+    assertEquals(parsed.getIssuedAt(), minted.getIssuedAt());
+    assertEquals(parsed.getExpiresAt(), minted.getExpiresAt());
+    assertEquals("ACCESS", minted.getTokenType());
   }
 
   @Test
-  void whenGenerateAccessTokenString_thenReturnsValidJwt() {
+  void whenMintWithGeneration_thenGenerationRoundTrips() {
     // When
-    String tokenString = jwtProvider.generateAccessTokenString(testUser);
+    MintedToken minted = jwtProvider.mintAccessToken(testUser, 5L).block();
 
     // Then
-    assertNotNull(tokenString);
-    assertEquals(3, tokenString.split("\\.").length); // JWT has 3 parts
-
-    // Validate the token
-    JwtToken jwtToken = jwtProvider.validateToken(tokenString);
-    assertNotNull(jwtToken);
-    assertEquals("user123", jwtToken.getUserId());
-    assertEquals("testuser", jwtToken.getUsername());
-    assertEquals("CUSTOMER", jwtToken.getUserType());
-    assertEquals("ACCESS", jwtToken.getTokenType());
+    assertEquals(5L, jwtProvider.validateToken(minted.getToken()).getGeneration());
+    assertEquals(0L, jwtProvider.validateToken(accessToken(jwtProvider)).getGeneration());
   }
 
   @Test
-  void whenGenerateRefreshToken_thenReturnsValidJwt() {
+  void whenMintRefreshToken_thenMetadataMatchesSignedClaims() {
     // When
-    String refreshToken = jwtProvider.generateRefreshToken(testUser);
+    MintedToken minted = jwtProvider.mintRefreshToken(testUser, 0L).block();
 
     // Then
-    assertNotNull(refreshToken);
-    assertEquals(3, refreshToken.split("\\.").length);
-
-    // Validate the token
-    JwtToken jwtToken = jwtProvider.validateToken(refreshToken);
-    assertNotNull(jwtToken);
-    assertEquals("user123", jwtToken.getUserId());
-    assertEquals("REFRESH", jwtToken.getTokenType());
+    JwtToken parsed = jwtProvider.validateToken(minted.getToken());
+    assertEquals(parsed.getJti(), minted.getJti());
+    assertEquals(parsed.getExpiresAt(), minted.getExpiresAt());
+    assertEquals("REFRESH", parsed.getTokenType());
+    assertEquals(604800L,
+        Duration.between(minted.getIssuedAt(), minted.getExpiresAt()).getSeconds());
   }
 
   @Test
   void whenExtractJti_thenReturnsCorrectJti() {
     // Given
-    String token = jwtProvider.generateAccessTokenString(testUser);
+    String token = accessToken(jwtProvider);
 
     // When
     String jti = jwtProvider.extractJti(token);
@@ -121,7 +120,7 @@ class JwtProviderImplTest {
   @Test
   void whenValidateToken_thenReturnsJwtToken() {
     // Given
-    String token = jwtProvider.generateAccessTokenString(testUser);
+    String token = accessToken(jwtProvider);
 
     // When
     JwtToken jwtToken = jwtProvider.validateToken(token);
@@ -154,13 +153,14 @@ class JwtProviderImplTest {
     KeyPair differentKeyPair = keyGen.generateKeyPair();
 
     JwtProviderImpl otherJwtProvider = new JwtProviderImpl(
-        differentKeyPair.getPrivate(),
-        differentKeyPair.getPublic(),
+        new JwtKeyRingSource(
+            JwtKeyRing.single("key-1", JwtSigningAlgorithm.RS256, differentKeyPair)),
         86400000L,
-        604800000L
+        604800000L,
+        Schedulers.immediate()
     );
 
-    String tokenFromOtherProvider = otherJwtProvider.generateAccessTokenString(testUser);
+    String tokenFromOtherProvider = accessToken(otherJwtProvider);
 
     // When & Then - This provider should not validate token from other provider
     assertThrows(Exception.class, () -> {
@@ -171,9 +171,9 @@ class JwtProviderImplTest {
   @Test
   void whenGenerateMultipleTokens_thenEachHasUniqueJti() {
     // When
-    String token1 = jwtProvider.generateAccessTokenString(testUser);
-    String token2 = jwtProvider.generateAccessTokenString(testUser);
-    String token3 = jwtProvider.generateAccessTokenString(testUser);
+    String token1 = accessToken(jwtProvider);
+    String token2 = accessToken(jwtProvider);
+    String token3 = accessToken(jwtProvider);
 
     // Then
     String jti1 = jwtProvider.extractJti(token1);
@@ -185,6 +185,146 @@ class JwtProviderImplTest {
     assertNotEquals(jti2, jti3);
   }
 
+  @Test
+  void whenValidateConcurrently_thenSharedParserReturnsEachTokenClaims() {
+    // Given
+    List<String> tokens = IntStream.range(0, 32)
+        .mapToObj(i -> accessToken(jwtProvider))
+        .toList();
+
+    // When
+    List<String> jtis = tokens.parallelStream()
+        .map(token -> jwtProvider.validateToken(token).getJti())
+        .toList();
+
+    // Then
+    assertEquals(32, jtis.stream().distinct().count());
+  }
+
+  @Test
+  void whenSigningWithEs256_thenTokenRoundTrips() throws Exception {
+    // Given
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+    keyGen.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair ecKeyPair = keyGen.generateKeyPair();
+    JwtProviderImpl ecProvider = new JwtProviderImpl(
+        new JwtKeyRingSource(JwtKeyRing.single("ec-1", JwtSigningAlgorithm.ES256, ecKeyPair)),
+        86400000L, 604800000L, Schedulers.immediate());
+
+    // When
+    MintedToken minted = ecProvider.mintAccessToken(testUser, 0L).block();
+
+    // Then
+    assertEquals("ES256", ecProvider.getVerificationKeys().get(0).getAlgorithm());
+    assertEquals(minted.getJti(), ecProvider.validateToken(minted.getToken()).getJti());
+  }
+
+  @Test
+  void whenSigningWithEdDsa_thenTokenRoundTrips() throws Exception {
+    // Given
+    KeyPair edKeyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    JwtProviderImpl edProvider = new JwtProviderImpl(
+        new JwtKeyRingSource(JwtKeyRing.single("ed-1", JwtSigningAlgorithm.EDDSA, edKeyPair)),
+        86400000L, 604800000L, Schedulers.immediate());
+
+    // When
+    MintedToken minted = edProvider.mintRefreshToken(testUser, 0L).block();
+
+    // Then
+    assertEquals("EdDSA", edProvider.getVerificationKeys().get(0).getAlgorithm());
+    assertEquals("REFRESH", edProvider.validateToken(minted.getToken()).getTokenType());
+  }
+
+  @Test
+  void whenMintToken_thenSignsOnCryptoScheduler() {
+    // Given
+    Scheduler cryptoScheduler = Schedulers.newSingle("crypto-test");
+    JwtProviderImpl provider = new JwtProviderImpl(keyRingSource, 86400000L, 604800000L,
+        cryptoScheduler);
+
+    try {
+      // When
+      String thread = provider.mintAccessToken(testUser, 0L)
+          .map(minted -> Thread.currentThread().getName())
+          .block();
+
+      // Then
+      assertTrue(thread.startsWith("crypto-test"));
+    } finally {
+      cryptoScheduler.dispose();
+    }
+  }
+
+  @Test
+  void whenMintToken_thenHeaderCarriesActiveKid() {
+    // Given
+    String token = accessToken(jwtProvider);
+
+    // When
+    String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]),
+        StandardCharsets.UTF_8);
+
+    // Then
+    assertTrue(header.contains("\"kid\":\"key-1\""));
+  }
+
+  @Test
+  void whenKeyRotated_thenTokensFromRetiredKeyStillVerify() throws Exception {
+    // Given
+    String oldToken = accessToken(jwtProvider);
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+    keyGen.initialize(new ECGenParameterSpec("secp256r1"));
+    keyRingSource.update(JwtKeyRing.builder()
+        .signingKey("key-2", JwtSigningAlgorithm.ES256, keyGen.generateKeyPair())
+        .verificationKey("key-1", JwtSigningAlgorithm.RS256, keyPair.getPublic())
+        .build());
+
+    // When
+    String newToken = accessToken(jwtProvider);
+
+    // Then
+    assertEquals("user123", jwtProvider.validateToken(oldToken).getUserId());
+    assertEquals("user123", jwtProvider.validateToken(newToken).getUserId());
+    assertEquals(List.of("key-2", "key-1"), jwtProvider.getVerificationKeys().stream()
+        .map(VerificationKey::getKid)
+        .toList());
+  }
+
+  @Test
+  void whenKidRemovedFromRing_thenTokenIsRejected() throws Exception {
+    // Given
+    String token = accessToken(jwtProvider);
+    KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+    keyGen.initialize(2048);
+    keyRingSource.update(
+        JwtKeyRing.single("key-2", JwtSigningAlgorithm.RS256, keyGen.generateKeyPair()));
+
+    // When & Then
+    assertThrows(UnsupportedJwtException.class, () -> jwtProvider.validateToken(token));
+  }
+
+  @Test
+  void whenTokenHasNoKid_thenVerifiedWithActiveKey() {
+    // Given
+    String token = Jwts.builder()
+        .id("legacy")
+        .subject("user123")
+        .claim("tokenType", "ACCESS")
+        .expiration(new Date(System.currentTimeMillis() + 60000L))
+        .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+        .compact();
+
+    // When & Then
+    assertEquals("legacy", jwtProvider.extractJti(token));
+  }
+
+  @Test
+  void whenResolveAlgorithmById_thenIgnoresCase() {
+    assertEquals(JwtSigningAlgorithm.EDDSA, JwtSigningAlgorithm.fromId("eddsa"));
+    assertEquals(JwtSigningAlgorithm.ES256, JwtSigningAlgorithm.fromId("ES256"));
+    assertThrows(IllegalArgumentException.class, () -> JwtSigningAlgorithm.fromId("HS256"));
+  }
+
   @Test
   void whenGetAccessTokenExpiration_thenReturnsSeconds() {
     // When
@@ -0,0 +1,69 @@
+package com.nttd.banking.auth.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+class CryptoSchedulerConfigTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private Scheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    CryptoSchedulerConfig config = new CryptoSchedulerConfig();
+    ReflectionTestUtils.setField(config, "poolSize", 1);
+    ReflectionTestUtils.setField(config, "queueCapacity", 1);
+    meterRegistry = new SimpleMeterRegistry();
+    scheduler = config.cryptoScheduler(meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.dispose();
+  }
+
+  @Test
+  void whenWorkSubmitted_thenRunsOnCryptoThread() {
+    // When & Then
+    StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().getName())
+            .subscribeOn(scheduler))
+        .assertNext(thread -> assertTrue(thread.startsWith("crypto-")))
+        .verifyComplete();
+  }
+
+  @Test
+  void whenQueueFull_thenRejectsImmediately() throws Exception {
+    // Given - one running task and one queued task saturate the pool
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    Mono<Boolean> blocking = Mono.fromCallable(() -> {
+      started.countDown();
+      return release.await(5, TimeUnit.SECONDS);
+    }).subscribeOn(scheduler);
+    blocking.subscribe();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    blocking.subscribe();
+
+    try {
+      // When & Then
+      StepVerifier.create(Mono.just("work").subscribeOn(scheduler))
+          .expectError(RejectedExecutionException.class)
+          .verify();
+      assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", "crypto")
+          .gauge().value());
+    } finally {
+      release.countDown();
+    }
+  }
+}